@@ -0,0 +1,29 @@
+package br.com.hyteck.school_control.config;
+
+import br.com.hyteck.school_control.usecases.storage.CachingStorageService;
+import br.com.hyteck.school_control.usecases.storage.StorageService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Paths;
+
+@Configuration
+public class StorageConfig {
+
+    /**
+     * Cloudinary com cache em disco local para as leituras. Quem injeta {@code @Qualifier("cloudinary")}
+     * recebe este bean; o cliente sem cache continua disponível como {@code cloudinary-remote}.
+     */
+    @Bean
+    @Qualifier("cloudinary")
+    public CachingStorageService cloudinaryStorageService(
+            @Qualifier("cloudinary-remote") StorageService cloudinaryStorage,
+            @Value("${storage.cache.dir:uploads/cache}") String cacheDir,
+            @Value("${storage.cache.max-size:512MB}") DataSize maxSize,
+            @Value("${storage.cache.min-free-space:1GB}") DataSize minFreeSpace) {
+        return new CachingStorageService(cloudinaryStorage, Paths.get(cacheDir), maxSize.toBytes(), minFreeSpace.toBytes());
+    }
+}
@@ -1,6 +1,5 @@
 package br.com.hyteck.school_control.config.jwt;
 
-import br.com.hyteck.school_control.config.jwt.provider.JWTProvider;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,9 +7,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -20,16 +16,19 @@ import java.io.IOException;
 @Component
 //@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
-    private final JWTProvider tokenProvider;
-    private final UserDetailsService userDetailsService;
+    private final JwtVerifier jwtVerifier;
+    private final TokenVersionCache tokenVersionCache;
 
-    public JwtAuthenticationFilter(JWTProvider tokenProvider, UserDetailsService userDetailsService) {
-        this.tokenProvider = tokenProvider;
-        this.userDetailsService = userDetailsService;
+    public JwtAuthenticationFilter(JwtVerifier jwtVerifier, TokenVersionCache tokenVersionCache) {
+        this.jwtVerifier = jwtVerifier;
+        this.tokenVersionCache = tokenVersionCache;
     }
 
 
     /**
+     * Autentica a requisição só com o token: usuário, papéis e situação da conta vêm das claims.
+     * O único acesso ao banco é a conferência da versão do token, feita pelo {@link TokenVersionCache}.
+     *
      * @param request
      * @param response
      * @param filterChain
@@ -41,20 +40,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = getJwtFromRequest(request);
 
-        if (token != null && tokenProvider.validateToken(token) && SecurityContextHolder.getContext().getAuthentication() == null) {
-            String username = tokenProvider.getUsernameFromToken(token);
-
-            final UserDetails userDetails;
-            try {
-                userDetails = userDetailsService.loadUserByUsername(username);
-            } catch (final UsernameNotFoundException userNotFoundEx) {
-                // user not found
+        if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            JwtPrincipal principal = jwtVerifier.verify(token).orElse(null);
+            if (principal == null || !tokenVersionCache.isCurrent(principal.id(), principal.tokenVersion())) {
+                // Token inválido, sem claims de usuário (emitido antes delas) ou revogado: segue sem autenticação
+                logger.debug("Token inválido, revogado ou sem claims de usuário ignorado");
                 filterChain.doFilter(request, response);
                 return;
             }
 
             UsernamePasswordAuthenticationToken authentication =
-                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
             authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -0,0 +1,60 @@
+package br.com.hyteck.school_control.config.jwt;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Usuário autenticado montado a partir das claims do JWT, sem consulta ao banco.
+ *
+ * @param id           ID do usuário.
+ * @param tokenVersion Versão do token, conferida no {@link TokenVersionCache}.
+ */
+public record JwtPrincipal(
+        String id,
+        String username,
+        List<GrantedAuthority> authorities,
+        long tokenVersion,
+        boolean enabled,
+        boolean accountNonLocked,
+        boolean accountNonExpired,
+        boolean credentialsNonExpired
+) implements UserDetails {
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return accountNonExpired;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return accountNonLocked;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return credentialsNonExpired;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
@@ -0,0 +1,111 @@
+package br.com.hyteck.school_control.config.jwt;
+
+import br.com.hyteck.school_control.config.jwt.provider.JWTProvider;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Verifica o JWT de cada requisição e monta o {@link JwtPrincipal}.
+ * <p>
+ * O token é lido uma única vez, com o parser (e a chave) do {@link JWTProvider}, que são criados
+ * uma vez só. Tokens válidos ficam em um cache limitado, indexado pelo SHA-256 do token e mantido
+ * até a expiração de cada um: a próxima requisição com o mesmo token paga só o hash, sem conferir
+ * a assinatura nem ler o JSON de novo. A revogação continua com o {@link TokenVersionCache}.
+ */
+@Component
+public class JwtVerifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtVerifier.class);
+
+    private final JWTProvider tokenProvider;
+    private final Cache<String, VerifiedToken> verified;
+
+    public JwtVerifier(JWTProvider tokenProvider, @Value("${jwt.verifier.cache-size:10000}") long cacheSize) {
+        this.tokenProvider = tokenProvider;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(Expiry.creating((String hash, VerifiedToken token) ->
+                        Duration.ofMillis(Math.max(0, token.expiresAt() - System.currentTimeMillis()))))
+                .build();
+    }
+
+    /**
+     * Verifica assinatura, emissor e validade do token.
+     *
+     * @return O usuário do token; vazio se o token for inválido, expirado ou não tiver as claims de usuário.
+     */
+    public Optional<JwtPrincipal> verify(String token) {
+        String hash = sha256(token);
+        VerifiedToken cached = verified.getIfPresent(hash);
+        if (cached != null) {
+            return Optional.of(cached.principal());
+        }
+
+        Claims claims;
+        try {
+            claims = tokenProvider.parser().parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.debug("Token inválido: {}", e.getMessage());
+            return Optional.empty();
+        }
+        if (!JWTProvider.ISSUER.equals(claims.getIssuer()) || claims.getExpiration() == null) {
+            return Optional.empty();
+        }
+        JwtPrincipal principal = toPrincipal(claims);
+        if (principal != null) {
+            verified.put(hash, new VerifiedToken(principal, claims.getExpiration().getTime()));
+        }
+        return Optional.ofNullable(principal);
+    }
+
+    private static JwtPrincipal toPrincipal(Claims claims) {
+        String userId = claims.get(JWTProvider.USER_ID_CLAIM, String.class);
+        Long tokenVersion = claims.get(JWTProvider.TOKEN_VERSION_CLAIM, Long.class);
+        if (userId == null || tokenVersion == null) {
+            return null;
+        }
+        List<?> roles = claims.get(JWTProvider.ROLES_CLAIM, List.class);
+        List<GrantedAuthority> authorities = roles == null ? List.of() : roles.stream()
+                .<GrantedAuthority>map(role -> new SimpleGrantedAuthority(role.toString()))
+                .toList();
+        return new JwtPrincipal(userId, claims.getSubject(), authorities, tokenVersion,
+                flag(claims, JWTProvider.ENABLED_CLAIM), flag(claims, JWTProvider.ACCOUNT_NON_LOCKED_CLAIM),
+                flag(claims, JWTProvider.ACCOUNT_NON_EXPIRED_CLAIM), flag(claims, JWTProvider.CREDENTIALS_NON_EXPIRED_CLAIM));
+    }
+
+    private static boolean flag(Claims claims, String name) {
+        return Boolean.TRUE.equals(claims.get(name, Boolean.class));
+    }
+
+    private static String sha256(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    /**
+     * @param expiresAt Expiração do token, em milissegundos desde a época.
+     */
+    private record VerifiedToken(JwtPrincipal principal, long expiresAt) {
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.hyteck.school_control.config.jwt;
+
+import br.com.hyteck.school_control.repositories.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Versão atual dos tokens de cada usuário, usada para revogar tokens ainda dentro da validade.
+ * <p>
+ * A versão é lida do banco e guardada por {@code ttl}: uma revogação ({@code User.revokeTokens()})
+ * vale em todas as instâncias em até esse tempo, e cada usuário ativo custa uma consulta por
+ * {@code ttl} em vez de uma por requisição.
+ */
+@Component
+public class TokenVersionCache {
+
+    /**
+     * Versão registrada para usuários inexistentes; nenhum token a tem.
+     */
+    static final long UNKNOWN_USER = -1;
+
+    private final UserRepository userRepository;
+    private final Cache<String, Long> versions;
+
+    public TokenVersionCache(UserRepository userRepository,
+                             @Value("${jwt.token-version.max-users:10000}") long maxUsers,
+                             @Value("${jwt.token-version.ttl:PT30S}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Indica se o token, emitido com {@code tokenVersion}, ainda não foi revogado.
+     */
+    public boolean isCurrent(String userId, long tokenVersion) {
+        return versions.get(userId, this::load) == tokenVersion;
+    }
+
+    private long load(String userId) {
+        return userRepository.findTokenVersionById(userId).orElse(UNKNOWN_USER);
+    }
+}
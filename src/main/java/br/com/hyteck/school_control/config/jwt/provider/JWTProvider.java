@@ -1,8 +1,12 @@
 package br.com.hyteck.school_control.config.jwt.provider;
 
+import br.com.hyteck.school_control.models.auth.Role;
+import br.com.hyteck.school_control.models.auth.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.slf4j.Logger;
@@ -10,14 +14,26 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.SecretKey;
 import java.time.Instant;
 import java.util.Date;
 
 @Component
 public class JWTProvider {
     private static final Logger logger = LoggerFactory.getLogger(JWTProvider.class);
+    public static final String ISSUER = "school-control";
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLES_CLAIM = "roles";
+    public static final String TOKEN_VERSION_CLAIM = "ver";
+    public static final String ENABLED_CLAIM = "enabled";
+    public static final String ACCOUNT_NON_LOCKED_CLAIM = "accountNonLocked";
+    public static final String ACCOUNT_NON_EXPIRED_CLAIM = "accountNonExpired";
+    public static final String CREDENTIALS_NON_EXPIRED_CLAIM = "credentialsNonExpired";
+
     private final byte[] jwtSecret;
     private final long jwtExpirationInMs;
+    private volatile SecretKey key;
+    private volatile JwtParser parser;
 
     public JWTProvider(@Value("${jwt.secret}") final String secret, @Value("${jwt.expires}") final String expiration) {
         this.jwtSecret = secret.getBytes();
@@ -25,39 +41,77 @@ public class JWTProvider {
     }
 
     public String generateToken(String username) {
+        return builder(username)
+                .signWith(key())
+                .compact();
+    }
+
+    /**
+     * Gera o token com as claims necessárias para autenticar sem consultar o banco
+     * (ver {@link br.com.hyteck.school_control.config.jwt.JwtVerifier}).
+     */
+    public String generateToken(User user) {
+        return builder(user.getUsername())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ROLES_CLAIM, user.getRoles().stream().map(Role::getName).sorted().toList())
+                .claim(TOKEN_VERSION_CLAIM, user.getTokenVersion())
+                .claim(ENABLED_CLAIM, user.isEnabled())
+                .claim(ACCOUNT_NON_LOCKED_CLAIM, user.isAccountNonLocked())
+                .claim(ACCOUNT_NON_EXPIRED_CLAIM, user.isAccountNonExpired())
+                .claim(CREDENTIALS_NON_EXPIRED_CLAIM, user.isCredentialsNonExpired())
+                .signWith(key())
+                .compact();
+    }
+
+    private JwtBuilder builder(String username) {
         return Jwts.builder()
                 .subject(username)
-                .issuer("school-control")
+                .issuer(ISSUER)
                 .issuedAt(Date.from(Instant.now()))
-                .expiration(new Date(System.currentTimeMillis() + jwtExpirationInMs))
-                .signWith(Keys.hmacShaKeyFor(jwtSecret))
-                .compact();
+                .expiration(new Date(System.currentTimeMillis() + jwtExpirationInMs));
     }
 
     public String getUsernameFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(Keys.hmacShaKeyFor(jwtSecret))
-                .build().parseSignedClaims(token)
+        return parser().parseSignedClaims(token)
                 .getPayload()
                 .getSubject();
     }
 
     public boolean validateToken(String token) {
         try {
-            Jws<Claims> claims = Jwts.parser()
-                .verifyWith(Keys.hmacShaKeyFor(jwtSecret))
-                .build()
-                .parseSignedClaims(token);
+            Jws<Claims> claims = parser().parseSignedClaims(token);
 
             if (claims.getPayload().getExpiration().before(new Date())) {
                 return false;
             }
-            logger.info("validando token");
 
-            return "school-control".equals(claims.getPayload().getIssuer());
+            return ISSUER.equals(claims.getPayload().getIssuer());
         } catch (JwtException | IllegalArgumentException ex) {
-            logger.error("Token inválido: " + ex.getMessage());
+            logger.debug("Token inválido: {}", ex.getMessage());
             return false;
         }
     }
+
+    /**
+     * Chave criada no primeiro uso, e não no construtor, para que um segredo fraco falhe ao
+     * assinar, como antes, sem impedir a aplicação de subir.
+     */
+    private SecretKey key() {
+        SecretKey current = key;
+        if (current == null) {
+            key = current = Keys.hmacShaKeyFor(jwtSecret);
+        }
+        return current;
+    }
+
+    /**
+     * Parser que verifica a assinatura com a chave da aplicação; imutável e seguro entre threads.
+     */
+    public JwtParser parser() {
+        JwtParser current = parser;
+        if (current == null) {
+            parser = current = Jwts.parser().verifyWith(key()).build();
+        }
+        return current;
+    }
 }
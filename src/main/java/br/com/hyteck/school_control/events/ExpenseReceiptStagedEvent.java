@@ -0,0 +1,19 @@
+package br.com.hyteck.school_control.events;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Publicado quando o recibo de uma despesa é gravado na área de staging local.
+ */
+@Getter
+public class ExpenseReceiptStagedEvent extends ApplicationEvent {
+    private final String expenseId;
+    private final String stagedReceipt;
+
+    public ExpenseReceiptStagedEvent(Object source, String expenseId, String stagedReceipt) {
+        super(source);
+        this.expenseId = expenseId;
+        this.stagedReceipt = stagedReceipt;
+    }
+}
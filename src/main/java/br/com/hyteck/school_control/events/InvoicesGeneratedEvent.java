@@ -0,0 +1,27 @@
+package br.com.hyteck.school_control.events;
+
+import br.com.hyteck.school_control.web.dtos.notification.NotificationCommand;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Publicado pela geração de faturas mensais com as notificações a criar depois do commit e o envio
+ * dos e-mails das faturas ({@code InvoiceEmailDispatch}; nulo se nenhuma fatura foi gerada).
+ */
+@Getter
+public class InvoicesGeneratedEvent extends ApplicationEvent {
+    private final YearMonth referenceMonth;
+    private final List<NotificationCommand> notifications;
+    private final String emailDispatchId;
+
+    public InvoicesGeneratedEvent(Object source, YearMonth referenceMonth, List<NotificationCommand> notifications,
+                                  String emailDispatchId) {
+        super(source);
+        this.referenceMonth = referenceMonth;
+        this.notifications = notifications;
+        this.emailDispatchId = emailDispatchId;
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.hyteck.school_control.events;
+
+import br.com.hyteck.school_control.web.dtos.NotificationResponse;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.List;
+
+/**
+ * Publicado quando notificações existentes absorvem novas ocorrências, sem criar linhas nem
+ * alterar a contagem de não lidas.
+ */
+@Getter
+public class NotificationsCoalescedEvent extends ApplicationEvent {
+    private final List<NotificationResponse> notifications;
+
+    public NotificationsCoalescedEvent(Object source, List<NotificationResponse> notifications) {
+        super(source);
+        this.notifications = notifications;
+    }
+}
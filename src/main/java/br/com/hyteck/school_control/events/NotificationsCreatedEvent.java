@@ -0,0 +1,21 @@
+package br.com.hyteck.school_control.events;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.List;
+
+/**
+ * Publicado quando notificações são criadas, para entregá-las aos clientes conectados.
+ * Leva só os IDs: o evento fica retido até o commit, e em lotes grandes as notificações
+ * completas ocupariam memória durante toda a transação. O listener as relê depois do commit.
+ */
+@Getter
+public class NotificationsCreatedEvent extends ApplicationEvent {
+    private final List<String> notificationIds;
+
+    public NotificationsCreatedEvent(Object source, List<String> notificationIds) {
+        super(source);
+        this.notificationIds = notificationIds;
+    }
+}
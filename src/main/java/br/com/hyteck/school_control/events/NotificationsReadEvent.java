@@ -0,0 +1,19 @@
+package br.com.hyteck.school_control.events;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Publicado quando {@code count} notificações de um usuário são marcadas como lidas.
+ */
+@Getter
+public class NotificationsReadEvent extends ApplicationEvent {
+    private final String userId;
+    private final long count;
+
+    public NotificationsReadEvent(Object source, String userId, long count) {
+        super(source);
+        this.userId = userId;
+        this.count = count;
+    }
+}
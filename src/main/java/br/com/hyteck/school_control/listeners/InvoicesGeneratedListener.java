@@ -0,0 +1,41 @@
+package br.com.hyteck.school_control.listeners;
+
+import br.com.hyteck.school_control.events.InvoicesGeneratedEvent;
+import br.com.hyteck.school_control.usecases.billing.DispatchInvoiceEmails;
+import br.com.hyteck.school_control.usecases.notification.CreateNotificationsInBatch;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@Log4j2
+public class InvoicesGeneratedListener {
+
+    private final CreateNotificationsInBatch createNotificationsInBatch;
+    private final DispatchInvoiceEmails dispatchInvoiceEmails;
+
+    public InvoicesGeneratedListener(CreateNotificationsInBatch createNotificationsInBatch,
+                                     DispatchInvoiceEmails dispatchInvoiceEmails) {
+        this.createNotificationsInBatch = createNotificationsInBatch;
+        this.dispatchInvoiceEmails = dispatchInvoiceEmails;
+    }
+
+    /**
+     * Só depois do commit, para não avisar sobre faturas desfeitas; as notificações são gravadas
+     * na transação própria do lote, e uma falha aqui não afeta as faturas. Os e-mails seguem em
+     * segundo plano e não prendem a thread do faturamento.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleInvoicesGenerated(InvoicesGeneratedEvent event) {
+        if (event.getEmailDispatchId() != null) {
+            dispatchInvoiceEmails.submit(event.getEmailDispatchId());
+        }
+        try {
+            int created = createNotificationsInBatch.execute(event.getNotifications());
+            log.info("{} notificações sobre novas faturas de {} enviadas aos responsáveis.", created, event.getReferenceMonth());
+        } catch (RuntimeException e) {
+            log.error("Falha ao enviar notificações sobre novas faturas de {}: {}", event.getReferenceMonth(), e.getMessage(), e);
+        }
+    }
+}
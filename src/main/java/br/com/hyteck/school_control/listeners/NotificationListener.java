@@ -0,0 +1,62 @@
+package br.com.hyteck.school_control.listeners;
+
+import br.com.hyteck.school_control.events.NotificationsCoalescedEvent;
+import br.com.hyteck.school_control.events.NotificationsCreatedEvent;
+import br.com.hyteck.school_control.events.NotificationsReadEvent;
+import br.com.hyteck.school_control.repositories.NotificationRepository;
+import br.com.hyteck.school_control.usecases.notification.NotificationBroadcaster;
+import br.com.hyteck.school_control.usecases.notification.UnreadNotificationCounter;
+import br.com.hyteck.school_control.web.dtos.NotificationResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Component
+public class NotificationListener {
+
+    private final UnreadNotificationCounter unreadCounter;
+    private final NotificationBroadcaster broadcaster;
+    private final NotificationRepository notificationRepository;
+
+    public NotificationListener(UnreadNotificationCounter unreadCounter, NotificationBroadcaster broadcaster,
+                                NotificationRepository notificationRepository) {
+        this.unreadCounter = unreadCounter;
+        this.broadcaster = broadcaster;
+        this.notificationRepository = notificationRepository;
+    }
+
+    /**
+     * Só age depois do commit, para o contador e o cliente não verem uma notificação que foi desfeita.
+     * As notificações do evento (no máximo um bloco do lote) são lidas de volta com uma consulta.
+     * O contador é ajustado antes do envio, que já leva a nova contagem.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleNotificationsCreated(NotificationsCreatedEvent event) {
+        if (event.getNotificationIds().isEmpty()) {
+            return;
+        }
+        List<NotificationResponse> created = notificationRepository.findResponsesByIds(event.getNotificationIds());
+        Map<String, Long> createdByUser = created.stream()
+                .collect(Collectors.groupingBy(NotificationResponse::userId, Collectors.counting()));
+        createdByUser.forEach(unreadCounter::add);
+        broadcaster.publish(created);
+    }
+
+    /**
+     * Notificação agrupada: o cliente substitui a que já tem pelo ID; a contagem de não lidas não muda.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleNotificationsCoalesced(NotificationsCoalescedEvent event) {
+        broadcaster.publish(event.getNotifications());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleNotificationsRead(NotificationsReadEvent event) {
+        unreadCounter.add(event.getUserId(), -event.getCount());
+        broadcaster.publishUnreadCount(event.getUserId());
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.hyteck.school_control.listeners;
+
+import br.com.hyteck.school_control.events.ExpenseReceiptStagedEvent;
+import br.com.hyteck.school_control.usecases.expenses.ReceiptStagingArea;
+import br.com.hyteck.school_control.usecases.expenses.ReceiptUploader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class ReceiptUploadListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReceiptUploadListener.class);
+    private final ReceiptUploader receiptUploader;
+    private final ReceiptStagingArea stagingArea;
+
+    public ReceiptUploadListener(ReceiptUploader receiptUploader, ReceiptStagingArea stagingArea) {
+        this.receiptUploader = receiptUploader;
+        this.stagingArea = stagingArea;
+    }
+
+    /**
+     * Só envia depois do commit, para que a despesa exista quando o {@code receiptUrl} for atualizado.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleReceiptStaged(ExpenseReceiptStagedEvent event) {
+        receiptUploader.submit(event.getExpenseId(), event.getStagedReceipt(), 0);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public void discardReceiptOnRollback(ExpenseReceiptStagedEvent event) {
+        logger.info("Criação da despesa desfeita; removendo recibo em staging {}", event.getStagedReceipt());
+        stagingArea.discard(stagingArea.resolve(event.getStagedReceipt()));
+    }
+}
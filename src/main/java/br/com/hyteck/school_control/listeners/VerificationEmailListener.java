@@ -7,7 +7,6 @@ import br.com.hyteck.school_control.usecases.notification.EmailService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -20,7 +19,9 @@ public class VerificationEmailListener {
         this.asyncEmailSender = asyncEmailSender;
     }
 
-    @Async
+    /**
+     * Síncrono: o email entra na caixa de saída na mesma transação que criou o token.
+     */
     @EventListener({VerificationTokenCreatedEvent.class})
     public void handleVerificationTokenCreated(VerificationTokenCreatedEvent event) {
         VerificationToken verificationToken = event.getVerificationToken();
@@ -31,7 +32,7 @@ public class VerificationEmailListener {
             return;
         }
 
-        logger.info("Evento VerificationTokenCreatedEvent recebido para o token: {}. Tentando enviar email para {}",
+        logger.info("Evento VerificationTokenCreatedEvent recebido para o token: {}. Enfileirando email para {}",
                 verificationToken.getToken(), user.getEmail());
         asyncEmailSender.send(verificationToken);
 
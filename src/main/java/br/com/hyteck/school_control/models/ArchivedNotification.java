@@ -0,0 +1,51 @@
+package br.com.hyteck.school_control.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
+
+/**
+ * Notificação lida e antiga, movida de {@code notifications} pelo job de retenção.
+ * Mantém o ID e as datas originais; o usuário fica só como ID, sem chave estrangeira,
+ * para que o arquivo não participe das escritas da tabela de usuários.
+ */
+@Entity
+@Table(name = "notifications_archive", indexes = {
+        @Index(columnList = "user_id, created_at DESC"),
+        @Index(columnList = "created_at")
+})
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ArchivedNotification {
+
+    @Id
+    private String id;
+
+    @Column(name = "user_id")
+    private String userId;
+
+    private String message;
+
+    private String link;
+
+    private String type;
+
+    @Column(nullable = false)
+    @ColumnDefault("1")
+    private int occurrences;
+
+    private LocalDateTime sendAt;
+
+    private LocalDateTime readAt;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -3,11 +3,17 @@ package br.com.hyteck.school_control.models;
 import br.com.hyteck.school_control.models.auth.User;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        // Feed do usuário: igualdade em user_id e varredura já na ordem (created_at, id) da paginação por keyset
+        @Index(columnList = "user_id, created_at DESC, id DESC"),
+        // Seleção do job de retenção (lidas mais antigas que o corte)
+        @Index(columnList = "is_read, created_at")
+})
 @Getter
 @Setter
 @Builder
@@ -24,6 +30,14 @@ public class Notification extends AbstractModel{
 
     private String type;
 
+    /**
+     * Quantas notificações semelhantes foram agrupadas nesta (ver {@code NotificationCoalescer}).
+     */
+    @Column(nullable = false)
+    @ColumnDefault("1")
+    @Builder.Default
+    private int occurrences = 1;
+
     private LocalDateTime sendAt;
 
     @Column
@@ -5,6 +5,7 @@ import br.com.hyteck.school_control.models.AbstractModel;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -53,6 +54,13 @@ public class User extends AbstractModel implements UserDetails {
     @Builder.Default
     private boolean enabled = false;
 
+    /**
+     * Versão dos tokens do usuário, conferida a cada requisição; incrementar revoga os tokens já emitidos.
+     */
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long tokenVersion;
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return this.roles.stream()
@@ -80,6 +88,10 @@ public class User extends AbstractModel implements UserDetails {
         return this.enabled;
     }
 
+    public void revokeTokens() {
+        this.tokenVersion++;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,57 @@
+package br.com.hyteck.school_control.models.email;
+
+import br.com.hyteck.school_control.models.AbstractModel;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.YearMonth;
+
+/**
+ * Envio dos e-mails de novas faturas de um faturamento mensal.
+ * <p>
+ * Gravado na transação do faturamento, só com o mês (as faturas apontam para ele), e processado depois
+ * do commit; se o processo cair no meio do envio, a linha continua pendente e o envio é retomado.
+ */
+@Entity
+@Table(name = "invoice_email_dispatches", indexes = {
+        @Index(columnList = "status")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvoiceEmailDispatch extends AbstractModel {
+
+    @Column(nullable = false)
+    private YearMonth referenceMonth;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private InvoiceEmailDispatchStatus status = InvoiceEmailDispatchStatus.PENDING;
+
+    /**
+     * E-mails colocados na caixa de saída.
+     */
+    @Builder.Default
+    private int queued = 0;
+
+    /**
+     * Faturas sem e-mail válido do responsável.
+     */
+    @Builder.Default
+    private int skipped = 0;
+
+    @Builder.Default
+    private long sent = 0;
+
+    @Builder.Default
+    private long failed = 0;
+
+    /**
+     * E-mails adiados pelo limite de envio por domínio.
+     */
+    @Builder.Default
+    private long throttled = 0;
+}
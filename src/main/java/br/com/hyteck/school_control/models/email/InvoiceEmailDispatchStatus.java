@@ -0,0 +1,7 @@
+package br.com.hyteck.school_control.models.email;
+
+public enum InvoiceEmailDispatchStatus {
+    PENDING,    // Gravado pelo faturamento; e-mails ainda não colocados na caixa de saída
+    QUEUED,     // E-mails na caixa de saída, aguardando o envio
+    COMPLETED   // Todos os e-mails enviados ou com falha definitiva
+}
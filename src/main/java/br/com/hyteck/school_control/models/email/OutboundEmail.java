@@ -0,0 +1,72 @@
+package br.com.hyteck.school_control.models.email;
+
+import br.com.hyteck.school_control.models.AbstractModel;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * E-mail na caixa de saída. Gravado na mesma transação que o originou e enviado depois pelo
+ * {@code EmailOutboxDispatcher}, que guarda aqui o estado das tentativas.
+ */
+@Entity
+@Table(name = "outbound_emails", indexes = {
+        @Index(columnList = "status, next_attempt_at"),
+        @Index(columnList = "dispatch_id")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboundEmail extends AbstractModel {
+
+    @Column(nullable = false)
+    private String recipient;
+
+    /**
+     * Domínio do destinatário, usado no limite de envio por domínio.
+     */
+    @Column(nullable = false)
+    private String recipientDomain;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String htmlBody;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private OutboundEmailStatus status = OutboundEmailStatus.PENDING;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private int attempts = 0;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    /**
+     * Até quando o envio está reservado; vencido, o e-mail volta a ser elegível (ex.: o processo caiu durante o envio).
+     */
+    private LocalDateTime leaseUntil;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    private LocalDateTime sentAt;
+
+    /**
+     * Envio em massa de origem (ex.: {@code InvoiceEmailDispatch}); nulo para e-mails avulsos.
+     */
+    @Column(length = 36)
+    private String dispatchId;
+
+    /**
+     * Último adiamento pelo limite de envio por domínio; nulo se nunca foi adiado.
+     */
+    private LocalDateTime deferredAt;
+}
@@ -0,0 +1,8 @@
+package br.com.hyteck.school_control.models.email;
+
+public enum OutboundEmailStatus {
+    PENDING,    // Aguardando envio (ou nova tentativa a partir de nextAttemptAt)
+    SENDING,    // Reservado por um dispatcher até leaseUntil
+    SENT,       // Entregue ao servidor SMTP
+    FAILED      // Tentativas esgotadas ou erro permanente
+}
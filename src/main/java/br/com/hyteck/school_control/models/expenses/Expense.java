@@ -1,6 +1,7 @@
 package br.com.hyteck.school_control.models.expenses;
 
 import br.com.hyteck.school_control.models.AbstractModel;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -8,9 +9,13 @@ import lombok.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "expenses")
+@Table(name = "expenses", indexes = {
+        @Index(columnList = "date"),
+        @Index(columnList = "nextReceiptAttemptAt")
+})
 @Getter
 @Setter
 @Builder
@@ -28,5 +33,32 @@ public class Expense extends AbstractModel {
     @NotNull
     private String description;
 
+    @Column(length = 60)
+    private String category;
+
     private String receiptUrl;
+
+    /**
+     * Miniatura do recibo, usada nas listagens.
+     */
+    private String receiptThumbnailUrl;
+
+    /**
+     * Caminho local do recibo aguardando envio ao armazenamento remoto; nulo após o envio.
+     */
+    @JsonIgnore
+    private String stagedReceipt;
+
+    /**
+     * Tentativas de envio do recibo em staging que falharam.
+     */
+    @JsonIgnore
+    private Integer receiptAttempts;
+
+    /**
+     * Quando a varredura deve tentar de novo o envio do recibo em staging. Nulo com o recibo ainda em
+     * staging indica que as tentativas se esgotaram e o envio foi abandonado.
+     */
+    @JsonIgnore
+    private LocalDateTime nextReceiptAttemptAt;
 }
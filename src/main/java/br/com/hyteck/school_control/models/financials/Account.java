@@ -22,6 +22,12 @@ import java.math.BigDecimal;
 @SuperBuilder
 public class Account extends AbstractModel {
 
+    /**
+     * Código no plano de contas (ver {@link ChartOfAccounts}).
+     */
+    @Column(unique = true, length = 64)
+    private String code;
+
     @NotNull
     @Column(nullable = false)
     private String name;
@@ -31,6 +37,10 @@ public class Account extends AbstractModel {
     @Column(nullable = false)
     private AccountType type;
 
+    /**
+     * Saldo compactado no lado natural da conta. O saldo atual inclui também as
+     * {@link AccountBalanceSlot fatias} ainda não compactadas.
+     */
     @Builder.Default
     private BigDecimal balance= BigDecimal.ZERO;
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,41 @@
+package br.com.hyteck.school_control.models.financials;
+
+import br.com.hyteck.school_control.models.AbstractModel;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Fatia (stripe) do saldo de uma conta. Os lançamentos somam em uma das N fatias escolhida por hash,
+ * evitando que lançamentos concorrentes disputem o lock da mesma linha em {@code accounts}.
+ * O saldo atual é {@link Account#getBalance()} somado às fatias; a compactação periódica
+ * transfere as fatias para a conta.
+ */
+@Entity
+@Table(name = "account_balance_slots", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"account_id", "slot"})
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountBalanceSlot extends AbstractModel {
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "account_id", nullable = false)
+    private Account account;
+
+    @Column(nullable = false)
+    private int slot;
+
+    /**
+     * Variação do saldo no lado natural da conta ainda não compactada.
+     */
+    @NotNull
+    @Column(nullable = false, precision = 14, scale = 2)
+    @Builder.Default
+    private BigDecimal amount = BigDecimal.ZERO;
+}
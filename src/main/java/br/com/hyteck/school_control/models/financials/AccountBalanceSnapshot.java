@@ -0,0 +1,41 @@
+package br.com.hyteck.school_control.models.financials;
+
+import br.com.hyteck.school_control.models.AbstractModel;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Totais acumulados de débitos e créditos de uma conta até {@code asOf}.
+ * O saldo em qualquer momento é o último snapshot somado às linhas do diário posteriores a ele.
+ */
+@Entity
+@Table(name = "account_balance_snapshots", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"account_id", "as_of"})
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountBalanceSnapshot extends AbstractModel {
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "account_id", nullable = false)
+    private Account account;
+
+    @NotNull
+    @Column(name = "as_of", nullable = false)
+    private LocalDateTime asOf;
+
+    @NotNull
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal debitTotal;
+
+    @NotNull
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal creditTotal;
+}
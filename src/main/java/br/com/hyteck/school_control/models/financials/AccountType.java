@@ -16,5 +16,12 @@ public enum AccountType {
      * Despesas
      */
     EXPENSES,
-    REVENUE
+    REVENUE;
+
+    /**
+     * Indica se o saldo da conta cresce com débitos (ativos e despesas) ou com créditos (passivos e receitas).
+     */
+    public boolean isDebitNormal() {
+        return this == ASSET || this == EXPENSES;
+    }
 }
@@ -0,0 +1,42 @@
+package br.com.hyteck.school_control.models.financials;
+
+/**
+ * Plano de contas usado pelos lançamentos automáticos.
+ * Contas a receber são abertas por responsável, com o código {@code 1.2.<responsibleId>}.
+ */
+public enum ChartOfAccounts {
+    CASH("1.1", "Caixa", AccountType.ASSET),
+    RECEIVABLES("1.2", "Mensalidades a receber", AccountType.ASSET),
+    TUITION_REVENUE("3.1", "Receita de mensalidades", AccountType.REVENUE),
+    LATE_FEE_REVENUE("3.2", "Receita de multas por atraso", AccountType.REVENUE),
+    OPERATING_EXPENSES("4.1", "Despesas operacionais", AccountType.EXPENSES);
+
+    private final String code;
+    private final String displayName;
+    private final AccountType type;
+
+    ChartOfAccounts(String code, String displayName, AccountType type) {
+        this.code = code;
+        this.displayName = displayName;
+        this.type = type;
+    }
+
+    public String code() {
+        return code;
+    }
+
+    public String displayName() {
+        return displayName;
+    }
+
+    public AccountType type() {
+        return type;
+    }
+
+    /**
+     * Código da subconta desta conta para um responsável.
+     */
+    public String codeFor(String responsibleId) {
+        return code + "." + responsibleId;
+    }
+}
@@ -0,0 +1,9 @@
+package br.com.hyteck.school_control.models.financials;
+
+/**
+ * Lado de uma linha de lançamento contábil.
+ */
+public enum EntrySide {
+    DEBIT,
+    CREDIT
+}
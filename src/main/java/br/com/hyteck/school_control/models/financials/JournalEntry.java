@@ -0,0 +1,69 @@
+package br.com.hyteck.school_control.models.financials;
+
+import br.com.hyteck.school_control.models.AbstractModel;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lançamento do diário contábil. O diário é append-only: lançamentos nunca são alterados,
+ * correções são feitas com novos lançamentos.
+ */
+@Entity
+@Immutable
+@Table(name = "journal_entries", indexes = {
+        @Index(columnList = "source_type, source_id")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JournalEntry extends AbstractModel {
+
+    /**
+     * Início do diário, usado como limite inferior quando uma conta ainda não tem snapshot.
+     */
+    public static final LocalDateTime LEDGER_EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    /**
+     * Data do fato contábil (ex.: data da despesa).
+     */
+    @NotNull
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    /**
+     * Momento da gravação no diário; é a referência usada pelos snapshots de saldo.
+     */
+    @NotNull
+    @Column(nullable = false)
+    private LocalDateTime postedAt;
+
+    @NotNull
+    @Column(nullable = false)
+    private String description;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "source_type", nullable = false, length = 20)
+    private JournalSource sourceType;
+
+    @Column(name = "source_id")
+    private String sourceId;
+
+    @OneToMany(mappedBy = "entry", cascade = CascadeType.PERSIST)
+    @Builder.Default
+    private List<JournalLine> lines = new ArrayList<>();
+
+    public void addLine(JournalLine line) {
+        line.setEntry(this);
+        line.setPostedAt(postedAt);
+        lines.add(line);
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.hyteck.school_control.models.financials;
+
+import br.com.hyteck.school_control.models.AbstractModel;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Linha (partida) de um lançamento: um débito ou crédito em uma conta.
+ * O {@code postedAt} é copiado do lançamento para que o saldo de uma conta seja lido apenas deste índice.
+ */
+@Entity
+@Immutable
+@Table(name = "journal_lines", indexes = {
+        @Index(columnList = "account_id, posted_at")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JournalLine extends AbstractModel {
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "entry_id", nullable = false)
+    private JournalEntry entry;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "account_id", nullable = false)
+    private Account account;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 6)
+    private EntrySide side;
+
+    @NotNull
+    @Positive
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal amount;
+
+    @NotNull
+    @Column(name = "posted_at", nullable = false)
+    private LocalDateTime postedAt;
+}
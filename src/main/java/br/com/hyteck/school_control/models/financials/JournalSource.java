@@ -0,0 +1,10 @@
+package br.com.hyteck.school_control.models.financials;
+
+/**
+ * Origem de um lançamento no diário.
+ */
+public enum JournalSource {
+    INVOICE,
+    PAYMENT,
+    EXPENSE
+}
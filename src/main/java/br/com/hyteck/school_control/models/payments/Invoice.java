@@ -11,13 +11,17 @@ import org.springframework.format.annotation.DateTimeFormat;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 @Entity
-@Table(name = "invoices")
+@Table(name = "invoices", indexes = {
+        @Index(columnList = "responsible_id, reference_month"),
+        @Index(columnList = "email_dispatch_id")
+})
 @Getter // Lombok
 @Setter // Lombok
 @NoArgsConstructor // Lombok
@@ -66,6 +70,8 @@ public class Invoice extends AbstractModel {
     @Builder.Default
     private List<Discount> discounts = new ArrayList<>();
 
+    public static final BigDecimal LATE_PENALTY = BigDecimal.TEN;
+
     @Column(name = "penalty", precision = 10, scale = 2)
     @Builder.Default
     private BigDecimal penalty = BigDecimal.ZERO; // valor fixo de R$10,00
@@ -74,6 +80,17 @@ public class Invoice extends AbstractModel {
     @JoinColumn(name = "responsible_id")
     private Responsible responsible;
 
+    /**
+     * Envio dos e-mails de novas faturas que inclui esta fatura ({@code InvoiceEmailDispatch}).
+     */
+    @Column(length = 36)
+    private String emailDispatchId;
+
+    /**
+     * Quando o e-mail desta fatura foi colocado na caixa de saída; nulo enquanto pendente.
+     */
+    private LocalDateTime emailQueuedAt;
+
     public void addItem(InvoiceItem item) {
         items.add(item);
         item.setInvoice(this);
@@ -85,6 +102,13 @@ public class Invoice extends AbstractModel {
         this.amount = calculateTotalAmount();
     }
 
+    /**
+     * Multa por atraso de um pagamento feito em {@code paymentDate}: R$ 10,00 se for depois do vencimento.
+     */
+    public BigDecimal latePenaltyFor(LocalDateTime paymentDate) {
+        return paymentDate.isAfter(dueDate.atStartOfDay()) ? LATE_PENALTY : BigDecimal.ZERO;
+    }
+
     public BigDecimal calculateTotalAmount() {
         BigDecimal discountCalculated = BigDecimal.ZERO;
         BigDecimal total = items.stream()
@@ -99,8 +123,8 @@ public class Invoice extends AbstractModel {
         }
         total = total.subtract(discountCalculated.max(BigDecimal.ZERO));
 
-        if (payment != null && payment.getPaymentDate().isAfter(dueDate.atStartOfDay())) {
-            penalty= BigDecimal.TEN;
+        if (payment != null && latePenaltyFor(payment.getPaymentDate()).signum() > 0) {
+            penalty= latePenaltyFor(payment.getPaymentDate());
             total = total.add(penalty);
         }
 
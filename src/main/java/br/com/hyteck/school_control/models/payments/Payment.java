@@ -14,7 +14,9 @@ import java.time.LocalDateTime; // Pode manter LocalDateTime se a hora do pagame
 import static br.com.hyteck.school_control.models.payments.PaymentMethod.PIX;
 
 @Entity
-@Table(name = "payments") // Nome da tabela
+@Table(name = "payments", indexes = { // Nome da tabela
+        @Index(columnList = "payment_date DESC, id DESC")
+})
 @Getter // Lombok
 @Setter // Lombok
 @NoArgsConstructor // Lombok
@@ -0,0 +1,9 @@
+package br.com.hyteck.school_control.models.storage;
+
+/**
+ * Onde o conteúdo de um {@link StoredFile} está armazenado.
+ */
+public enum StorageBackend {
+    LOCAL,
+    CLOUDINARY
+}
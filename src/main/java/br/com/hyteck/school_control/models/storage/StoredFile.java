@@ -0,0 +1,54 @@
+package br.com.hyteck.school_control.models.storage;
+
+import br.com.hyteck.school_control.models.AbstractModel;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+/**
+ * Índice do armazenamento: nome, tamanho, hash e tipo de cada arquivo gravado, permitindo listar
+ * e consultar arquivos sem acessar o disco nem a API remota.
+ * <p>
+ * No armazenamento local, vários nomes podem apontar para o mesmo blob, identificado pelo SHA-256 do conteúdo.
+ * No Cloudinary, o nome é a URL retornada no envio e {@code remoteId} o public_id usado para excluí-lo.
+ */
+@Entity
+@Table(name = "stored_files", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"backend", "name"})
+}, indexes = {
+        @Index(columnList = "backend, content_hash"),
+        @Index(columnList = "backend, created_at")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoredFile extends AbstractModel {
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StorageBackend backend;
+
+    @NotNull
+    @Column(nullable = false, length = 512)
+    private String name;
+
+    private String originalFilename;
+
+    /**
+     * SHA-256 do conteúdo em hexadecimal.
+     */
+    @NotNull
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(length = 127)
+    private String contentType;
+
+    private String remoteId;
+}
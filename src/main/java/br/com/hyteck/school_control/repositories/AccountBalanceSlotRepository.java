@@ -0,0 +1,45 @@
+package br.com.hyteck.school_control.repositories;
+
+import br.com.hyteck.school_control.models.financials.AccountBalanceSlot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface AccountBalanceSlotRepository extends JpaRepository<AccountBalanceSlot, String> {
+
+    /**
+     * Atomically adds {@code delta} to one slot of the account, creating the slot on first use.
+     * Only that slot row is locked, so postings landing on other slots don't wait on each other.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO account_balance_slots (id, account_id, slot, amount, created_at, updated_at) " +
+            "VALUES (CAST(gen_random_uuid() AS varchar), :accountId, :slot, :delta, now(), now()) " +
+            "ON CONFLICT (account_id, slot) DO UPDATE " +
+            "SET amount = account_balance_slots.amount + EXCLUDED.amount, updated_at = now()", nativeQuery = true)
+    int addToSlot(@Param("accountId") String accountId, @Param("slot") int slot, @Param("delta") BigDecimal delta);
+
+    @Query("SELECT DISTINCT s.account.id FROM AccountBalanceSlot s WHERE s.amount <> 0")
+    List<String> findAccountIdsWithPendingAmounts();
+
+    /**
+     * Moves the pending slot amounts of one account into {@code accounts.balance} in a single statement.
+     * The slots are locked (FOR UPDATE) while drained, so concurrent postings are either
+     * folded in or wait and land on the zeroed slot.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "WITH drained AS (" +
+            "UPDATE account_balance_slots s SET amount = 0, updated_at = now() " +
+            "FROM (SELECT id, amount FROM account_balance_slots " +
+            "WHERE account_id = :accountId AND amount <> 0 FOR UPDATE) pending " +
+            "WHERE s.id = pending.id RETURNING pending.amount) " +
+            "UPDATE accounts SET balance = COALESCE(balance, 0) + (SELECT COALESCE(SUM(amount), 0) FROM drained), " +
+            "updated_at = now() " +
+            "WHERE id = :accountId", nativeQuery = true)
+    int compactAccount(@Param("accountId") String accountId);
+}
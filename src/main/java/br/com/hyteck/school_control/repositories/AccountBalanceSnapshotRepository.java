@@ -0,0 +1,28 @@
+package br.com.hyteck.school_control.repositories;
+
+import br.com.hyteck.school_control.models.financials.AccountBalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface AccountBalanceSnapshotRepository extends JpaRepository<AccountBalanceSnapshot, String> {
+
+    Optional<AccountBalanceSnapshot> findFirstByAccountIdAndAsOfLessThanEqualOrderByAsOfDesc(String accountId, LocalDateTime asOf);
+
+    @Query("SELECT MAX(s.asOf) FROM AccountBalanceSnapshot s")
+    Optional<LocalDateTime> findLatestAsOf();
+
+    /**
+     * Latest snapshot at or before {@code asOf} of each of the given accounts.
+     */
+    @Query("SELECT s FROM AccountBalanceSnapshot s " +
+            "WHERE s.account.id IN :accountIds AND s.asOf = (" +
+            "SELECT MAX(s2.asOf) FROM AccountBalanceSnapshot s2 WHERE s2.account = s.account AND s2.asOf <= :asOf)")
+    List<AccountBalanceSnapshot> findLatestByAccountIds(@Param("accountIds") Collection<String> accountIds,
+                                                        @Param("asOf") LocalDateTime asOf);
+}
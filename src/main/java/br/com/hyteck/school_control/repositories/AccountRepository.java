@@ -1,7 +1,41 @@
 package br.com.hyteck.school_control.repositories;
 
 import br.com.hyteck.school_control.models.financials.Account;
+import br.com.hyteck.school_control.web.dtos.financials.AccountSummaryResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface AccountRepository extends JpaRepository<Account, String> {
-}
\ No newline at end of file
+    Optional<Account> findByCode(String code);
+
+    List<Account> findByCodeIn(Collection<String> codes);
+
+    /**
+     * Opens the account with the given code unless it already exists, so concurrent first postings
+     * don't fail on the unique code. The caller reads the account back with {@link #findByCode}.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO accounts (id, code, name, type, balance, responsible_id, created_at, updated_at) " +
+            "VALUES (CAST(gen_random_uuid() AS varchar), :code, :name, :type, 0, :responsibleId, now(), now()) " +
+            "ON CONFLICT (code) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("code") String code, @Param("name") String name, @Param("type") String type,
+                       @Param("responsibleId") String responsibleId);
+
+    /**
+     * Accounts with their current balance: the compacted balance plus the pending slot amounts.
+     */
+    @Query(value = "SELECT new br.com.hyteck.school_control.web.dtos.financials.AccountSummaryResponse(" +
+            "a.id, a.code, a.name, a.type, " +
+            "COALESCE(a.balance, 0) + COALESCE((SELECT SUM(s.amount) FROM AccountBalanceSlot s WHERE s.account = a), 0)) " +
+            "FROM Account a",
+            countQuery = "SELECT COUNT(a) FROM Account a")
+    Page<AccountSummaryResponse> findSummaries(Pageable pageable);
+}
@@ -0,0 +1,25 @@
+package br.com.hyteck.school_control.repositories;
+
+import br.com.hyteck.school_control.models.ArchivedNotification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface ArchivedNotificationRepository extends JpaRepository<ArchivedNotification, String> {
+
+    /**
+     * Deletes up to {@code batchSize} archived notifications created before {@code cutoff}.
+     *
+     * @return the number of rows deleted; less than {@code batchSize} means nothing is left to purge
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM notifications_archive WHERE id IN (" +
+            "SELECT id FROM notifications_archive WHERE created_at < :cutoff " +
+            "LIMIT :batchSize FOR UPDATE SKIP LOCKED)", nativeQuery = true)
+    int purgeCreatedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+}
@@ -1,10 +1,14 @@
 package br.com.hyteck.school_control.repositories;
 
 import br.com.hyteck.school_control.models.classrooms.Enrollment;
+import br.com.hyteck.school_control.web.dtos.notification.NotificationRecipient;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -76,4 +80,14 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, String>
             "invoiceItems"
     })
     List<Enrollment> findByStatus(Enrollment.Status status);
+
+    /**
+     * Responsáveis (sem repetição) dos alunos com matrícula na turma e status informados.
+     */
+    @Query("SELECT DISTINCT new br.com.hyteck.school_control.web.dtos.notification.NotificationRecipient(r.id, r.name) " +
+            "FROM Enrollment e JOIN e.student s JOIN s.responsible r " +
+            "WHERE e.classroom.id = :classroomId AND e.status = :status ORDER BY r.id")
+    Slice<NotificationRecipient> findResponsibleRecipientsByClassroom(@Param("classroomId") String classroomId,
+                                                                     @Param("status") Enrollment.Status status,
+                                                                     Pageable pageable);
 }
@@ -1,11 +1,115 @@
 package br.com.hyteck.school_control.repositories;
 
 import br.com.hyteck.school_control.models.expenses.Expense;
+import br.com.hyteck.school_control.web.dtos.expenses.ExpenseCategoryTotal;
+import br.com.hyteck.school_control.web.dtos.expenses.ExpenseLine;
+import br.com.hyteck.school_control.web.dtos.expenses.ExpenseMonthTotal;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ExpenseRepository extends JpaRepository<Expense, String> {
-    List<Expense> findByDateBetween(LocalDate startDate, LocalDate endDate);
-}
\ No newline at end of file
+
+    /**
+     * Sets the uploaded receipt URL, as long as the expense still points to the same staged file
+     * (a newer receipt may have been staged while this one was uploading).
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Expense e SET e.receiptUrl = :receiptUrl, e.receiptThumbnailUrl = :receiptThumbnailUrl, " +
+            "e.stagedReceipt = NULL, e.receiptAttempts = 0, e.nextReceiptAttemptAt = NULL, e.updatedAt = :updatedAt " +
+            "WHERE e.id = :id AND e.stagedReceipt = :stagedReceipt")
+    int completeReceiptUpload(@Param("id") String id,
+                              @Param("stagedReceipt") String stagedReceipt,
+                              @Param("receiptUrl") String receiptUrl,
+                              @Param("receiptThumbnailUrl") String receiptThumbnailUrl,
+                              @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Drops a staged receipt that can no longer be uploaded, keeping the current receipt URLs.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Expense e SET e.stagedReceipt = NULL, e.receiptAttempts = 0, e.nextReceiptAttemptAt = NULL, " +
+            "e.updatedAt = :updatedAt " +
+            "WHERE e.id = :id AND e.stagedReceipt = :stagedReceipt")
+    int clearStagedReceipt(@Param("id") String id,
+                           @Param("stagedReceipt") String stagedReceipt,
+                           @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Records a failed upload of the staged receipt and schedules the next sweep attempt.
+     * A {@code null} next attempt gives up on the receipt, leaving it staged for inspection.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Expense e SET e.receiptAttempts = :attempts, e.nextReceiptAttemptAt = :nextAttemptAt " +
+            "WHERE e.id = :id AND e.stagedReceipt = :stagedReceipt")
+    int recordReceiptFailure(@Param("id") String id,
+                             @Param("stagedReceipt") String stagedReceipt,
+                             @Param("attempts") int attempts,
+                             @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    /**
+     * Staged receipts due for another upload attempt, the longest waiting first.
+     */
+    @Query("SELECT e FROM Expense e " +
+            "WHERE e.stagedReceipt IS NOT NULL AND e.nextReceiptAttemptAt <= :now " +
+            "ORDER BY e.nextReceiptAttemptAt")
+    List<Expense> findReceiptsDueForUpload(@Param("now") LocalDateTime now, Limit limit);
+
+    @Query("SELECT new br.com.hyteck.school_control.web.dtos.expenses.ExpenseMonthTotal(" +
+            "CAST(EXTRACT(YEAR FROM e.date) AS Integer), CAST(EXTRACT(MONTH FROM e.date) AS Integer), COUNT(e), SUM(e.value)) " +
+            "FROM Expense e " +
+            "WHERE e.date BETWEEN :startDate AND :endDate " +
+            "GROUP BY EXTRACT(YEAR FROM e.date), EXTRACT(MONTH FROM e.date) " +
+            "ORDER BY EXTRACT(YEAR FROM e.date), EXTRACT(MONTH FROM e.date)")
+    List<ExpenseMonthTotal> sumByMonth(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT new br.com.hyteck.school_control.web.dtos.expenses.ExpenseCategoryTotal(e.category, COUNT(e), SUM(e.value)) " +
+            "FROM Expense e " +
+            "WHERE e.date BETWEEN :startDate AND :endDate " +
+            "GROUP BY e.category " +
+            "ORDER BY SUM(e.value) DESC")
+    List<ExpenseCategoryTotal> sumByCategory(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query(value = "SELECT new br.com.hyteck.school_control.web.dtos.expenses.ExpenseLine(e.id, e.date, e.description, e.category, e.value, e.receiptThumbnailUrl) " +
+            "FROM Expense e " +
+            "WHERE e.date BETWEEN :startDate AND :endDate",
+            countQuery = "SELECT COUNT(e) FROM Expense e WHERE e.date BETWEEN :startDate AND :endDate")
+    Page<ExpenseLine> findLinesByDateBetween(@Param("startDate") LocalDate startDate,
+                                             @Param("endDate") LocalDate endDate,
+                                             Pageable pageable);
+
+    /**
+     * Sums expenses per period, truncating the expense date in the database.
+     *
+     * @param unit {@code date_trunc} field ({@code day} or {@code week})
+     * @param from lower bound (inclusive) of the expense date
+     * @param to   upper bound (exclusive) of the expense date
+     * @return one row per period with movement, ordered by period
+     */
+    @Query(value = "SELECT CAST(date_trunc(:unit, CAST(e.date AS timestamp)) AS date) AS period, SUM(e.value) AS total " +
+            "FROM expenses e " +
+            "WHERE e.date >= :from AND e.date < :to " +
+            "GROUP BY 1 ORDER BY 1", nativeQuery = true)
+    List<PeriodTotal> sumByPeriod(
+            @Param("unit") String unit,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    interface PeriodTotal {
+        LocalDate getPeriod();
+        BigDecimal getTotal();
+    }
+}
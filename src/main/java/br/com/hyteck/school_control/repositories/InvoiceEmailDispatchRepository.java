@@ -0,0 +1,15 @@
+package br.com.hyteck.school_control.repositories;
+
+import br.com.hyteck.school_control.models.email.InvoiceEmailDispatch;
+import br.com.hyteck.school_control.models.email.InvoiceEmailDispatchStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface InvoiceEmailDispatchRepository extends JpaRepository<InvoiceEmailDispatch, String> {
+
+    List<InvoiceEmailDispatch> findByStatusAndUpdatedAtBefore(InvoiceEmailDispatchStatus status, LocalDateTime updatedAt);
+
+    List<InvoiceEmailDispatch> findByStatus(InvoiceEmailDispatchStatus status);
+}
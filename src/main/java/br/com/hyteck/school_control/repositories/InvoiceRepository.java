@@ -3,14 +3,19 @@ package br.com.hyteck.school_control.repositories;
 import br.com.hyteck.school_control.models.payments.Invoice;
 import br.com.hyteck.school_control.models.payments.InvoiceStatus;
 import br.com.hyteck.school_control.models.payments.Types;
+import br.com.hyteck.school_control.web.dtos.billing.InvoiceEmailSummary;
+import br.com.hyteck.school_control.web.dtos.billing.InvoiceStudentName;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.util.Collection;
 import java.util.List;
@@ -43,6 +48,54 @@ public interface InvoiceRepository extends JpaRepository<Invoice, String> {
             @Param("statuses") Collection<InvoiceStatus> statuses
     );
 
+    /**
+     * Retrieves the payable invoices of a responsible for a reference month in a single query.
+     * Only the responsible and the (optional) payment are fetched, which is all a settlement needs;
+     * items and discounts stay lazy.
+     *
+     * @param responsibleId   the ID of the responsible party
+     * @param referenceMonth  the reference month (YearMonth)
+     * @param statuses        the collection of invoice statuses to filter (e.g., PENDING, OVERDUE)
+     * @return a list of invoices matching the criteria
+     */
+    @Query("SELECT inv FROM Invoice inv " +
+            "JOIN FETCH inv.responsible " +
+            "LEFT JOIN FETCH inv.payment " +
+            "WHERE inv.responsible.id = :responsibleId " +
+            "AND inv.referenceMonth = :referenceMonth " +
+            "AND inv.status IN :statuses")
+    List<Invoice> findPayableInvoicesByResponsibleAndMonth(
+            @Param("responsibleId") String responsibleId,
+            @Param("referenceMonth") YearMonth referenceMonth,
+            @Param("statuses") Collection<InvoiceStatus> statuses
+    );
+
+    /**
+     * Settles several invoices with a single bulk statement: sets the status, records the late
+     * penalty and adds it to the amount (bulk statements bypass the {@code @PreUpdate} total calculation).
+     * Only invoices still in one of {@code expectedStatuses} are updated, so a concurrent settlement
+     * of the same invoice is detected by the returned count.
+     * Pending inserts are flushed before the update and the persistence context is cleared afterwards.
+     *
+     * @param ids              the invoice IDs
+     * @param status           the new status
+     * @param penalty          the late penalty of these invoices (zero if paid on time)
+     * @param expectedStatuses the statuses the invoices must still be in
+     * @param updatedAt        the update timestamp
+     * @return the number of updated invoices
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Invoice inv SET inv.status = :status, inv.penalty = :penalty, inv.amount = inv.amount + :penalty, " +
+            "inv.updatedAt = :updatedAt " +
+            "WHERE inv.id IN :ids AND inv.status IN :expectedStatuses")
+    int settleByIds(
+            @Param("ids") Collection<String> ids,
+            @Param("status") InvoiceStatus status,
+            @Param("penalty") BigDecimal penalty,
+            @Param("expectedStatuses") Collection<InvoiceStatus> expectedStatuses,
+            @Param("updatedAt") LocalDateTime updatedAt
+    );
+
     /**
      * Retrieves all pending invoices for a given reference month, including all necessary relationships to avoid N+1 queries.
      *
@@ -65,6 +118,47 @@ public interface InvoiceRepository extends JpaRepository<Invoice, String> {
             @Param("statuses") Collection<InvoiceStatus> statuses
     );
 
+    /**
+     * Loads what the new-invoice e-mail needs, without materializing the invoices.
+     *
+     * @param ids the invoice IDs
+     * @return one summary per invoice; students are loaded with {@link #findStudentNames}
+     */
+    @Query("SELECT new br.com.hyteck.school_control.web.dtos.billing.InvoiceEmailSummary(" +
+            "inv.id, r.name, r.email, inv.amount, inv.dueDate, inv.referenceMonth) " +
+            "FROM Invoice inv JOIN inv.responsible r " +
+            "WHERE inv.id IN :ids")
+    List<InvoiceEmailSummary> findEmailSummaries(@Param("ids") Collection<String> ids);
+
+    /**
+     * Students billed on each invoice, through the enrollments of its items.
+     *
+     * @param ids the invoice IDs
+     * @return one row per invoice item with a student, ordered by invoice and student name
+     */
+    @Query("SELECT new br.com.hyteck.school_control.web.dtos.billing.InvoiceStudentName(inv.id, s.name) " +
+            "FROM Invoice inv JOIN inv.items it JOIN it.enrollment e JOIN e.student s " +
+            "WHERE inv.id IN :ids " +
+            "ORDER BY inv.id, s.name")
+    List<InvoiceStudentName> findStudentNames(@Param("ids") Collection<String> ids);
+
+    /**
+     * IDs of the invoices of an e-mail dispatch whose e-mail is not queued yet, in keyset pages by ID.
+     */
+    @Query("SELECT inv.id FROM Invoice inv " +
+            "WHERE inv.emailDispatchId = :dispatchId AND inv.emailQueuedAt IS NULL AND inv.id > :afterId " +
+            "ORDER BY inv.id")
+    List<String> findEmailPendingIds(@Param("dispatchId") String dispatchId, @Param("afterId") String afterId, Limit limit);
+
+    /**
+     * Marks the invoice e-mail as queued, unless another worker already did.
+     *
+     * @return 1 if this call marked it, 0 otherwise
+     */
+    @Modifying
+    @Query("UPDATE Invoice inv SET inv.emailQueuedAt = :queuedAt WHERE inv.id = :id AND inv.emailQueuedAt IS NULL")
+    int markEmailQueued(@Param("id") String id, @Param("queuedAt") LocalDateTime queuedAt);
+
     /**
      * Sums the total amount of invoices for a given month and statuses.
      *
@@ -0,0 +1,7 @@
+package br.com.hyteck.school_control.repositories;
+
+import br.com.hyteck.school_control.models.financials.JournalEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface JournalEntryRepository extends JpaRepository<JournalEntry, String> {
+}
@@ -0,0 +1,37 @@
+package br.com.hyteck.school_control.repositories;
+
+import br.com.hyteck.school_control.models.financials.JournalLine;
+import br.com.hyteck.school_control.web.dtos.financials.LedgerTotals;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface JournalLineRepository extends JpaRepository<JournalLine, String> {
+
+    /**
+     * Sums the journal tail of one account in {@code (after, until]}, served by the (account_id, posted_at) index.
+     */
+    @Query("SELECT new br.com.hyteck.school_control.web.dtos.financials.LedgerTotals(:accountId, " +
+            "COALESCE(SUM(CASE WHEN l.side = br.com.hyteck.school_control.models.financials.EntrySide.DEBIT THEN l.amount END), 0), " +
+            "COALESCE(SUM(CASE WHEN l.side = br.com.hyteck.school_control.models.financials.EntrySide.CREDIT THEN l.amount END), 0)) " +
+            "FROM JournalLine l " +
+            "WHERE l.account.id = :accountId AND l.postedAt > :after AND l.postedAt <= :until")
+    LedgerTotals sumByAccount(@Param("accountId") String accountId,
+                              @Param("after") LocalDateTime after,
+                              @Param("until") LocalDateTime until);
+
+    /**
+     * Sums the journal tail of every account with movement in {@code (after, until]}.
+     */
+    @Query("SELECT new br.com.hyteck.school_control.web.dtos.financials.LedgerTotals(l.account.id, " +
+            "COALESCE(SUM(CASE WHEN l.side = br.com.hyteck.school_control.models.financials.EntrySide.DEBIT THEN l.amount END), 0), " +
+            "COALESCE(SUM(CASE WHEN l.side = br.com.hyteck.school_control.models.financials.EntrySide.CREDIT THEN l.amount END), 0)) " +
+            "FROM JournalLine l " +
+            "WHERE l.postedAt > :after AND l.postedAt <= :until " +
+            "GROUP BY l.account.id")
+    List<LedgerTotals> sumByAccountBetween(@Param("after") LocalDateTime after,
+                                           @Param("until") LocalDateTime until);
+}
@@ -1,14 +1,22 @@
 package br.com.hyteck.school_control.repositories;
 
 import br.com.hyteck.school_control.models.Notification;
+import br.com.hyteck.school_control.web.dtos.NotificationResponse;
+import br.com.hyteck.school_control.web.dtos.notification.UnreadNotificationCount;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -16,9 +24,97 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
 
     Page<Notification> findByUserIdOrderByCreatedAtDesc(String userId, Pageable pageable);
 
+    /**
+     * First page of a user's notification feed, newest first, projected straight into the DTO.
+     *
+     * @param userId the ID of the user
+     * @param limit  maximum number of rows
+     * @return the notifications in {@code (createdAt, id)} descending order
+     */
+    @Query("SELECT new br.com.hyteck.school_control.web.dtos.NotificationResponse(" +
+            "n.id, n.user.id, n.type, n.message, n.read, n.createdAt, n.occurrences) " +
+            "FROM Notification n " +
+            "WHERE n.user.id = :userId " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationResponse> findFeed(@Param("userId") String userId, Limit limit);
+
+    /**
+     * Older notifications of a user's feed, starting right after the {@code (cursorDate, cursorId)} keyset.
+     *
+     * @param userId     the ID of the user
+     * @param cursorDate creation date of the last row of the previous page
+     * @param cursorId   ID of the last row of the previous page
+     * @param limit      maximum number of rows
+     * @return the notifications in {@code (createdAt, id)} descending order
+     */
+    @Query("SELECT new br.com.hyteck.school_control.web.dtos.NotificationResponse(" +
+            "n.id, n.user.id, n.type, n.message, n.read, n.createdAt, n.occurrences) " +
+            "FROM Notification n " +
+            "WHERE n.user.id = :userId " +
+            "AND (n.createdAt < :cursorDate OR (n.createdAt = :cursorDate AND n.id < :cursorId)) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationResponse> findFeedAfter(
+            @Param("userId") String userId,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") String cursorId,
+            Limit limit);
+
+    /**
+     * Notifications with the given IDs, projected straight into the DTO, oldest first.
+     * Used to deliver notifications created in a batch after its commit.
+     */
+    @Query("SELECT new br.com.hyteck.school_control.web.dtos.NotificationResponse(" +
+            "n.id, n.user.id, n.type, n.message, n.read, n.createdAt, n.occurrences) " +
+            "FROM Notification n " +
+            "WHERE n.id IN :ids " +
+            "ORDER BY n.createdAt, n.id")
+    List<NotificationResponse> findResponsesByIds(@Param("ids") Collection<String> ids);
+
+    /**
+     * Latest unread notification of the given type created for the user since {@code since},
+     * locked (FOR UPDATE) so concurrent merges into it are serialized.
+     *
+     * @param limit use {@code Limit.of(1)}
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT n FROM Notification n " +
+            "WHERE n.user.id = :userId AND n.type = :type AND n.read = false AND n.createdAt >= :since " +
+            "ORDER BY n.createdAt DESC")
+    List<Notification> findCoalescible(
+            @Param("userId") String userId,
+            @Param("type") String type,
+            @Param("since") LocalDateTime since,
+            Limit limit);
+
     // Para GET /notifications/unread/count
     long countByUserIdAndReadFalse(String userId);
 
+    // Reconciliação do contador de não lidas; usuários sem notificações não lidas não aparecem
+    @Query("SELECT new br.com.hyteck.school_control.web.dtos.notification.UnreadNotificationCount(n.user.id, COUNT(n)) " +
+            "FROM Notification n " +
+            "WHERE n.user.id IN :userIds AND n.read = false " +
+            "GROUP BY n.user.id")
+    List<UnreadNotificationCount> countUnreadByUserIds(@Param("userIds") Collection<String> userIds);
+
+    /**
+     * Moves up to {@code batchSize} read notifications created before {@code cutoff} to
+     * {@code notifications_archive} in a single statement.
+     * Rows locked by a concurrent update are skipped (SKIP LOCKED) and picked up by a later batch,
+     * so the job never waits on, or blocks, users marking notifications as read.
+     *
+     * @return the number of rows moved; less than {@code batchSize} means nothing is left to archive
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "WITH moved AS (" +
+            "DELETE FROM notifications WHERE id IN (" +
+            "SELECT id FROM notifications WHERE is_read = true AND created_at < :cutoff " +
+            "LIMIT :batchSize FOR UPDATE SKIP LOCKED) " +
+            "RETURNING id, user_id, message, link, type, occurrences, send_at, read_at, created_at) " +
+            "INSERT INTO notifications_archive (id, user_id, message, link, type, occurrences, send_at, read_at, created_at, archived_at) " +
+            "SELECT id, user_id, message, link, type, occurrences, send_at, read_at, created_at, now() FROM moved", nativeQuery = true)
+    int archiveReadCreatedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+
     // Para PUT /notifications/{id}/read
     Optional<Notification> findByIdAndUserId(String id, String userId);
 
@@ -0,0 +1,72 @@
+package br.com.hyteck.school_control.repositories;
+
+import br.com.hyteck.school_control.models.email.OutboundEmail;
+import br.com.hyteck.school_control.models.email.OutboundEmailStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboundEmailRepository extends JpaRepository<OutboundEmail, String> {
+
+    /**
+     * E-mails ready to be sent: pending and due, or reserved by a dispatcher whose lease expired.
+     * Rows locked by another dispatcher are skipped ({@code lock.timeout = -2} is SKIP LOCKED in Hibernate).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboundEmail e " +
+            "WHERE (e.status = br.com.hyteck.school_control.models.email.OutboundEmailStatus.PENDING AND e.nextAttemptAt <= :now) " +
+            "OR (e.status = br.com.hyteck.school_control.models.email.OutboundEmailStatus.SENDING AND e.leaseUntil < :now) " +
+            "ORDER BY e.nextAttemptAt")
+    List<OutboundEmail> findDispatchable(@Param("now") LocalDateTime now, Limit limit);
+
+    @Modifying
+    @Query("UPDATE OutboundEmail e SET e.status = :status, e.sentAt = :sentAt, e.leaseUntil = null, e.updatedAt = :sentAt " +
+            "WHERE e.id IN :ids")
+    int markSent(@Param("ids") Collection<String> ids,
+                 @Param("status") OutboundEmailStatus status,
+                 @Param("sentAt") LocalDateTime sentAt);
+
+    /**
+     * Returns the e-mails to the queue without consuming an attempt (e.g. the domain is over its rate limit).
+     */
+    @Modifying
+    @Query("UPDATE OutboundEmail e SET e.status = :status, e.nextAttemptAt = :nextAttemptAt, e.leaseUntil = null, " +
+            "e.deferredAt = :updatedAt, e.updatedAt = :updatedAt WHERE e.id IN :ids")
+    int reschedule(@Param("ids") Collection<String> ids,
+                   @Param("status") OutboundEmailStatus status,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying
+    @Query("UPDATE OutboundEmail e SET e.status = :status, e.attempts = :attempts, e.nextAttemptAt = :nextAttemptAt, " +
+            "e.lastError = :lastError, e.leaseUntil = null, e.updatedAt = :updatedAt WHERE e.id = :id")
+    int recordFailure(@Param("id") String id,
+                      @Param("status") OutboundEmailStatus status,
+                      @Param("attempts") int attempts,
+                      @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                      @Param("lastError") String lastError,
+                      @Param("updatedAt") LocalDateTime updatedAt);
+
+    long countByStatus(OutboundEmailStatus status);
+
+    /**
+     * Counts the e-mails of a bulk send per status, and how many of them were ever deferred by the rate limit.
+     */
+    @Query("SELECT new br.com.hyteck.school_control.web.dtos.notification.OutboundEmailStatusCount(" +
+            "e.status, COUNT(e), SUM(CASE WHEN e.deferredAt IS NOT NULL THEN 1 ELSE 0 END)) " +
+            "FROM OutboundEmail e " +
+            "WHERE e.dispatchId = :dispatchId " +
+            "GROUP BY e.status")
+    List<OutboundEmailStatusCount> countByDispatch(@Param("dispatchId") String dispatchId);
+}
@@ -1,19 +1,91 @@
 package br.com.hyteck.school_control.repositories;
 
 import br.com.hyteck.school_control.models.payments.Payment;
+import br.com.hyteck.school_control.web.dtos.payments.PaymentResponse;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, String> {
-    List<Payment> findByPaymentDateBetween(LocalDate startDate, LocalDate endDate);
     List<Payment> findByInvoiceId(String invoiceId);
-    
-    @Query("SELECT p FROM Payment p WHERE p.invoice.responsible.id = :responsibleId")
-    List<Payment> findByResponsibleId(String responsibleId);
 
+    /**
+     * First page of a responsible's payment history, newest first.
+     * Projects straight into the DTO and reads {@code invoice_id} from the payment row, so no entity is loaded.
+     *
+     * @param responsibleId the ID of the responsible party
+     * @param from          lower bound (inclusive) of the payment date
+     * @param to            upper bound (exclusive) of the payment date
+     * @param limit         maximum number of rows
+     * @return the payments in {@code (paymentDate, id)} descending order
+     */
+    @Query("SELECT new br.com.hyteck.school_control.web.dtos.payments.PaymentResponse(" +
+            "p.id, p.amountPaid, p.paymentDate, p.paymentMethod, p.invoice.id) " +
+            "FROM Payment p " +
+            "WHERE p.invoice.responsible.id = :responsibleId " +
+            "AND p.paymentDate >= :from AND p.paymentDate < :to " +
+            "ORDER BY p.paymentDate DESC, p.id DESC")
+    List<PaymentResponse> findHistoryByResponsible(
+            @Param("responsibleId") String responsibleId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            Limit limit);
+
+    /**
+     * Next page of a responsible's payment history, starting right after the {@code (cursorDate, cursorId)} keyset.
+     *
+     * @param responsibleId the ID of the responsible party
+     * @param from          lower bound (inclusive) of the payment date
+     * @param to            upper bound (exclusive) of the payment date
+     * @param cursorDate    payment date of the last row of the previous page
+     * @param cursorId      ID of the last row of the previous page
+     * @param limit         maximum number of rows
+     * @return the payments in {@code (paymentDate, id)} descending order
+     */
+    @Query("SELECT new br.com.hyteck.school_control.web.dtos.payments.PaymentResponse(" +
+            "p.id, p.amountPaid, p.paymentDate, p.paymentMethod, p.invoice.id) " +
+            "FROM Payment p " +
+            "WHERE p.invoice.responsible.id = :responsibleId " +
+            "AND p.paymentDate >= :from AND p.paymentDate < :to " +
+            "AND (p.paymentDate < :cursorDate OR (p.paymentDate = :cursorDate AND p.id < :cursorId)) " +
+            "ORDER BY p.paymentDate DESC, p.id DESC")
+    List<PaymentResponse> findHistoryByResponsibleAfter(
+            @Param("responsibleId") String responsibleId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") String cursorId,
+            Limit limit);
+
+    /**
+     * Sums completed payments per period and payment method, truncating {@code payment_date} in the database.
+     *
+     * @param unit {@code date_trunc} field ({@code day} or {@code week})
+     * @param from lower bound (inclusive) of the payment date
+     * @param to   upper bound (exclusive) of the payment date
+     * @return one row per (period, method) with movement, ordered by period
+     */
+    @Query(value = "SELECT CAST(date_trunc(:unit, p.payment_date) AS date) AS period, " +
+            "p.payment_method AS method, SUM(p.amount_paid) AS total " +
+            "FROM payments p " +
+            "WHERE p.status = 'COMPLETED' AND p.payment_date >= :from AND p.payment_date < :to " +
+            "GROUP BY 1, 2 ORDER BY 1", nativeQuery = true)
+    List<PeriodMethodTotal> sumCompletedByPeriodAndMethod(
+            @Param("unit") String unit,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    interface PeriodMethodTotal {
+        LocalDate getPeriod();
+        String getMethod();
+        BigDecimal getTotal();
+    }
 }
@@ -0,0 +1,32 @@
+package br.com.hyteck.school_control.repositories;
+
+import br.com.hyteck.school_control.models.storage.StorageBackend;
+import br.com.hyteck.school_control.models.storage.StoredFile;
+import br.com.hyteck.school_control.web.dtos.storage.StoredFileResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public interface StoredFileRepository extends JpaRepository<StoredFile, String> {
+
+    Optional<StoredFile> findByBackendAndName(StorageBackend backend, String name);
+
+    boolean existsByBackendAndContentHash(StorageBackend backend, String contentHash);
+
+    @Query(value = "SELECT new br.com.hyteck.school_control.web.dtos.storage.StoredFileResponse(" +
+            "f.id, f.backend, f.name, f.originalFilename, f.size, f.contentHash, f.contentType, f.createdAt) " +
+            "FROM StoredFile f WHERE f.backend = :backend",
+            countQuery = "SELECT COUNT(f) FROM StoredFile f WHERE f.backend = :backend")
+    Page<StoredFileResponse> findResponsesByBackend(@Param("backend") StorageBackend backend, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM StoredFile f WHERE f.backend = :backend")
+    int deleteByBackend(@Param("backend") StorageBackend backend);
+}
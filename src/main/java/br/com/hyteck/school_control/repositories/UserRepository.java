@@ -1,11 +1,17 @@
 package br.com.hyteck.school_control.repositories;
 
 import br.com.hyteck.school_control.models.auth.User;
+import br.com.hyteck.school_control.web.dtos.notification.NotificationRecipient;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 
 public interface UserRepository extends JpaRepository<User, String> {
     @Query("SELECT u FROM User u JOIN FETCH u.roles WHERE u.username = :username")
@@ -13,4 +19,21 @@ public interface UserRepository extends JpaRepository<User, String> {
 
     boolean existsByEmail(String email);
 
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id")
+    Optional<Long> findTokenVersionById(@Param("id") String id);
+
+    /**
+     * IDs, dentre os informados, que pertencem a usuários existentes.
+     */
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    Set<String> findExistingIds(@Param("ids") Collection<String> ids);
+
+    @Query("SELECT new br.com.hyteck.school_control.web.dtos.notification.NotificationRecipient(u.id, u.username) " +
+            "FROM User u ORDER BY u.id")
+    Slice<NotificationRecipient> findNotificationRecipients(Pageable pageable);
+
+    @Query("SELECT new br.com.hyteck.school_control.web.dtos.notification.NotificationRecipient(u.id, u.username) " +
+            "FROM User u JOIN u.roles r WHERE r.name = :role ORDER BY u.id")
+    Slice<NotificationRecipient> findNotificationRecipientsByRole(@Param("role") String role, Pageable pageable);
+
 }
@@ -0,0 +1,300 @@
+package br.com.hyteck.school_control.services;
+
+import br.com.hyteck.school_control.exceptions.BusinessException;
+import br.com.hyteck.school_control.models.expenses.Expense;
+import br.com.hyteck.school_control.models.financials.*;
+import br.com.hyteck.school_control.models.payments.Invoice;
+import br.com.hyteck.school_control.models.payments.Payment;
+import br.com.hyteck.school_control.models.payments.Responsible;
+import br.com.hyteck.school_control.repositories.AccountBalanceSlotRepository;
+import br.com.hyteck.school_control.repositories.AccountRepository;
+import br.com.hyteck.school_control.repositories.JournalEntryRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Grava lançamentos balanceados (partidas dobradas) no diário contábil.
+ * <ul>
+ *     <li>Emissão de fatura: débito em contas a receber do responsável, crédito em receita de mensalidades.</li>
+ *     <li>Pagamento: débito em caixa, crédito em contas a receber do responsável pelo valor emitido
+ *     e em receita de multas pela multa por atraso.</li>
+ *     <li>Despesa: débito em despesas operacionais, crédito em caixa.</li>
+ * </ul>
+ * Sempre participa da transação de quem chama, para que o fato e o lançamento sejam gravados juntos.
+ * <p>
+ * O saldo corrente das contas é atualizado em fatias ({@link AccountBalanceSlot}) escolhidas por hash,
+ * para que pagamentos concorrentes não formem fila no lock da mesma linha de {@code accounts}.
+ */
+@Service
+@Log4j2
+public class LedgerPostingService {
+
+    private final AccountRepository accountRepository;
+    private final JournalEntryRepository journalEntryRepository;
+    private final AccountBalanceSlotRepository balanceSlotRepository;
+    private final int balanceSlots;
+
+    public LedgerPostingService(AccountRepository accountRepository, JournalEntryRepository journalEntryRepository,
+                                AccountBalanceSlotRepository balanceSlotRepository,
+                                @Value("${ledger.balance.slots:16}") int balanceSlots) {
+        this.accountRepository = accountRepository;
+        this.journalEntryRepository = journalEntryRepository;
+        this.balanceSlotRepository = balanceSlotRepository;
+        this.balanceSlots = balanceSlots;
+    }
+
+    /**
+     * Lança a emissão das faturas, em lote.
+     */
+    @Transactional
+    public void postInvoicesIssued(Collection<Invoice> invoices) {
+        List<Invoice> billable = invoices.stream()
+                .filter(invoice -> invoice.getAmount() != null && invoice.getAmount().signum() > 0)
+                .toList();
+        if (billable.isEmpty()) {
+            return;
+        }
+        Account revenue = systemAccount(ChartOfAccounts.TUITION_REVENUE);
+        Map<String, Account> receivables = receivableAccounts(billable.stream().map(Invoice::getResponsible).toList());
+
+        LocalDateTime now = LocalDateTime.now();
+        List<JournalEntry> entries = billable.stream()
+                .map(invoice -> buildEntry(JournalSource.INVOICE, invoice.getId(), invoice.getDescription(),
+                        invoice.getIssueDate() != null ? invoice.getIssueDate().atStartOfDay() : now, now,
+                        List.of(Posting.debit(receivables.get(invoice.getResponsible().getId()), invoice.getAmount()),
+                                Posting.credit(revenue, invoice.getAmount()))))
+                .toList();
+        journalEntryRepository.saveAll(entries);
+        applyToBalances(entries);
+        log.info("{} lançamentos de emissão de fatura gravados no diário.", entries.size());
+    }
+
+    /**
+     * Lança o recebimento dos pagamentos, em lote.
+     * A emissão lançou só o valor da fatura; a multa por atraso cobrada no pagamento é creditada
+     * em receita de multas e o restante baixa as contas a receber.
+     */
+    @Transactional
+    public void postPaymentsReceived(Collection<Payment> payments) {
+        if (payments.isEmpty()) {
+            return;
+        }
+        Account cash = systemAccount(ChartOfAccounts.CASH);
+        Account lateFees = systemAccount(ChartOfAccounts.LATE_FEE_REVENUE);
+        Map<String, Account> receivables = receivableAccounts(
+                payments.stream().map(payment -> payment.getInvoice().getResponsible()).toList());
+
+        LocalDateTime now = LocalDateTime.now();
+        List<JournalEntry> entries = payments.stream()
+                .map(payment -> {
+                    Invoice invoice = payment.getInvoice();
+                    BigDecimal paid = payment.getAmountPaid();
+                    BigDecimal penalty = invoice.latePenaltyFor(payment.getPaymentDate()).min(paid);
+                    BigDecimal principal = paid.subtract(penalty);
+
+                    List<Posting> postings = new ArrayList<>(3);
+                    postings.add(Posting.debit(cash, paid));
+                    if (principal.signum() > 0) {
+                        postings.add(Posting.credit(receivables.get(invoice.getResponsible().getId()), principal));
+                    }
+                    if (penalty.signum() > 0) {
+                        postings.add(Posting.credit(lateFees, penalty));
+                    }
+                    return buildEntry(JournalSource.PAYMENT, payment.getId(),
+                            "Pagamento da fatura " + invoice.getId(), payment.getPaymentDate(), now, postings);
+                })
+                .toList();
+        journalEntryRepository.saveAll(entries);
+        applyToBalances(entries);
+    }
+
+    /**
+     * Lança uma despesa (ou a diferença de valor de uma despesa alterada).
+     *
+     * @param expense A despesa.
+     * @param amount  Valor a lançar; negativo estorna parte de um lançamento anterior.
+     */
+    @Transactional
+    public void postExpense(Expense expense, BigDecimal amount) {
+        if (amount.signum() == 0) {
+            return;
+        }
+        Account expenses = systemAccount(ChartOfAccounts.OPERATING_EXPENSES);
+        Account cash = systemAccount(ChartOfAccounts.CASH);
+        BigDecimal value = amount.abs();
+        List<Posting> postings = amount.signum() > 0
+                ? List.of(Posting.debit(expenses, value), Posting.credit(cash, value))
+                : List.of(Posting.debit(cash, value), Posting.credit(expenses, value));
+
+        JournalEntry entry = buildEntry(JournalSource.EXPENSE, expense.getId(), expense.getDescription(),
+                expense.getDate().atStartOfDay(), LocalDateTime.now(), postings);
+        journalEntryRepository.save(entry);
+        applyToBalances(List.of(entry));
+    }
+
+    /**
+     * Lança despesas novas em lote (importação), com um único UPDATE por conta afetada.
+     */
+    @Transactional
+    public void postExpenses(Collection<Expense> expenses) {
+        if (expenses.isEmpty()) {
+            return;
+        }
+        Account expenseAccount = systemAccount(ChartOfAccounts.OPERATING_EXPENSES);
+        Account cash = systemAccount(ChartOfAccounts.CASH);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<JournalEntry> entries = expenses.stream()
+                .map(expense -> buildEntry(JournalSource.EXPENSE, expense.getId(), expense.getDescription(),
+                        expense.getDate().atStartOfDay(), now,
+                        List.of(Posting.debit(expenseAccount, expense.getValue()),
+                                Posting.credit(cash, expense.getValue()))))
+                .toList();
+        journalEntryRepository.saveAll(entries);
+        applyToBalances(entries);
+    }
+
+    /**
+     * Monta um lançamento validando que débitos e créditos se anulam.
+     *
+     * @throws BusinessException se o lançamento estiver desbalanceado ou tiver valores não positivos.
+     */
+    JournalEntry buildEntry(JournalSource source, String sourceId, String description,
+                            LocalDateTime occurredAt, LocalDateTime postedAt, List<Posting> postings) {
+        if (postings.size() < 2) {
+            throw new BusinessException("Um lançamento precisa de ao menos duas partidas.");
+        }
+        BigDecimal debits = BigDecimal.ZERO;
+        BigDecimal credits = BigDecimal.ZERO;
+        for (Posting posting : postings) {
+            if (posting.amount() == null || posting.amount().signum() <= 0) {
+                throw new BusinessException("Partidas devem ter valor positivo.");
+            }
+            if (posting.side() == EntrySide.DEBIT) {
+                debits = debits.add(posting.amount());
+            } else {
+                credits = credits.add(posting.amount());
+            }
+        }
+        if (debits.compareTo(credits) != 0) {
+            throw new BusinessException("Lançamento desbalanceado: débitos " + debits + ", créditos " + credits + ".");
+        }
+
+        JournalEntry entry = JournalEntry.builder()
+                .sourceType(source)
+                .sourceId(sourceId)
+                .description(description != null ? description : source.name())
+                .occurredAt(occurredAt)
+                .postedAt(postedAt)
+                .build();
+        postings.forEach(posting -> entry.addLine(JournalLine.builder()
+                .account(posting.account())
+                .side(posting.side())
+                .amount(posting.amount())
+                .build()));
+        return entry;
+    }
+
+    /**
+     * Soma as partidas por conta e fatia e aplica cada variação com um UPDATE atômico.
+     * A fatia é escolhida, lançamento a lançamento, pelo hash da origem e da conta, de modo que um lote
+     * se espalha pelas fatias em vez de concentrar a conta inteira em uma só linha.
+     * <p>
+     * As variações são aplicadas sempre na ordem (conta, fatia): o upsert trava a linha da fatia até o commit,
+     * e dois lotes concorrentes que travassem as mesmas fatias em ordens diferentes entrariam em deadlock.
+     */
+    private void applyToBalances(List<JournalEntry> entries) {
+        Map<SlotKey, BigDecimal> deltas = new TreeMap<>();
+        for (JournalEntry entry : entries) {
+            String stripeKey = Objects.toString(entry.getSourceId(), "");
+            for (JournalLine line : entry.getLines()) {
+                BigDecimal signed = line.getSide() == EntrySide.DEBIT ? line.getAmount() : line.getAmount().negate();
+                BigDecimal natural = line.getAccount().getType().isDebitNormal() ? signed : signed.negate();
+                String accountId = line.getAccount().getId();
+                SlotKey slot = new SlotKey(accountId, Math.floorMod((stripeKey + accountId).hashCode(), balanceSlots));
+                deltas.merge(slot, natural, BigDecimal::add);
+            }
+        }
+        deltas.forEach((slot, delta) -> {
+            if (delta.signum() != 0) {
+                balanceSlotRepository.addToSlot(slot.accountId(), slot.slot(), delta);
+            }
+        });
+    }
+
+    private record SlotKey(String accountId, int slot) implements Comparable<SlotKey> {
+
+        private static final Comparator<SlotKey> LOCK_ORDER =
+                Comparator.comparing(SlotKey::accountId).thenComparingInt(SlotKey::slot);
+
+        @Override
+        public int compareTo(SlotKey other) {
+            return LOCK_ORDER.compare(this, other);
+        }
+    }
+
+    /**
+     * Busca a conta do plano de contas, abrindo-a com um upsert na primeira vez.
+     * Duas transações abrindo a mesma conta ao mesmo tempo não violam o código único.
+     */
+    private Account systemAccount(ChartOfAccounts chartAccount) {
+        return accountRepository.findByCode(chartAccount.code())
+                .orElseGet(() -> {
+                    accountRepository.insertIfAbsent(chartAccount.code(), chartAccount.displayName(),
+                            chartAccount.type().name(), null);
+                    return accountRepository.findByCode(chartAccount.code())
+                            .orElseThrow(() -> new IllegalStateException("Conta " + chartAccount.code() + " não encontrada após abertura."));
+                });
+    }
+
+    /**
+     * Busca (ou abre, com upsert) as contas a receber dos responsáveis. As contas existentes vêm em uma consulta;
+     * as que faltam são abertas e relidas em uma segunda.
+     *
+     * @return Contas indexadas pelo ID do responsável.
+     */
+    private Map<String, Account> receivableAccounts(Collection<Responsible> responsibles) {
+        Map<String, Responsible> byCode = responsibles.stream()
+                .collect(Collectors.toMap(r -> ChartOfAccounts.RECEIVABLES.codeFor(r.getId()), Function.identity(), (a, b) -> a));
+
+        Map<String, Account> accounts = new HashMap<>();
+        accountRepository.findByCodeIn(byCode.keySet())
+                .forEach(account -> accounts.put(account.getCode(), account));
+
+        List<String> missing = byCode.keySet().stream()
+                .filter(code -> !accounts.containsKey(code))
+                .toList();
+        if (!missing.isEmpty()) {
+            missing.forEach(code -> accountRepository.insertIfAbsent(code,
+                    ChartOfAccounts.RECEIVABLES.displayName() + " - " + byCode.get(code).getName(),
+                    ChartOfAccounts.RECEIVABLES.type().name(), byCode.get(code).getId()));
+            accountRepository.findByCodeIn(missing)
+                    .forEach(account -> accounts.put(account.getCode(), account));
+        }
+
+        Map<String, Account> byResponsible = new HashMap<>();
+        byCode.forEach((code, responsible) -> byResponsible.put(responsible.getId(), accounts.get(code)));
+        return byResponsible;
+    }
+
+    /**
+     * Uma partida de um lançamento.
+     */
+    public record Posting(Account account, EntrySide side, BigDecimal amount) {
+        public static Posting debit(Account account, BigDecimal amount) {
+            return new Posting(account, EntrySide.DEBIT, amount);
+        }
+
+        public static Posting credit(Account account, BigDecimal amount) {
+            return new Posting(account, EntrySide.CREDIT, amount);
+        }
+    }
+}
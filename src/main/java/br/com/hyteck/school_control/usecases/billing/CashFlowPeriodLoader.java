@@ -0,0 +1,89 @@
+package br.com.hyteck.school_control.usecases.billing;
+
+import br.com.hyteck.school_control.models.payments.PaymentMethod;
+import br.com.hyteck.school_control.repositories.ExpenseRepository;
+import br.com.hyteck.school_control.repositories.PaymentRepository;
+import br.com.hyteck.school_control.web.dtos.billing.CashFlowGranularity;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+
+/**
+ * Carrega os totais de entradas e saídas por período direto do banco (SQL agrupado).
+ * <p>
+ * Os períodos são agrupados em blocos mensais: um bloco contém os períodos que começam no mês.
+ * Blocos totalmente encerrados são cacheados, pois pagamentos são sempre registrados com a data atual;
+ * o cache é invalidado quando uma despesa é criada ou alterada.
+ */
+@Component
+@Log4j2
+public class CashFlowPeriodLoader {
+
+    public static final String CLOSED_MONTHS_CACHE = "cashFlowClosedMonths";
+
+    private final PaymentRepository paymentRepository;
+    private final ExpenseRepository expenseRepository;
+
+    public CashFlowPeriodLoader(PaymentRepository paymentRepository, ExpenseRepository expenseRepository) {
+        this.paymentRepository = paymentRepository;
+        this.expenseRepository = expenseRepository;
+    }
+
+    /**
+     * Totais dos períodos que começam no mês informado. Só deve ser chamado para meses cujos períodos já terminaram.
+     */
+    @Cacheable(cacheNames = CLOSED_MONTHS_CACHE, key = "#month.toString() + ':' + #granularity.name()")
+    @Transactional(readOnly = true)
+    public List<PeriodTotals> loadClosedMonth(YearMonth month, CashFlowGranularity granularity) {
+        log.debug("Carregando fluxo de caixa do mês encerrado {} ({})", month, granularity);
+        return load(monthStart(month, granularity), monthStart(month.plusMonths(1), granularity), granularity);
+    }
+
+    /**
+     * Totais dos períodos entre {@code from} (inclusivo) e {@code to} (exclusivo), sem cache.
+     * Ambas as datas devem ser inícios de período.
+     */
+    @Transactional(readOnly = true)
+    public List<PeriodTotals> load(LocalDate from, LocalDate to, CashFlowGranularity granularity) {
+        Map<LocalDate, Map<PaymentMethod, BigDecimal>> inflows = new HashMap<>();
+        paymentRepository.sumCompletedByPeriodAndMethod(granularity.sqlUnit(), from.atStartOfDay(), to.atStartOfDay())
+                .forEach(row -> inflows
+                        .computeIfAbsent(row.getPeriod(), period -> new EnumMap<>(PaymentMethod.class))
+                        .merge(PaymentMethod.valueOf(row.getMethod()), row.getTotal(), BigDecimal::add));
+
+        Map<LocalDate, BigDecimal> outflows = new HashMap<>();
+        expenseRepository.sumByPeriod(granularity.sqlUnit(), from, to)
+                .forEach(row -> outflows.put(row.getPeriod(), row.getTotal()));
+
+        Set<LocalDate> periods = new TreeSet<>(inflows.keySet());
+        periods.addAll(outflows.keySet());
+        return periods.stream()
+                .map(period -> new PeriodTotals(
+                        period,
+                        Collections.unmodifiableMap(inflows.getOrDefault(period, new EnumMap<>(PaymentMethod.class))),
+                        outflows.getOrDefault(period, BigDecimal.ZERO)))
+                .toList();
+    }
+
+    /**
+     * Início do primeiro período que começa no mês informado.
+     */
+    static LocalDate monthStart(YearMonth month, CashFlowGranularity granularity) {
+        return granularity.nextPeriodStart(month.atDay(1));
+    }
+
+    /**
+     * Totais de um período com movimento.
+     *
+     * @param periodStart    Primeiro dia do período.
+     * @param inflowByMethod Entradas por forma de pagamento.
+     * @param outflow        Total de despesas.
+     */
+    public record PeriodTotals(LocalDate periodStart, Map<PaymentMethod, BigDecimal> inflowByMethod, BigDecimal outflow) { }
+}
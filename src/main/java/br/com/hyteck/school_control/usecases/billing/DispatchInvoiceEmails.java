@@ -0,0 +1,257 @@
+package br.com.hyteck.school_control.usecases.billing;
+
+import br.com.hyteck.school_control.models.email.InvoiceEmailDispatch;
+import br.com.hyteck.school_control.models.email.InvoiceEmailDispatchStatus;
+import br.com.hyteck.school_control.models.email.OutboundEmailStatus;
+import br.com.hyteck.school_control.repositories.InvoiceEmailDispatchRepository;
+import br.com.hyteck.school_control.repositories.InvoiceRepository;
+import br.com.hyteck.school_control.usecases.notification.EmailOutbox;
+import br.com.hyteck.school_control.usecases.notification.EmailTemplate;
+import br.com.hyteck.school_control.usecases.notification.EmailTemplateEngine;
+import br.com.hyteck.school_control.web.dtos.billing.InvoiceEmailReport;
+import br.com.hyteck.school_control.web.dtos.billing.InvoiceEmailSummary;
+import br.com.hyteck.school_control.web.dtos.billing.InvoiceStudentName;
+import br.com.hyteck.school_control.web.dtos.notification.OutboundEmailStatusCount;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.text.NumberFormat;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Envia aos responsáveis o e-mail de cada fatura gerada no faturamento mensal.
+ * <p>
+ * O faturamento grava só um {@link InvoiceEmailDispatch} pendente e aponta as faturas para ele; o envio
+ * roda depois do commit, fora da transação do faturamento. As faturas são lidas em blocos por projeção e
+ * cada e-mail é renderizado e colocado na caixa de saída em uma thread virtual, em transação própria
+ * (ver {@link InvoiceEmailWriter}). No máximo {@code concurrency} e-mails ficam em andamento ao mesmo tempo
+ * (cada um usa uma conexão do banco); quando todas as vagas estão ocupadas, a leitura das faturas espera,
+ * em vez de acumular tarefas.
+ * <p>
+ * Envios que ficaram pendentes (ex.: o processo caiu) são retomados pela varredura, que também fecha os
+ * envios cujos e-mails já saíram, com as contagens de enviados, falhas e adiamentos do {@code EmailOutboxDispatcher}.
+ */
+@Service
+@Log4j2
+public class DispatchInvoiceEmails {
+
+    static final Duration RESUME_AFTER = Duration.ofMinutes(5);
+    private static final Locale BRAZIL_LOCALE = Locale.of("pt", "BR");
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy", BRAZIL_LOCALE);
+    private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("MMMM/yyyy", BRAZIL_LOCALE);
+
+    private final InvoiceRepository invoiceRepository;
+    private final InvoiceEmailDispatchRepository dispatchRepository;
+    private final InvoiceEmailWriter writer;
+    private final EmailTemplateEngine templateEngine;
+    private final EmailOutbox outbox;
+    private final String appBaseUrl;
+    private final int batchSize;
+    private final Semaphore permits;
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    public DispatchInvoiceEmails(InvoiceRepository invoiceRepository, InvoiceEmailDispatchRepository dispatchRepository,
+                                 InvoiceEmailWriter writer, EmailTemplateEngine templateEngine, EmailOutbox outbox,
+                                 @Value("${app.base-url:http://localhost:8080}") String appBaseUrl,
+                                 @Value("${billing.invoice-emails.batch-size:200}") int batchSize,
+                                 @Value("${billing.invoice-emails.concurrency:4}") int concurrency) {
+        this.invoiceRepository = invoiceRepository;
+        this.dispatchRepository = dispatchRepository;
+        this.writer = writer;
+        this.templateEngine = templateEngine;
+        this.outbox = outbox;
+        this.appBaseUrl = appBaseUrl;
+        this.batchSize = batchSize;
+        this.permits = new Semaphore(concurrency);
+    }
+
+    /**
+     * Agenda o envio e retorna imediatamente; o resultado vai para o log.
+     *
+     * @return {@code false} se o envio já estiver em andamento.
+     */
+    public boolean submit(String dispatchId) {
+        if (!inFlight.add(dispatchId)) {
+            return false;
+        }
+        try {
+            senders.execute(() -> {
+                try {
+                    execute(dispatchId);
+                } catch (RuntimeException e) {
+                    log.error("Falha ao enviar os e-mails do envio {}; será retomado pela varredura: {}",
+                            dispatchId, e.getMessage(), e);
+                } finally {
+                    inFlight.remove(dispatchId);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(dispatchId);
+            return false;
+        }
+    }
+
+    /**
+     * Coloca na caixa de saída os e-mails ainda pendentes do envio e espera todos terminarem.
+     *
+     * @param dispatchId ID do {@link InvoiceEmailDispatch}.
+     * @return Contagens do envio, com a situação atual dos e-mails na caixa de saída.
+     */
+    public InvoiceEmailReport execute(String dispatchId) {
+        InvoiceEmailDispatch dispatch = dispatchRepository.findById(dispatchId)
+                .orElseThrow(() -> new IllegalStateException("Envio de e-mails " + dispatchId + " não encontrado."));
+        AtomicInteger queued = new AtomicInteger();
+        AtomicInteger skipped = new AtomicInteger();
+        int waited = 0;
+        boolean interrupted = false;
+        Phaser pending = new Phaser(1);
+        NumberFormat currency = NumberFormat.getCurrencyInstance(BRAZIL_LOCALE);
+        try {
+            String afterId = "";
+            List<String> ids;
+            do {
+                ids = invoiceRepository.findEmailPendingIds(dispatchId, afterId, Limit.of(batchSize));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                afterId = ids.getLast();
+                Map<String, List<String>> students = invoiceRepository.findStudentNames(ids).stream()
+                        .collect(Collectors.groupingBy(InvoiceStudentName::invoiceId,
+                                Collectors.mapping(InvoiceStudentName::studentName, Collectors.toList())));
+                for (InvoiceEmailSummary invoice : invoiceRepository.findEmailSummaries(ids)) {
+                    if (invoice.responsibleEmail() == null || invoice.responsibleEmail().isBlank()) {
+                        skipped.incrementAndGet();
+                        continue;
+                    }
+                    // Formatado aqui: NumberFormat não é thread-safe
+                    Object[] values = {
+                            invoice.responsibleName(),
+                            joinNames(students.getOrDefault(invoice.invoiceId(), List.of())),
+                            invoice.referenceMonth().format(MONTH_FORMATTER),
+                            currency.format(invoice.amount()),
+                            invoice.dueDate().format(DATE_FORMATTER),
+                            appBaseUrl + "/invoices/" + invoice.invoiceId()
+                    };
+                    if (!permits.tryAcquire()) {
+                        waited++;
+                        permits.acquire();
+                    }
+                    pending.register();
+                    try {
+                        senders.execute(() -> {
+                            try {
+                                if (writer.enqueue(dispatchId, invoice.invoiceId(), invoice.responsibleEmail(),
+                                        templateEngine.render(EmailTemplate.NEW_INVOICE, values))) {
+                                    queued.incrementAndGet();
+                                }
+                            } catch (RuntimeException e) {
+                                skipped.incrementAndGet();
+                                log.warn("E-mail da fatura {} não enfileirado: {}", invoice.invoiceId(), e.getMessage());
+                            } finally {
+                                permits.release();
+                                pending.arriveAndDeregister();
+                            }
+                        });
+                    } catch (RejectedExecutionException e) {
+                        permits.release();
+                        pending.arriveAndDeregister();
+                        throw e;
+                    }
+                }
+            } while (ids.size() == batchSize);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            interrupted = true;
+            log.warn("Envio {} interrompido; será retomado pela varredura.", dispatchId);
+        } finally {
+            pending.arriveAndAwaitAdvance();
+        }
+
+        dispatch.setQueued(dispatch.getQueued() + queued.get());
+        dispatch.setSkipped(dispatch.getSkipped() + skipped.get());
+        if (!interrupted) {
+            dispatch.setStatus(InvoiceEmailDispatchStatus.QUEUED);
+        }
+        InvoiceEmailReport report = report(dispatch);
+        dispatchRepository.save(dispatch);
+        log.info("E-mails das faturas de {}: {} enfileirados, {} sem e-mail válido, {} aguardaram vaga; " +
+                        "até agora {} enviados, {} com falha, {} adiados pelo limite por domínio.",
+                dispatch.getReferenceMonth(), queued.get(), skipped.get(), waited,
+                report.sent(), report.failed(), report.throttled());
+        return report;
+    }
+
+    /**
+     * Retoma envios pendentes (o processo caiu antes ou durante o envio) e fecha os envios cujos
+     * e-mails já foram todos enviados ou falharam de vez.
+     */
+    @Scheduled(fixedDelayString = "${billing.invoice-emails.sweep-delay:PT10M}")
+    public void sweep() {
+        dispatchRepository.findByStatusAndUpdatedAtBefore(InvoiceEmailDispatchStatus.PENDING,
+                        LocalDateTime.now().minus(RESUME_AFTER))
+                .forEach(dispatch -> submit(dispatch.getId()));
+
+        for (InvoiceEmailDispatch dispatch : dispatchRepository.findByStatus(InvoiceEmailDispatchStatus.QUEUED)) {
+            InvoiceEmailReport report = report(dispatch);
+            if (report.sent() + report.failed() < dispatch.getQueued()) {
+                continue;
+            }
+            dispatch.setSent(report.sent());
+            dispatch.setFailed(report.failed());
+            dispatch.setThrottled(report.throttled());
+            dispatch.setStatus(InvoiceEmailDispatchStatus.COMPLETED);
+            dispatchRepository.save(dispatch);
+            log.info("E-mails das faturas de {} concluídos: {} enviados, {} com falha, {} adiados pelo limite por domínio, {} sem e-mail válido.",
+                    dispatch.getReferenceMonth(), report.sent(), report.failed(), report.throttled(), report.skipped());
+        }
+    }
+
+    /**
+     * Contagens do envio, com enviados, falhas e adiamentos lidos da caixa de saída.
+     */
+    InvoiceEmailReport report(InvoiceEmailDispatch dispatch) {
+        long sent = 0;
+        long failed = 0;
+        long throttled = 0;
+        for (OutboundEmailStatusCount count : outbox.countByDispatch(dispatch.getId())) {
+            if (count.status() == OutboundEmailStatus.SENT) {
+                sent = count.emails();
+            } else if (count.status() == OutboundEmailStatus.FAILED) {
+                failed = count.emails();
+            }
+            throttled += count.deferred();
+        }
+        return new InvoiceEmailReport(dispatch.getQueued(), dispatch.getSkipped(), sent, failed, throttled);
+    }
+
+    /**
+     * "Ana", "Ana e Bia", "Ana, Bia e Caio". Um aluno com duas matrículas aparece uma vez só.
+     */
+    static String joinNames(List<String> names) {
+        List<String> distinct = names.stream().distinct().toList();
+        if (distinct.isEmpty()) {
+            return "N/D";
+        }
+        if (distinct.size() == 1) {
+            return distinct.getFirst();
+        }
+        return String.join(", ", distinct.subList(0, distinct.size() - 1)) + " e " + distinct.getLast();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        senders.shutdown();
+    }
+}
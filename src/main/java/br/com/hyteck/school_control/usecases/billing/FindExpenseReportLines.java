@@ -0,0 +1,32 @@
+package br.com.hyteck.school_control.usecases.billing;
+
+import br.com.hyteck.school_control.exceptions.BusinessException;
+import br.com.hyteck.school_control.repositories.ExpenseRepository;
+import br.com.hyteck.school_control.web.dtos.expenses.ExpenseLine;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+/**
+ * Linhas do relatório de despesas, paginadas e projetadas direto no DTO.
+ */
+@Service
+public class FindExpenseReportLines {
+
+    private final ExpenseRepository expenseRepository;
+
+    public FindExpenseReportLines(ExpenseRepository expenseRepository) {
+        this.expenseRepository = expenseRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ExpenseLine> execute(LocalDate startDate, LocalDate endDate, Pageable pageable) {
+        if (startDate.isAfter(endDate)) {
+            throw new BusinessException("A data inicial não pode ser posterior à data final.");
+        }
+        return expenseRepository.findLinesByDateBetween(startDate, endDate, pageable);
+    }
+}
@@ -1,41 +1,63 @@
 package br.com.hyteck.school_control.usecases.billing;
 
-import br.com.hyteck.school_control.models.payments.Payment;
+import br.com.hyteck.school_control.exceptions.BusinessException;
 import br.com.hyteck.school_control.repositories.PaymentRepository;
+import br.com.hyteck.school_control.web.dtos.CursorPage;
+import br.com.hyteck.school_control.web.dtos.KeysetCursor;
 import br.com.hyteck.school_control.web.dtos.payments.PaymentResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Collections;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+
+/**
+ * Histórico de pagamentos de um responsável, paginado por keyset sobre {@code (paymentDate, id)}.
+ * As linhas são projetadas direto no DTO, sem carregar entidades Payment ou Invoice.
+ */
 @Service
 public class FindPaymentsByResponsibleId {
     private static final Logger logger = LoggerFactory.getLogger(FindPaymentsByResponsibleId.class);
 
+    static final int MAX_PAGE_SIZE = 100;
+
     private final PaymentRepository paymentRepository;
 
     public FindPaymentsByResponsibleId(PaymentRepository paymentRepository) {
         this.paymentRepository = paymentRepository;
     }
 
+    /**
+     * Busca uma página do histórico de pagamentos.
+     *
+     * @param responsibleId ID do responsável.
+     * @param from          Data inicial (inclusiva) do filtro; opcional.
+     * @param to            Data final (inclusiva) do filtro; opcional.
+     * @param cursor        Cursor retornado pela página anterior; nulo para a primeira página.
+     * @param size          Tamanho da página (limitado a {@value #MAX_PAGE_SIZE}).
+     * @return A página de pagamentos, do mais recente para o mais antigo.
+     */
     @Transactional(readOnly = true)
-    public List<PaymentResponse> execute(String responsibleId) {
+    public CursorPage<PaymentResponse> execute(String responsibleId, LocalDate from, LocalDate to, String cursor, int size) {
         logger.info("Buscando pagamentos para o responsável ID (via Invoice): {}", responsibleId);
 
-        // Usa o método simplificado do repositório
-        List<Payment> payments = paymentRepository.findByResponsibleId(responsibleId);
-
-        if (payments.isEmpty()) {
-            logger.info("Nenhum pagamento encontrado para o responsável ID: {}", responsibleId);
-            return Collections.emptyList();
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BusinessException("A data inicial não pode ser posterior à data final.");
         }
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        LocalDateTime start = (from != null ? from : LocalDate.EPOCH).atStartOfDay();
+        LocalDateTime end = (to != null ? to : LocalDate.now()).plusDays(1).atStartOfDay();
+        Limit limit = Limit.of(pageSize + 1);
+
+        KeysetCursor keyset = KeysetCursor.decode(cursor);
+        List<PaymentResponse> rows = keyset == null
+                ? paymentRepository.findHistoryByResponsible(responsibleId, start, end, limit)
+                : paymentRepository.findHistoryByResponsibleAfter(responsibleId, start, end, keyset.timestamp(), keyset.id(), limit);
 
-        // Mapear para DTOs
-        return payments.stream()
-                .map(PaymentResponse::from)
-                .collect(Collectors.toList());
+        return CursorPage.of(rows, pageSize, payment -> new KeysetCursor(payment.getPaymentDate(), payment.getId()));
     }
 }
@@ -0,0 +1,112 @@
+package br.com.hyteck.school_control.usecases.billing;
+
+import br.com.hyteck.school_control.exceptions.BusinessException;
+import br.com.hyteck.school_control.models.payments.PaymentMethod;
+import br.com.hyteck.school_control.web.dtos.billing.CashFlowEntry;
+import br.com.hyteck.school_control.web.dtos.billing.CashFlowGranularity;
+import br.com.hyteck.school_control.web.dtos.billing.CashFlowReport;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Use case que monta o relatório de fluxo de caixa (entradas, saídas e posição líquida)
+ * por dia ou por semana. Os totais vêm agrupados do banco via {@link CashFlowPeriodLoader};
+ * aqui apenas se preenchem os períodos sem movimento e se calcula o acumulado.
+ */
+@Service
+@Log4j2
+public class GenerateCashFlowReportUseCase {
+
+    static final long MAX_RANGE_DAYS = 366L * 3;
+
+    private final CashFlowPeriodLoader periodLoader;
+
+    public GenerateCashFlowReportUseCase(CashFlowPeriodLoader periodLoader) {
+        this.periodLoader = periodLoader;
+    }
+
+    /**
+     * Gera o relatório para o intervalo informado, expandido para períodos completos.
+     *
+     * @param startDate   Data inicial (inclusiva).
+     * @param endDate     Data final (inclusiva).
+     * @param granularity Granularidade dos períodos.
+     * @return O relatório de fluxo de caixa.
+     * @throws BusinessException se o intervalo for inválido ou longo demais.
+     */
+    public CashFlowReport execute(LocalDate startDate, LocalDate endDate, CashFlowGranularity granularity) {
+        if (startDate.isAfter(endDate)) {
+            throw new BusinessException("A data inicial não pode ser posterior à data final.");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) > MAX_RANGE_DAYS) {
+            throw new BusinessException("O intervalo do relatório não pode exceder " + MAX_RANGE_DAYS + " dias.");
+        }
+        log.info("Gerando fluxo de caixa de {} a {} ({})", startDate, endDate, granularity);
+
+        LocalDate first = granularity.periodStart(startDate);
+        LocalDate endExclusive = granularity.next(granularity.periodStart(endDate));
+        Map<LocalDate, CashFlowPeriodLoader.PeriodTotals> totals = loadTotals(first, endExclusive, granularity);
+
+        List<CashFlowEntry> entries = new ArrayList<>();
+        BigDecimal totalInflow = BigDecimal.ZERO;
+        BigDecimal totalOutflow = BigDecimal.ZERO;
+        for (LocalDate period = first; period.isBefore(endExclusive); period = granularity.next(period)) {
+            CashFlowPeriodLoader.PeriodTotals periodTotals = totals.get(period);
+            Map<PaymentMethod, BigDecimal> inflowByMethod = periodTotals != null ? periodTotals.inflowByMethod() : Map.of();
+            BigDecimal outflow = periodTotals != null ? periodTotals.outflow() : BigDecimal.ZERO;
+            BigDecimal inflow = inflowByMethod.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+
+            totalInflow = totalInflow.add(inflow);
+            totalOutflow = totalOutflow.add(outflow);
+            entries.add(new CashFlowEntry(period, granularity.next(period).minusDays(1), inflowByMethod,
+                    inflow, outflow, inflow.subtract(outflow), totalInflow.subtract(totalOutflow)));
+        }
+
+        return new CashFlowReport(first, endExclusive.minusDays(1), granularity, List.copyOf(entries),
+                totalInflow, totalOutflow, totalInflow.subtract(totalOutflow));
+    }
+
+    /**
+     * Carrega os totais bloco a bloco (um bloco por mês): meses encerrados saem do cache,
+     * o restante é consultado apenas no trecho pedido.
+     */
+    private Map<LocalDate, CashFlowPeriodLoader.PeriodTotals> loadTotals(LocalDate first, LocalDate endExclusive,
+                                                                        CashFlowGranularity granularity) {
+        LocalDate today = LocalDate.now();
+        LocalDate lastPeriod = endExclusive.minusDays(1);
+        Map<LocalDate, CashFlowPeriodLoader.PeriodTotals> totals = new HashMap<>();
+
+        for (YearMonth month = YearMonth.from(first); !month.isAfter(YearMonth.from(lastPeriod)); month = month.plusMonths(1)) {
+            LocalDate chunkStart = CashFlowPeriodLoader.monthStart(month, granularity);
+            LocalDate chunkEnd = CashFlowPeriodLoader.monthStart(month.plusMonths(1), granularity);
+
+            List<CashFlowPeriodLoader.PeriodTotals> chunk;
+            if (!chunkEnd.isAfter(today)) {
+                chunk = periodLoader.loadClosedMonth(month, granularity);
+            } else {
+                LocalDate from = max(chunkStart, first);
+                LocalDate to = min(chunkEnd, endExclusive);
+                if (!from.isBefore(to)) {
+                    continue; // Nenhum período do intervalo começa neste mês
+                }
+                chunk = periodLoader.load(from, to, granularity);
+            }
+            chunk.forEach(periodTotals -> totals.put(periodTotals.periodStart(), periodTotals));
+        }
+        return totals;
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
@@ -1,9 +1,10 @@
 package br.com.hyteck.school_control.usecases.billing;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
-import br.com.hyteck.school_control.models.expenses.Expense;
+import br.com.hyteck.school_control.exceptions.BusinessException;
+import br.com.hyteck.school_control.web.dtos.expenses.ExpenseCategoryTotal;
+import br.com.hyteck.school_control.web.dtos.expenses.ExpenseMonthTotal;
 import br.com.hyteck.school_control.web.dtos.expenses.ExpenseReport;
 import br.com.hyteck.school_control.repositories.ExpenseRepository;
 import org.springframework.stereotype.Service;
@@ -12,6 +13,10 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
+/**
+ * Gera o resumo de despesas do período com agregações no banco (por mês e por categoria).
+ * Nenhuma despesa é carregada em memória; as linhas ficam em {@link FindExpenseReportLines}.
+ */
 @Service
 public class GenerateExpenseReportUseCase {
 
@@ -23,20 +28,26 @@ public class GenerateExpenseReportUseCase {
 
     @Transactional(readOnly = true)
     public ExpenseReport execute(LocalDate startDate, LocalDate endDate) {
-        List<Expense> expenses = expenseRepository.findByDateBetween(startDate, endDate);
-
-        BigDecimal totalExpenses = expenses.stream()
-                .map(Expense::getValue)
+        if (startDate.isAfter(endDate)) {
+            throw new BusinessException("A data inicial não pode ser posterior à data final.");
+        }
+        List<ExpenseMonthTotal> byMonth = expenseRepository.sumByMonth(startDate, endDate);
+        List<ExpenseCategoryTotal> byCategory = expenseRepository.sumByCategory(startDate, endDate);
+
+        // Os totais gerais saem das poucas linhas mensais já agregadas
+        BigDecimal totalExpenses = byMonth.stream()
+                .map(ExpenseMonthTotal::total)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        String details = expenses.stream()
-                .map(expense -> expense.getDescription() + ": " + expense.getValue())
-                .collect(Collectors.joining("\n"));
+        long expenseCount = byMonth.stream().mapToLong(ExpenseMonthTotal::count).sum();
 
         return ExpenseReport.builder()
                 .reportDate(LocalDate.now())
+                .startDate(startDate)
+                .endDate(endDate)
                 .totalExpenses(totalExpenses)
-                .details(details)
+                .expenseCount(expenseCount)
+                .byMonth(byMonth)
+                .byCategory(byCategory)
                 .build();
     }
 }
@@ -1,12 +1,17 @@
 package br.com.hyteck.school_control.usecases.billing;
 
+import br.com.hyteck.school_control.events.InvoicesGeneratedEvent;
 import br.com.hyteck.school_control.models.classrooms.Enrollment;
+import br.com.hyteck.school_control.models.email.InvoiceEmailDispatch;
 import br.com.hyteck.school_control.models.payments.*;
 import br.com.hyteck.school_control.repositories.DiscountRepository;
 import br.com.hyteck.school_control.repositories.EnrollmentRepository;
+import br.com.hyteck.school_control.repositories.InvoiceEmailDispatchRepository;
 import br.com.hyteck.school_control.repositories.InvoiceRepository;
-import br.com.hyteck.school_control.usecases.notification.CreateNotification;
+import br.com.hyteck.school_control.services.LedgerPostingService;
+import br.com.hyteck.school_control.web.dtos.notification.NotificationCommand;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,7 +31,9 @@ public class GenerateInvoicesForParents {
 
     private final EnrollmentRepository enrollmentRepository;
     private final InvoiceRepository invoiceRepository;
-    private final CreateNotification createNotification; // <<< INJETAR
+    private final LedgerPostingService ledgerPostingService;
+    private final InvoiceEmailDispatchRepository dispatchRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final Locale BRAZIL_LOCALE = Locale.of("pt", "BR");
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy", BRAZIL_LOCALE);
@@ -34,12 +41,17 @@ public class GenerateInvoicesForParents {
 
 
     public GenerateInvoicesForParents(EnrollmentRepository enrollmentRepository,
-                                      InvoiceRepository invoiceRepository, CreateNotification createNotification,
-                                      DiscountRepository discountRepository) { // <<< ADICIONAR AO CONSTRUTOR
+                                      InvoiceRepository invoiceRepository,
+                                      DiscountRepository discountRepository, // <<< ADICIONAR AO CONSTRUTOR
+                                      LedgerPostingService ledgerPostingService,
+                                      InvoiceEmailDispatchRepository dispatchRepository,
+                                      ApplicationEventPublisher eventPublisher) {
         this.enrollmentRepository = enrollmentRepository;
         this.invoiceRepository = invoiceRepository;
-        this.createNotification = createNotification;
         this.discountRepository = discountRepository;
+        this.ledgerPostingService = ledgerPostingService;
+        this.dispatchRepository = dispatchRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -113,12 +125,20 @@ public class GenerateInvoicesForParents {
         }
 
 
+        // E-mails: só o marcador do envio é gravado aqui; o envio roda depois do commit (ver DispatchInvoiceEmails)
+        String emailDispatchId = null;
+        if (!invoicesByResponsibles.isEmpty()) {
+            emailDispatchId = dispatchRepository.save(InvoiceEmailDispatch.builder().referenceMonth(targetMonth).build()).getId();
+            for (Invoice invoice : invoicesByResponsibles.values()) {
+                invoice.setEmailDispatchId(emailDispatchId);
+            }
+        }
         List<Invoice> savedInvoices = invoiceRepository.saveAll(invoicesByResponsibles.values());
+        ledgerPostingService.postInvoicesIssued(savedInvoices);
 
-        // --- DISPARAR NOTIFICAÇÃO ---
+        // --- DISPARAR NOTIFICAÇÕES (em lote) ---
+        List<NotificationCommand> notifications = new ArrayList<>(invoicesByResponsibles.size());
         invoicesByResponsibles.forEach((key, value) -> {
-
-
             String studentName = value.getItems().getFirst().getEnrollment().getStudent() != null ? value.getItems().getFirst().getEnrollment().getStudent().getName() : "N/D";
             String formattedAmount = CURRENCY_FORMATTER.format(value.getAmount());
             String formattedDueDate = value.getDueDate().format(DATE_FORMATTER);
@@ -132,21 +152,11 @@ public class GenerateInvoicesForParents {
             // O link deve apontar para a visualização da fatura no frontend
             // Exemplo: /invoices/{invoiceId} ou /billing/my-invoices/{invoiceId}
             String notificationLink = "/invoices/" + value.getId(); // Ajuste conforme suas rotas de frontend
-            String notificationType = "NEW_MONTHLY_INVOICE";
-
-            try {
-                createNotification.execute(
-                        key, // ID do usuário do responsável
-                        notificationMessage,
-                        notificationLink,
-                        notificationType
-                );
-                log.info("Notificação sobre nova fatura enviada para o usuário do responsável ID: {}", key);
-            } catch (Exception e) {
-                log.error("Falha ao enviar notificação para o usuário do responsável ID {}: {}", key, e.getMessage(), e);
-                // Decidir se a falha na notificação deve impedir a transação (geralmente não)
-            }
+            notifications.add(new NotificationCommand(key, notificationMessage, notificationLink, "NEW_MONTHLY_INVOICE"));
         });
+
+        // Notificações e e-mails depois do commit, fora desta transação (ver InvoicesGeneratedListener)
+        eventPublisher.publishEvent(new InvoicesGeneratedEvent(this, targetMonth, notifications, emailDispatchId));
         log.info("Geração de faturas mensais para {} concluída.", targetMonth);
     }
 }
\ No newline at end of file
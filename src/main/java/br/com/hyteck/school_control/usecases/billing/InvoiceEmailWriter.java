@@ -0,0 +1,38 @@
+package br.com.hyteck.school_control.usecases.billing;
+
+import br.com.hyteck.school_control.repositories.InvoiceRepository;
+import br.com.hyteck.school_control.usecases.notification.EmailOutbox;
+import br.com.hyteck.school_control.usecases.notification.RenderedEmail;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Coloca o e-mail de uma fatura na caixa de saída e marca a fatura, em uma transação própria.
+ * A marca e o e-mail são gravados juntos, então um envio retomado não repete o e-mail.
+ */
+@Component
+public class InvoiceEmailWriter {
+
+    private final InvoiceRepository invoiceRepository;
+    private final EmailOutbox outbox;
+
+    public InvoiceEmailWriter(InvoiceRepository invoiceRepository, EmailOutbox outbox) {
+        this.invoiceRepository = invoiceRepository;
+        this.outbox = outbox;
+    }
+
+    /**
+     * @return {@code false} se o e-mail da fatura já estava na fila.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean enqueue(String dispatchId, String invoiceId, String toEmail, RenderedEmail content) {
+        if (invoiceRepository.markEmailQueued(invoiceId, LocalDateTime.now()) == 0) {
+            return false;
+        }
+        outbox.enqueue(toEmail, content, dispatchId);
+        return true;
+    }
+}
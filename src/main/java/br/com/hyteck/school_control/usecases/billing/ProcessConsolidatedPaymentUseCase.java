@@ -0,0 +1,109 @@
+package br.com.hyteck.school_control.usecases.billing;
+
+import br.com.hyteck.school_control.exceptions.BusinessException;
+import br.com.hyteck.school_control.exceptions.ResourceNotFoundException;
+import br.com.hyteck.school_control.models.payments.*;
+import br.com.hyteck.school_control.repositories.InvoiceRepository;
+import br.com.hyteck.school_control.repositories.PaymentRepository;
+import br.com.hyteck.school_control.services.LedgerPostingService;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+
+/**
+ * Use case para quitar, em uma única transação, todas as faturas em aberto de um responsável
+ * em um mês de referência (pagamento do extrato consolidado).
+ * <p>
+ * As faturas são carregadas em uma única consulta, os pagamentos são inseridos em lote
+ * e o status das faturas é atualizado com um UPDATE por valor de multa (no máximo dois).
+ */
+@Service
+@Log4j2
+public class ProcessConsolidatedPaymentUseCase {
+
+    private static final List<InvoiceStatus> PAYABLE_STATUSES = List.of(InvoiceStatus.PENDING, InvoiceStatus.OVERDUE);
+
+    private final InvoiceRepository invoiceRepository;
+    private final PaymentRepository paymentRepository;
+    private final LedgerPostingService ledgerPostingService;
+
+    public ProcessConsolidatedPaymentUseCase(InvoiceRepository invoiceRepository, PaymentRepository paymentRepository,
+                                             LedgerPostingService ledgerPostingService) {
+        this.invoiceRepository = invoiceRepository;
+        this.paymentRepository = paymentRepository;
+        this.ledgerPostingService = ledgerPostingService;
+    }
+
+    /**
+     * Quita todas as faturas pendentes ou vencidas do responsável no mês informado.
+     *
+     * @param responsibleId  ID do responsável.
+     * @param referenceMonth Mês de referência do extrato.
+     * @param amount         Valor pago; deve ser igual ao total do extrato.
+     * @param paymentMethod  Forma de pagamento.
+     * @return Os pagamentos criados, um por fatura.
+     * @throws ResourceNotFoundException se não houver faturas em aberto para o período.
+     * @throws BusinessException         se o valor pago divergir do total do extrato.
+     */
+    @Transactional
+    public List<Payment> execute(String responsibleId, YearMonth referenceMonth, BigDecimal amount, PaymentMethod paymentMethod) {
+        log.info("Processando pagamento consolidado do responsável {} para o mês {}", responsibleId, referenceMonth);
+
+        List<Invoice> invoices = invoiceRepository.findPayableInvoicesByResponsibleAndMonth(
+                responsibleId, referenceMonth, PAYABLE_STATUSES);
+        if (invoices.isEmpty()) {
+            throw new ResourceNotFoundException("Nenhuma fatura em aberto para o responsável " + responsibleId
+                    + " no mês " + referenceMonth);
+        }
+
+        // Faturas vencidas pagam a multa por atraso, como no pagamento individual
+        LocalDateTime paymentDate = LocalDate.now().atStartOfDay();
+        Map<String, BigDecimal> dueByInvoice = new LinkedHashMap<>();
+        Map<BigDecimal, List<String>> idsByPenalty = new HashMap<>();
+        for (Invoice invoice : invoices) {
+            BigDecimal penalty = invoice.latePenaltyFor(paymentDate);
+            dueByInvoice.put(invoice.getId(), invoice.getAmount().add(penalty));
+            idsByPenalty.computeIfAbsent(penalty, p -> new ArrayList<>()).add(invoice.getId());
+        }
+        BigDecimal totalDue = dueByInvoice.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+        if (amount.compareTo(totalDue) != 0) {
+            throw new BusinessException("Valor pago (" + amount + ") diverge do total do extrato (" + totalDue + ").");
+        }
+
+        // O UPDATE vem antes dos pagamentos: ele bloqueia as faturas e, se outra transação já as quitou,
+        // a contagem acusa a diferença antes de esbarrar na unicidade de payment.invoice_id
+        LocalDateTime now = LocalDateTime.now();
+        int updated = 0;
+        for (Map.Entry<BigDecimal, List<String>> group : idsByPenalty.entrySet()) {
+            updated += invoiceRepository.settleByIds(group.getValue(), InvoiceStatus.PAID, group.getKey(), PAYABLE_STATUSES, now);
+        }
+        if (updated != invoices.size()) {
+            throw new BusinessException("Algumas faturas do extrato de " + referenceMonth
+                    + " já foram pagas por outra operação. Atualize o extrato e tente novamente.");
+        }
+
+        List<Payment> payments = invoices.stream()
+                .map(invoice -> Payment.builder()
+                        .amountPaid(dueByInvoice.get(invoice.getId()))
+                        .paymentDate(paymentDate)
+                        .paymentMethod(paymentMethod)
+                        .invoice(invoice)
+                        .status(PaymentStatus.COMPLETED)
+                        .description("Pagamento consolidado " + referenceMonth)
+                        .build())
+                .toList();
+
+        List<Payment> savedPayments = paymentRepository.saveAll(payments);
+        ledgerPostingService.postPaymentsReceived(savedPayments);
+
+        log.info("Pagamento consolidado do responsável {} concluído: {} faturas quitadas, total {}",
+                responsibleId, updated, totalDue);
+        return savedPayments;
+    }
+}
@@ -4,21 +4,26 @@ import br.com.hyteck.school_control.exceptions.ResourceNotFoundException;
 import br.com.hyteck.school_control.models.payments.*;
 import br.com.hyteck.school_control.repositories.InvoiceRepository;
 import br.com.hyteck.school_control.repositories.PaymentRepository;
+import br.com.hyteck.school_control.services.LedgerPostingService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 
 @Service
 public class ProcessPaymentUseCase {
 
     private final InvoiceRepository invoiceRepository;
     private final PaymentRepository paymentRepository;
+    private final LedgerPostingService ledgerPostingService;
 
-    public ProcessPaymentUseCase(InvoiceRepository invoiceRepository, PaymentRepository paymentRepository) {
+    public ProcessPaymentUseCase(InvoiceRepository invoiceRepository, PaymentRepository paymentRepository,
+                                 LedgerPostingService ledgerPostingService) {
         this.invoiceRepository = invoiceRepository;
         this.paymentRepository = paymentRepository;
+        this.ledgerPostingService = ledgerPostingService;
     }
 
     @Transactional
@@ -42,6 +47,7 @@ public class ProcessPaymentUseCase {
         invoice.setStatus(InvoiceStatus.PAID);
         invoice.setPayment(p);
         invoiceRepository.save(invoice);
+        ledgerPostingService.postPaymentsReceived(List.of(p));
         return p;
     }
 }
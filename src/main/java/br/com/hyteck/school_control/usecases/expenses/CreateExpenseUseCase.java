@@ -1,27 +1,76 @@
 package br.com.hyteck.school_control.usecases.expenses;
 
+import br.com.hyteck.school_control.events.ExpenseReceiptStagedEvent;
 import br.com.hyteck.school_control.models.expenses.Expense;
 import br.com.hyteck.school_control.repositories.ExpenseRepository;
-import br.com.hyteck.school_control.usecases.storage.StorageService;
+import br.com.hyteck.school_control.services.LedgerPostingService;
+import br.com.hyteck.school_control.usecases.billing.CashFlowPeriodLoader;
 import br.com.hyteck.school_control.web.dtos.expenses.ExpenseRequest;
-import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+/**
+ * Cria uma despesa. O recibo é apenas gravado em staging local; o envio ao armazenamento remoto
+ * acontece em segundo plano após o commit (ver {@link ReceiptUploader}).
+ */
 @Service
 public class CreateExpenseUseCase {
     private final ExpenseRepository expenseRepository;
 
-    private final StorageService storageService;
+    private final ReceiptStagingArea receiptStagingArea;
+    private final LedgerPostingService ledgerPostingService;
+    private final ApplicationEventPublisher eventPublisher;
     public CreateExpenseUseCase(ExpenseRepository expenseRepository,
-                                @Qualifier("cloudinary") StorageService storageService) {
+                                ReceiptStagingArea receiptStagingArea,
+                                LedgerPostingService ledgerPostingService,
+                                ApplicationEventPublisher eventPublisher) {
         this.expenseRepository = expenseRepository;
-        this.storageService = storageService;
+        this.receiptStagingArea = receiptStagingArea;
+        this.ledgerPostingService = ledgerPostingService;
+        this.eventPublisher = eventPublisher;
     }
 
+    @CacheEvict(cacheNames = CashFlowPeriodLoader.CLOSED_MONTHS_CACHE, allEntries = true) // Despesas podem ter data retroativa
+    @Transactional
     public Expense execute(ExpenseRequest expenseRequest) {
-        String path =storageService.store(expenseRequest.receipt());
         Expense expense= ExpenseRequest.to(expenseRequest);
-        expense.setReceiptUrl(path);
-        return expenseRepository.save(expense);
+        Path staged = hasReceipt(expenseRequest) ? receiptStagingArea.stage(expenseRequest.receipt()) : null;
+        if (staged != null) {
+            stageReceipt(expense, staged);
+        }
+        Expense saved;
+        try {
+            saved = expenseRepository.save(expense);
+            ledgerPostingService.postExpense(saved, saved.getValue());
+        } catch (RuntimeException e) {
+            // Sem o evento, o descarte no rollback não aconteceria
+            if (staged != null) {
+                receiptStagingArea.discard(staged);
+            }
+            throw e;
+        }
+        if (staged != null) {
+            eventPublisher.publishEvent(new ExpenseReceiptStagedEvent(this, saved.getId(), saved.getStagedReceipt()));
+        }
+        return saved;
+    }
+
+    static boolean hasReceipt(ExpenseRequest expenseRequest) {
+        return expenseRequest.receipt() != null && !expenseRequest.receipt().isEmpty();
+    }
+
+    /**
+     * Aponta a despesa para o recibo em staging, zerando as tentativas de um recibo anterior.
+     * A varredura só o reenvia se o envio disparado após o commit não concluir a tempo.
+     */
+    static void stageReceipt(Expense expense, Path staged) {
+        expense.setStagedReceipt(staged.toString());
+        expense.setReceiptAttempts(0);
+        expense.setNextReceiptAttemptAt(LocalDateTime.now().plus(ReceiptUploader.STALE_AFTER));
     }
-}
\ No newline at end of file
+}
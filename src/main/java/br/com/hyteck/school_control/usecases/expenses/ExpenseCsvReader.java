@@ -0,0 +1,189 @@
+package br.com.hyteck.school_control.usecases.expenses;
+
+import br.com.hyteck.school_control.exceptions.BusinessException;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Leitor de CSV que entrega um registro por vez, sem carregar o arquivo em memória.
+ * <p>
+ * Aceita vírgula ou ponto e vírgula como separador (detectado pelo cabeçalho, já que planilhas
+ * em português exportam com ponto e vírgula), campos entre aspas com aspas duplicadas e quebras de linha.
+ */
+class ExpenseCsvReader implements Closeable {
+
+    static final int MAX_RECORD_LENGTH = 16 * 1024;
+
+    private final BufferedReader reader;
+    private final List<String> header;
+    private final char delimiter;
+    private long line = 2; // O cabeçalho é a linha 1
+    private boolean eof;
+
+    ExpenseCsvReader(InputStream input) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        try {
+            String headerLine = reader.readLine();
+            if (headerLine == null || headerLine.isBlank()) {
+                throw new BusinessException("Arquivo CSV vazio ou sem cabeçalho.");
+            }
+            if (headerLine.startsWith("\uFEFF")) {
+                headerLine = headerLine.substring(1);
+            }
+            this.delimiter = count(headerLine, ';') > count(headerLine, ',') ? ';' : ',';
+            this.header = parseHeader(headerLine);
+        } catch (IOException e) {
+            throw new BusinessException("Não foi possível ler o arquivo CSV: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Posição da coluna no cabeçalho, aceitando qualquer um dos nomes informados
+     * (sem diferenciar maiúsculas nem acentos).
+     *
+     * @return O índice da coluna ou -1 se ela não existir.
+     */
+    int indexOf(String... names) {
+        for (int i = 0; i < header.size(); i++) {
+            String column = normalize(header.get(i));
+            for (String name : names) {
+                if (column.equals(normalize(name))) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Lê o próximo registro, ignorando linhas em branco.
+     *
+     * @return O registro ou {@code null} no fim do arquivo.
+     * @throws BusinessException se o registro exceder {@link #MAX_RECORD_LENGTH} (ex.: aspas não fechadas).
+     */
+    Row next() throws IOException {
+        while (!eof) {
+            long start = line;
+            List<String> fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+            boolean blank = fields.size() == 1 && fields.getFirst().isBlank();
+            if (!blank) {
+                return new Row(start, fields);
+            }
+        }
+        return null;
+    }
+
+    private List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean any = false;
+        int length = 0;
+        int c;
+        while ((c = reader.read()) != -1) {
+            any = true;
+            if (++length > MAX_RECORD_LENGTH) {
+                throw new BusinessException("Linha " + line + " excede " + MAX_RECORD_LENGTH + " caracteres.");
+            }
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                line++;
+                fields.add(stripCarriageReturn(field));
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+        }
+        eof = true;
+        if (!any) {
+            return null;
+        }
+        fields.add(stripCarriageReturn(field));
+        return fields;
+    }
+
+    private List<String> parseHeader(String headerLine) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < headerLine.length(); i++) {
+            char c = headerLine.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == delimiter && !quoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String stripCarriageReturn(StringBuilder field) {
+        int end = field.length();
+        if (end > 0 && field.charAt(end - 1) == '\r') {
+            end--;
+        }
+        return field.substring(0, end);
+    }
+
+    private static long count(String value, char c) {
+        return value.chars().filter(ch -> ch == c).count();
+    }
+
+    private static String normalize(String value) {
+        return Normalizer.normalize(value.trim(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Um registro do arquivo.
+     *
+     * @param line   Linha em que o registro começa.
+     * @param fields Campos na ordem do cabeçalho.
+     */
+    record Row(long line, List<String> fields) {
+        String get(int index) {
+            return index >= 0 && index < fields.size() ? fields.get(index).trim() : "";
+        }
+    }
+}
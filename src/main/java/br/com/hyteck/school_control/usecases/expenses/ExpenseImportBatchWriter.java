@@ -0,0 +1,33 @@
+package br.com.hyteck.school_control.usecases.expenses;
+
+import br.com.hyteck.school_control.models.expenses.Expense;
+import br.com.hyteck.school_control.repositories.ExpenseRepository;
+import br.com.hyteck.school_control.services.LedgerPostingService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Grava um lote da importação de despesas em uma transação própria, junto com os lançamentos no diário.
+ * Ao fim de cada lote o contexto de persistência é descartado, então a importação não acumula entidades.
+ */
+@Component
+public class ExpenseImportBatchWriter {
+
+    private final ExpenseRepository expenseRepository;
+    private final LedgerPostingService ledgerPostingService;
+
+    public ExpenseImportBatchWriter(ExpenseRepository expenseRepository, LedgerPostingService ledgerPostingService) {
+        this.expenseRepository = expenseRepository;
+        this.ledgerPostingService = ledgerPostingService;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int write(List<Expense> expenses) {
+        List<Expense> saved = expenseRepository.saveAll(expenses);
+        ledgerPostingService.postExpenses(saved);
+        return saved.size();
+    }
+}
@@ -0,0 +1,219 @@
+package br.com.hyteck.school_control.usecases.expenses;
+
+import br.com.hyteck.school_control.exceptions.BusinessException;
+import br.com.hyteck.school_control.models.expenses.Expense;
+import br.com.hyteck.school_control.usecases.billing.CashFlowPeriodLoader;
+import br.com.hyteck.school_control.web.dtos.expenses.ExpenseImportError;
+import br.com.hyteck.school_control.web.dtos.expenses.ExpenseImportResult;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Importa despesas de um arquivo CSV.
+ * <p>
+ * O arquivo é lido em streaming e as linhas válidas são gravadas em lotes de {@code batchSize},
+ * cada um em sua própria transação (ver {@link ExpenseImportBatchWriter}). Linhas inválidas não
+ * interrompem a importação: são listadas no resultado, até {@code maxReportedErrors} ocorrências.
+ * <p>
+ * Colunas esperadas no cabeçalho (em qualquer ordem): {@code data}, {@code descricao}, {@code valor}
+ * e, opcionalmente, {@code categoria}. Os nomes em inglês também são aceitos.
+ */
+@Service
+@Log4j2
+public class ImportExpensesUseCase {
+
+    private static final DateTimeFormatter BRAZILIAN_DATE = DateTimeFormatter.ofPattern("dd/MM/uuuu")
+            .withResolverStyle(ResolverStyle.STRICT);
+    private static final int MAX_DESCRIPTION_LENGTH = 255;
+    private static final int MAX_CATEGORY_LENGTH = 60;
+
+    private final ExpenseImportBatchWriter batchWriter;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public ImportExpensesUseCase(ExpenseImportBatchWriter batchWriter,
+                                 @Value("${expenses.import.batch-size:500}") int batchSize,
+                                 @Value("${expenses.import.max-reported-errors:100}") int maxReportedErrors) {
+        this.batchWriter = batchWriter;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Importa as despesas do arquivo. Lotes já gravados permanecem gravados se um lote posterior falhar.
+     *
+     * @param csv Conteúdo do arquivo CSV.
+     * @return Quantidade importada e erros por linha.
+     * @throws BusinessException se o cabeçalho não tiver as colunas obrigatórias.
+     */
+    @CacheEvict(cacheNames = CashFlowPeriodLoader.CLOSED_MONTHS_CACHE, allEntries = true) // Despesas podem ter data retroativa
+    public ExpenseImportResult execute(InputStream csv) {
+        ImportReport report = new ImportReport(maxReportedErrors);
+        try (ExpenseCsvReader reader = new ExpenseCsvReader(csv)) {
+            Columns columns = Columns.resolve(reader);
+            List<Expense> batch = new ArrayList<>(batchSize);
+            List<Long> batchLines = new ArrayList<>(batchSize);
+
+            ExpenseCsvReader.Row row;
+            while ((row = readNext(reader, report)) != null) {
+                try {
+                    batch.add(toExpense(row, columns));
+                    batchLines.add(row.line());
+                } catch (BusinessException e) {
+                    report.reject(row.line(), e.getMessage());
+                }
+                if (batch.size() >= batchSize) {
+                    flush(batch, batchLines, report);
+                }
+            }
+            flush(batch, batchLines, report);
+        } catch (IOException e) {
+            throw new BusinessException("Não foi possível ler o arquivo CSV: " + e.getMessage());
+        }
+
+        log.info("Importação de despesas concluída: {} gravadas, {} rejeitadas.", report.imported, report.rejected);
+        return report.toResult();
+    }
+
+    /**
+     * Lê o próximo registro; um registro ilegível (ex.: aspas não fechadas) encerra a leitura,
+     * pois não há como saber onde o próximo começa.
+     */
+    private ExpenseCsvReader.Row readNext(ExpenseCsvReader reader, ImportReport report) throws IOException {
+        try {
+            return reader.next();
+        } catch (BusinessException e) {
+            report.reject(0, e.getMessage() + " Importação interrompida.");
+            return null;
+        }
+    }
+
+    private void flush(List<Expense> batch, List<Long> batchLines, ImportReport report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            report.imported += batchWriter.write(List.copyOf(batch));
+        } catch (RuntimeException e) {
+            log.error("Falha ao gravar lote de {} despesas (linhas {} a {}): {}",
+                    batch.size(), batchLines.getFirst(), batchLines.getLast(), e.getMessage(), e);
+            batchLines.forEach(line -> report.reject(line, "Falha ao gravar o lote: " + e.getMessage()));
+        }
+        batch.clear();
+        batchLines.clear();
+    }
+
+    private Expense toExpense(ExpenseCsvReader.Row row, Columns columns) {
+        String description = row.get(columns.description());
+        if (description.isEmpty()) {
+            throw new BusinessException("Descrição é obrigatória.");
+        }
+        if (description.length() > MAX_DESCRIPTION_LENGTH) {
+            throw new BusinessException("Descrição excede " + MAX_DESCRIPTION_LENGTH + " caracteres.");
+        }
+        String category = row.get(columns.category());
+        if (category.length() > MAX_CATEGORY_LENGTH) {
+            throw new BusinessException("Categoria excede " + MAX_CATEGORY_LENGTH + " caracteres.");
+        }
+        return Expense.builder()
+                .date(parseDate(row.get(columns.date())))
+                .description(description)
+                .category(category.isEmpty() ? null : category)
+                .value(parseValue(row.get(columns.value())))
+                .build();
+    }
+
+    static LocalDate parseDate(String value) {
+        if (value.isEmpty()) {
+            throw new BusinessException("Data é obrigatória.");
+        }
+        try {
+            return value.contains("/") ? LocalDate.parse(value, BRAZILIAN_DATE) : LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new BusinessException("Data inválida: " + value + ". Use dd/MM/aaaa ou aaaa-MM-dd.");
+        }
+    }
+
+    /**
+     * Interpreta valores como {@code 1234.56}, {@code 1.234,56} ou {@code R$ 1234,56}.
+     * O último separador encontrado é tratado como o decimal.
+     */
+    static BigDecimal parseValue(String value) {
+        String digits = value.replace("R$", "").replace(" ", "");
+        if (digits.isEmpty()) {
+            throw new BusinessException("Valor é obrigatório.");
+        }
+        if (digits.lastIndexOf(',') > digits.lastIndexOf('.')) {
+            digits = digits.replace(".", "").replace(',', '.');
+        } else {
+            digits = digits.replace(",", "");
+        }
+        BigDecimal amount;
+        try {
+            amount = new BigDecimal(digits);
+        } catch (NumberFormatException e) {
+            throw new BusinessException("Valor inválido: " + value + ".");
+        }
+        if (amount.signum() <= 0) {
+            throw new BusinessException("Valor deve ser positivo.");
+        }
+        if (amount.stripTrailingZeros().scale() > 2) {
+            throw new BusinessException("Valor deve ter no máximo duas casas decimais: " + value + ".");
+        }
+        return amount;
+    }
+
+    /**
+     * Posição das colunas no cabeçalho do arquivo.
+     */
+    private record Columns(int date, int description, int category, int value) {
+        static Columns resolve(ExpenseCsvReader reader) {
+            Columns columns = new Columns(
+                    reader.indexOf("data", "date"),
+                    reader.indexOf("descricao", "description"),
+                    reader.indexOf("categoria", "category"),
+                    reader.indexOf("valor", "value"));
+            if (columns.date() < 0 || columns.description() < 0 || columns.value() < 0) {
+                throw new BusinessException("Cabeçalho do CSV deve conter as colunas data, descricao e valor.");
+            }
+            return columns;
+        }
+    }
+
+    /**
+     * Contadores da importação; guarda só os primeiros erros para não crescer com o arquivo.
+     */
+    private static final class ImportReport {
+        private final int maxErrors;
+        private final List<ExpenseImportError> errors = new ArrayList<>();
+        private long imported;
+        private long rejected;
+
+        ImportReport(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        void reject(long line, String message) {
+            rejected++;
+            if (errors.size() < maxErrors) {
+                errors.add(new ExpenseImportError(line, message));
+            }
+        }
+
+        ExpenseImportResult toResult() {
+            return new ExpenseImportResult(imported, rejected, List.copyOf(errors), rejected > errors.size());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.hyteck.school_control.usecases.expenses;
+
+import br.com.hyteck.school_control.exceptions.ResourceNotFoundException;
+import br.com.hyteck.school_control.models.expenses.Expense;
+import br.com.hyteck.school_control.repositories.ExpenseRepository;
+import br.com.hyteck.school_control.usecases.storage.StorageService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+
+/**
+ * Obtém o recibo (ou a miniatura) de uma despesa a partir do cache local do armazenamento remoto,
+ * baixando-o apenas quando não está em cache.
+ */
+@Service
+public class LoadExpenseReceipt {
+
+    private final ExpenseRepository expenseRepository;
+    private final StorageService storageService;
+
+    public LoadExpenseReceipt(ExpenseRepository expenseRepository,
+                              @Qualifier("cloudinary") StorageService storageService) {
+        this.expenseRepository = expenseRepository;
+        this.storageService = storageService;
+    }
+
+    /**
+     * @param expenseId ID da despesa.
+     * @param thumbnail {@code true} para a miniatura.
+     * @return O recibo; o conteúdo é um arquivo local, exceto quando ele é maior que o cache.
+     * @throws ResourceNotFoundException se a despesa não existir ou ainda não tiver recibo enviado.
+     */
+    public Receipt execute(String expenseId, boolean thumbnail) {
+        Expense expense = expenseRepository.findById(expenseId)
+                .orElseThrow(() -> new ResourceNotFoundException("Despesa não encontrada com ID: " + expenseId));
+        String url = thumbnail ? expense.getReceiptThumbnailUrl() : expense.getReceiptUrl();
+        if (url == null) {
+            throw new ResourceNotFoundException("Despesa " + expenseId + " não possui recibo disponível.");
+        }
+        MediaType mediaType = MediaTypeFactory.getMediaType(URI.create(url).getPath())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM);
+        return new Receipt(storageService.loadAsResource(url), mediaType);
+    }
+
+    /**
+     * Conteúdo do recibo e o tipo deduzido da URL original (o arquivo em cache não tem extensão).
+     */
+    public record Receipt(Resource content, MediaType mediaType) { }
+}
@@ -0,0 +1,274 @@
+package br.com.hyteck.school_control.usecases.expenses;
+
+import br.com.hyteck.school_control.exceptions.StorageException;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import org.w3c.dom.Node;
+
+import javax.imageio.*;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Reduz fotos de recibos antes do envio: redimensiona para {@code maxDimension}, recomprime em JPEG
+ * e gera uma miniatura para as listagens.
+ * <p>
+ * A leitura usa subamostragem do {@link ImageReader}, de modo que uma foto de 12MP não é decodificada
+ * em resolução total. Arquivos que não são imagens (ex.: PDF) passam sem alteração.
+ * <p>
+ * O JPEG regravado não leva os metadados do original, então a orientação EXIF da câmera é aplicada
+ * nos pixels antes de redimensionar; do contrário fotos tiradas com o celular em pé sairiam deitadas.
+ * Executa nas threads do {@link ReceiptUploader}, cujo pool é limitado.
+ */
+@Component
+@Log4j2
+public class ReceiptImageProcessor {
+
+    static final String THUMBNAIL_PREFIX = "thumb-";
+
+    private static final String JPEG_METADATA_FORMAT = "javax_imageio_jpeg_image_1.0";
+    private static final int APP1_MARKER = 0xE1;
+    private static final int ORIENTATION_TAG = 0x0112;
+    private static final int ORIENTATION_NORMAL = 1;
+
+    private final int maxDimension;
+    private final int thumbnailDimension;
+    private final float quality;
+
+    public ReceiptImageProcessor(@Value("${expenses.receipt.image.max-dimension:1600}") int maxDimension,
+                                 @Value("${expenses.receipt.image.thumbnail-dimension:320}") int thumbnailDimension,
+                                 @Value("${expenses.receipt.image.quality:0.8}") float quality) {
+        this.maxDimension = maxDimension;
+        this.thumbnailDimension = thumbnailDimension;
+        this.quality = quality;
+    }
+
+    /**
+     * Processa o arquivo em staging, gravando as variantes ao lado dele.
+     *
+     * @param staged Arquivo original em staging.
+     * @return As variantes a enviar; para arquivos que não são imagens, o original e nenhuma miniatura.
+     */
+    public ProcessedReceipt process(Path staged) {
+        BufferedImage image;
+        try {
+            image = readSubsampled(staged);
+        } catch (IOException e) {
+            log.warn("Não foi possível ler {} como imagem; enviando sem processar: {}", staged, e.getMessage());
+            return ProcessedReceipt.unprocessed(staged);
+        }
+        if (image == null) {
+            return ProcessedReceipt.unprocessed(staged);
+        }
+
+        String jpegName = withJpegExtension(ReceiptStagingArea.originalFilename(staged));
+        try {
+            Path main = staged.resolveSibling(staged.getFileName() + ".main.jpg");
+            String mainName = jpegName;
+            writeJpeg(scaleToFit(image, maxDimension), main, quality);
+            if (Files.size(main) >= Files.size(staged)) {
+                // Original já era menor que a versão recomprimida; ele mantém a própria tag de orientação
+                Files.delete(main);
+                main = staged;
+                mainName = ReceiptStagingArea.originalFilename(staged);
+            }
+
+            Path thumbnail = staged.resolveSibling(staged.getFileName() + ".thumb.jpg");
+            writeJpeg(scaleToFit(image, thumbnailDimension), thumbnail, Math.min(quality, 0.7f));
+            log.debug("Recibo {} processado: {} bytes -> {} bytes (miniatura {} bytes)",
+                    staged, Files.size(staged), Files.size(main), Files.size(thumbnail));
+            return new ProcessedReceipt(main, mainName, thumbnail, THUMBNAIL_PREFIX + jpegName);
+        } catch (IOException e) {
+            throw new StorageException("Failed to process receipt image " + staged, e);
+        }
+    }
+
+    /**
+     * Decodifica a imagem pulando linhas e colunas quando ela é muito maior que o tamanho final,
+     * já na orientação indicada pelo EXIF.
+     *
+     * @return A imagem ou {@code null} se não houver leitor para o formato.
+     */
+    private BufferedImage readSubsampled(Path file) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, false);
+                int largestSide = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int subsampling = Math.max(1, largestSide / maxDimension);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                IIOImage decoded = reader.readAll(0, param);
+                return orient((BufferedImage) decoded.getRenderedImage(), exifOrientation(decoded.getMetadata()));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Lê a tag Orientation (0x0112) do IFD0 do segmento EXIF (APP1) de um JPEG.
+     *
+     * @return A orientação (1 a 8), ou 1 quando não há EXIF ou ele não pode ser lido.
+     */
+    static int exifOrientation(IIOMetadata metadata) {
+        if (metadata == null || !Arrays.asList(metadata.getMetadataFormatNames()).contains(JPEG_METADATA_FORMAT)) {
+            return ORIENTATION_NORMAL;
+        }
+        Node markers = child(metadata.getAsTree(JPEG_METADATA_FORMAT), "markerSequence");
+        for (Node marker = markers != null ? markers.getFirstChild() : null; marker != null; marker = marker.getNextSibling()) {
+            Node tag = marker.getAttributes() != null ? marker.getAttributes().getNamedItem("MarkerTag") : null;
+            if ("unknown".equals(marker.getNodeName()) && tag != null && Integer.toString(APP1_MARKER).equals(tag.getNodeValue())
+                    && ((IIOMetadataNode) marker).getUserObject() instanceof byte[] data) {
+                int orientation = orientationFromExif(data);
+                if (orientation != 0) {
+                    return orientation;
+                }
+            }
+        }
+        return ORIENTATION_NORMAL;
+    }
+
+    /**
+     * @return A orientação do bloco EXIF, ou 0 se o bloco não for EXIF ou não tiver a tag.
+     */
+    private static int orientationFromExif(byte[] data) {
+        byte[] header = "Exif\0\0".getBytes(StandardCharsets.US_ASCII);
+        if (data.length < header.length + 8 || !Arrays.equals(data, 0, header.length, header, 0, header.length)) {
+            return 0;
+        }
+        try {
+            ByteBuffer tiff = ByteBuffer.wrap(data, header.length, data.length - header.length).slice();
+            tiff.order(tiff.get(0) == 'I' ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+            int ifd = tiff.getInt(4);
+            int entries = tiff.getShort(ifd) & 0xFFFF;
+            for (int i = 0; i < entries; i++) {
+                int entry = ifd + 2 + i * 12;
+                if ((tiff.getShort(entry) & 0xFFFF) == ORIENTATION_TAG) {
+                    int orientation = tiff.getShort(entry + 8) & 0xFFFF;
+                    return orientation >= 1 && orientation <= 8 ? orientation : 0;
+                }
+            }
+        } catch (IndexOutOfBoundsException e) {
+            log.debug("Bloco EXIF truncado; ignorando a orientação: {}", e.getMessage());
+        }
+        return 0;
+    }
+
+    private static Node child(Node parent, String name) {
+        for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (name.equals(node.getNodeName())) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Aplica a orientação EXIF aos pixels: espelhamentos (2, 4), meia-volta (3) e,
+     * nas orientações de 5 a 8, giros de 90 graus que trocam largura e altura.
+     */
+    static BufferedImage orient(BufferedImage source, int orientation) {
+        if (orientation <= ORIENTATION_NORMAL || orientation > 8) {
+            return source;
+        }
+        int width = source.getWidth();
+        int height = source.getHeight();
+        AffineTransform transform = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, width, 0);
+            case 3 -> new AffineTransform(-1, 0, 0, -1, width, height);
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, height);
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);
+            case 6 -> new AffineTransform(0, 1, -1, 0, height, 0);
+            case 7 -> new AffineTransform(0, -1, -1, 0, height, width);
+            default -> new AffineTransform(0, -1, 1, 0, 0, width);
+        };
+        boolean swapsSides = orientation >= 5;
+        BufferedImage target = new BufferedImage(swapsSides ? height : width, swapsSides ? width : height,
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.drawImage(source, transform, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    /**
+     * Redimensiona mantendo a proporção para caber em {@code limit}, convertendo para RGB (JPEG não tem alfa).
+     */
+    static BufferedImage scaleToFit(BufferedImage source, int limit) {
+        double scale = Math.min(1d, (double) limit / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static void writeJpeg(BufferedImage image, Path target, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(quality);
+        try (OutputStream out = Files.newOutputStream(target);
+             ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static String withJpegExtension(String filename) {
+        int dot = filename.lastIndexOf('.');
+        String base = dot > 0 ? filename.substring(0, dot) : filename;
+        return base + ".jpg";
+    }
+
+    /**
+     * Variantes de um recibo prontas para envio.
+     *
+     * @param main              Arquivo principal (reduzido, ou o original quando não processado).
+     * @param mainFilename      Nome com que o arquivo principal é armazenado.
+     * @param thumbnail         Miniatura; nula quando o arquivo não é uma imagem.
+     * @param thumbnailFilename Nome com que a miniatura é armazenada.
+     */
+    public record ProcessedReceipt(Path main, String mainFilename, Path thumbnail, String thumbnailFilename) {
+        static ProcessedReceipt unprocessed(Path staged) {
+            return new ProcessedReceipt(staged, ReceiptStagingArea.originalFilename(staged), null, null);
+        }
+    }
+}
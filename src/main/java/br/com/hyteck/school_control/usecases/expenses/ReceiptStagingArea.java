@@ -0,0 +1,75 @@
+package br.com.hyteck.school_control.usecases.expenses;
+
+import br.com.hyteck.school_control.exceptions.StorageException;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.UUID;
+
+/**
+ * Diretório local onde os recibos ficam até serem enviados ao armazenamento remoto.
+ * Os arquivos são nomeados {@code <uuid>-<nome original>}.
+ */
+@Component
+@Log4j2
+public class ReceiptStagingArea {
+
+    private static final int PREFIX_LENGTH = 37; // UUID + '-'
+
+    private final Path stagingDir;
+
+    public ReceiptStagingArea(@Value("${expenses.receipt.staging-dir:uploads/staging}") String stagingDir) {
+        this.stagingDir = Paths.get(stagingDir).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Grava o arquivo recebido na área de staging.
+     *
+     * @return O caminho absoluto do arquivo gravado.
+     * @throws StorageException se o arquivo estiver vazio ou não puder ser gravado.
+     */
+    public Path stage(MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new StorageException("Failed to store empty file.");
+        }
+        String original = file.getOriginalFilename() != null ? file.getOriginalFilename() : "receipt";
+        Path target = stagingDir.resolve(UUID.randomUUID() + "-" + Paths.get(original).getFileName());
+        try {
+            Files.createDirectories(stagingDir);
+            file.transferTo(target);
+            return target;
+        } catch (IOException e) {
+            throw new StorageException("Failed to stage receipt " + original, e);
+        }
+    }
+
+    /**
+     * Valida que o caminho gravado na despesa aponta para dentro da área de staging.
+     */
+    public Path resolve(String stagedReceipt) {
+        Path staged = Paths.get(stagedReceipt).toAbsolutePath().normalize();
+        if (!staged.startsWith(stagingDir)) {
+            throw new StorageException("Staged receipt outside staging directory: " + stagedReceipt);
+        }
+        return staged;
+    }
+
+    public static String originalFilename(Path staged) {
+        String name = staged.getFileName().toString();
+        return name.length() > PREFIX_LENGTH ? name.substring(PREFIX_LENGTH) : name;
+    }
+
+    public void discard(Path staged) {
+        try {
+            Files.deleteIfExists(staged);
+        } catch (IOException e) {
+            log.warn("Não foi possível remover o recibo em staging {}: {}", staged, e.getMessage());
+        }
+    }
+}
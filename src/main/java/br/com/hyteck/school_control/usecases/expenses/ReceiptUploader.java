@@ -0,0 +1,211 @@
+package br.com.hyteck.school_control.usecases.expenses;
+
+import br.com.hyteck.school_control.repositories.ExpenseRepository;
+import br.com.hyteck.school_control.usecases.storage.StorageService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.*;
+
+/**
+ * Envia os recibos em staging para o armazenamento remoto em segundo plano.
+ * Imagens passam antes pelo {@link ReceiptImageProcessor} (redução e miniatura), nas mesmas threads.
+ * <p>
+ * O pool é limitado (threads e fila); quando a fila está cheia o envio é recusado e o recibo
+ * continua em staging até a próxima varredura. Cada envio é repetido com backoff exponencial;
+ * no sucesso o {@code receiptUrl} da despesa é atualizado e o arquivo local removido.
+ * <p>
+ * Se todas as repetições falham, a falha é contada na despesa e a varredura tenta de novo com
+ * intervalos crescentes; depois de {@value #MAX_RECEIPT_ATTEMPTS} falhas o recibo é abandonado em staging,
+ * para que um recibo que nunca sobe (imagem corrompida, erro permanente) não ocupe a varredura para sempre.
+ * <p>
+ * O pool é próprio, e não um bean {@code TaskExecutor}, para não substituir o executor padrão do {@code @Async}.
+ */
+@Component
+@Log4j2
+public class ReceiptUploader {
+
+    static final Duration STALE_AFTER = Duration.ofMinutes(5);
+    static final int MAX_RECEIPT_ATTEMPTS = 8;
+    private static final Duration MAX_BACKOFF = Duration.ofHours(6);
+    private static final int SWEEP_BATCH_SIZE = 100;
+
+    private final ExpenseRepository expenseRepository;
+    private final StorageService storageService;
+    private final ReceiptStagingArea stagingArea;
+    private final ReceiptImageProcessor imageProcessor;
+    private final Executor executor;
+    private final RetryTemplate retryTemplate;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public ReceiptUploader(ExpenseRepository expenseRepository,
+                           @Qualifier("cloudinary") StorageService storageService,
+                           ReceiptStagingArea stagingArea,
+                           ReceiptImageProcessor imageProcessor,
+                           @Value("${expenses.receipt.upload.threads:2}") int threads,
+                           @Value("${expenses.receipt.upload.queue-capacity:100}") int queueCapacity,
+                           @Value("${expenses.receipt.upload.max-attempts:4}") int maxAttempts) {
+        this(expenseRepository, storageService, stagingArea, imageProcessor,
+                new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                        new CustomizableThreadFactory("receipt-upload-"), new ThreadPoolExecutor.AbortPolicy()),
+                RetryTemplate.builder()
+                        .maxAttempts(maxAttempts)
+                        .exponentialBackoff(1_000, 2, 30_000)
+                        .build());
+    }
+
+    ReceiptUploader(ExpenseRepository expenseRepository, StorageService storageService, ReceiptStagingArea stagingArea,
+                    ReceiptImageProcessor imageProcessor, Executor executor, RetryTemplate retryTemplate) {
+        this.expenseRepository = expenseRepository;
+        this.storageService = storageService;
+        this.stagingArea = stagingArea;
+        this.imageProcessor = imageProcessor;
+        this.executor = executor;
+        this.retryTemplate = retryTemplate;
+    }
+
+    /**
+     * Agenda o envio do recibo de uma despesa.
+     *
+     * @param attempts Falhas anteriores deste recibo.
+     * @return {@code false} se o envio já estiver em andamento ou a fila estiver cheia.
+     */
+    public boolean submit(String expenseId, String stagedReceipt, int attempts) {
+        if (!inFlight.add(expenseId)) {
+            return false;
+        }
+        try {
+            executor.execute(() -> upload(expenseId, stagedReceipt, attempts));
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(expenseId);
+            log.warn("Fila de envio de recibos cheia. Despesa {} será reenviada na próxima varredura.", expenseId);
+            return false;
+        }
+    }
+
+    void upload(String expenseId, String stagedReceipt, int attempts) {
+        try {
+            Path staged = stagingArea.resolve(stagedReceipt);
+            if (!Files.exists(staged)) {
+                log.error("Recibo em staging da despesa {} não encontrado: {}", expenseId, staged);
+                // Mantém o recibo já enviado; só deixa de apontar para o arquivo perdido
+                expenseRepository.clearStagedReceipt(expenseId, stagedReceipt, LocalDateTime.now());
+                return;
+            }
+            ReceiptImageProcessor.ProcessedReceipt processed = imageProcessor.process(staged);
+            try {
+                String url = uploadWithRetry(expenseId, processed.main(), processed.mainFilename());
+                String thumbnailUrl = processed.thumbnail() != null
+                        ? uploadWithRetry(expenseId, processed.thumbnail(), processed.thumbnailFilename())
+                        : null;
+                complete(expenseId, stagedReceipt, url, thumbnailUrl);
+            } finally {
+                discardVariants(staged, processed);
+            }
+            stagingArea.discard(staged);
+        } catch (Exception e) {
+            recordFailure(expenseId, stagedReceipt, attempts + 1, e);
+        } finally {
+            inFlight.remove(expenseId);
+        }
+    }
+
+    private void recordFailure(String expenseId, String stagedReceipt, int attempts, Exception cause) {
+        LocalDateTime nextAttemptAt = null;
+        if (attempts >= MAX_RECEIPT_ATTEMPTS) {
+            log.error("Envio do recibo da despesa {} abandonado após {} falhas; o arquivo fica em staging: {}",
+                    expenseId, attempts, cause.getMessage(), cause);
+        } else {
+            Duration backoff = STALE_AFTER.multipliedBy(1L << (attempts - 1));
+            nextAttemptAt = LocalDateTime.now().plus(backoff.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff);
+            log.error("Falha {} ao enviar o recibo da despesa {}; nova tentativa a partir de {}: {}",
+                    attempts, expenseId, nextAttemptAt, cause.getMessage(), cause);
+        }
+        try {
+            expenseRepository.recordReceiptFailure(expenseId, stagedReceipt, attempts, nextAttemptAt);
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível registrar a falha do recibo da despesa {}: {}", expenseId, e.getMessage());
+        }
+    }
+
+    private String uploadWithRetry(String expenseId, Path file, String filename) {
+        return retryTemplate.execute(context -> {
+            if (context.getRetryCount() > 0) {
+                log.warn("Tentativa {} de envio de {} da despesa {}", context.getRetryCount() + 1, filename, expenseId);
+            }
+            return storageService.store(file, filename);
+        });
+    }
+
+    private void complete(String expenseId, String stagedReceipt, String url, String thumbnailUrl) {
+        int updated = expenseRepository.completeReceiptUpload(expenseId, stagedReceipt, url, thumbnailUrl, LocalDateTime.now());
+        if (updated == 0) {
+            log.info("Recibo da despesa {} foi substituído durante o envio; descartando {}", expenseId, url);
+            deleteRemote(url);
+            deleteRemote(thumbnailUrl);
+        } else {
+            log.info("Recibo da despesa {} enviado: {}", expenseId, url);
+        }
+    }
+
+    private void deleteRemote(String url) {
+        if (url == null) {
+            return;
+        }
+        try {
+            storageService.delete(url);
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível remover o recibo substituído {}: {}", url, e.getMessage());
+        }
+    }
+
+    /**
+     * Remove as variantes geradas; o original fica em staging até o envio concluir.
+     */
+    private void discardVariants(Path staged, ReceiptImageProcessor.ProcessedReceipt processed) {
+        if (!processed.main().equals(staged)) {
+            stagingArea.discard(processed.main());
+        }
+        if (processed.thumbnail() != null) {
+            stagingArea.discard(processed.thumbnail());
+        }
+    }
+
+    /**
+     * Reenvia recibos que continuam em staging (fila cheia, falhas ou reinício da aplicação),
+     * os que esperam há mais tempo primeiro.
+     */
+    @Scheduled(fixedDelayString = "${expenses.receipt.sweep-delay:PT10M}")
+    public void resubmitStaleReceipts() {
+        expenseRepository.findReceiptsDueForUpload(LocalDateTime.now(), Limit.of(SWEEP_BATCH_SIZE))
+                .forEach(expense -> submit(expense.getId(), expense.getStagedReceipt(),
+                        Objects.requireNonNullElse(expense.getReceiptAttempts(), 0)));
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+            if (!executorService.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("Envio de recibos interrompido; pendentes serão retomados pela varredura.");
+                executorService.shutdownNow();
+            }
+        }
+    }
+}
@@ -1,26 +1,41 @@
 package br.com.hyteck.school_control.usecases.expenses;
 
+import br.com.hyteck.school_control.events.ExpenseReceiptStagedEvent;
 import br.com.hyteck.school_control.exceptions.ResourceNotFoundException;
 import br.com.hyteck.school_control.models.expenses.Expense;
 import br.com.hyteck.school_control.repositories.ExpenseRepository;
-import br.com.hyteck.school_control.usecases.storage.StorageService;
+import br.com.hyteck.school_control.services.LedgerPostingService;
+import br.com.hyteck.school_control.usecases.billing.CashFlowPeriodLoader;
 import br.com.hyteck.school_control.web.dtos.expenses.ExpenseRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
 
 @Service
 public class UpdateExpenseUseCase {
     private static final Logger logger = LoggerFactory.getLogger(UpdateExpenseUseCase.class);
     private final ExpenseRepository expenseRepository;
-    private final StorageService storageService;
+    private final ReceiptStagingArea receiptStagingArea;
+    private final LedgerPostingService ledgerPostingService;
+    private final ApplicationEventPublisher eventPublisher;
     public UpdateExpenseUseCase(ExpenseRepository expenseRepository,
-                                @Qualifier(value = "cloudinary") StorageService storageService) {
+                                ReceiptStagingArea receiptStagingArea,
+                                LedgerPostingService ledgerPostingService,
+                                ApplicationEventPublisher eventPublisher) {
         this.expenseRepository = expenseRepository;
-        this.storageService = storageService;
+        this.receiptStagingArea = receiptStagingArea;
+        this.ledgerPostingService = ledgerPostingService;
+        this.eventPublisher = eventPublisher;
     }
 
+    @CacheEvict(cacheNames = CashFlowPeriodLoader.CLOSED_MONTHS_CACHE, allEntries = true) // Despesas podem ter data retroativa
+    @Transactional
     public Expense execute(String id, ExpenseRequest expenseRequest) {
 
         Expense expense = expenseRepository.findById(id)
@@ -29,12 +44,32 @@ public class UpdateExpenseUseCase {
                     return new ResourceNotFoundException("Expense não encontrado com ID: " + id);
                 });
 
-        String path= storageService.store(expenseRequest.receipt());
+        BigDecimal previousValue = expense.getValue();
 
         expense.setDate(expenseRequest.date());
         expense.setValue(expenseRequest.value());
         expense.setDescription(expenseRequest.description());
-        expense.setReceiptUrl(path);
-        return expenseRepository.save(  expense);
+        expense.setCategory(expenseRequest.category());
+        // O recibo atual só é trocado quando o novo terminar de ser enviado
+        Path staged = CreateExpenseUseCase.hasReceipt(expenseRequest) ? receiptStagingArea.stage(expenseRequest.receipt()) : null;
+        if (staged != null) {
+            CreateExpenseUseCase.stageReceipt(expense, staged);
+        }
+        Expense saved;
+        try {
+            saved = expenseRepository.save(  expense);
+            // O diário é append-only: só a diferença de valor é lançada
+            ledgerPostingService.postExpense(saved, saved.getValue().subtract(previousValue));
+        } catch (RuntimeException e) {
+            // Sem o evento, o descarte no rollback não aconteceria
+            if (staged != null) {
+                receiptStagingArea.discard(staged);
+            }
+            throw e;
+        }
+        if (staged != null) {
+            eventPublisher.publishEvent(new ExpenseReceiptStagedEvent(this, saved.getId(), saved.getStagedReceipt()));
+        }
+        return saved;
     }
 }
\ No newline at end of file
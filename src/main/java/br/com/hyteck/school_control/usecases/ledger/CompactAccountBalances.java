@@ -0,0 +1,35 @@
+package br.com.hyteck.school_control.usecases.ledger;
+
+import br.com.hyteck.school_control.repositories.AccountBalanceSlotRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Transfere as fatias pendentes de saldo para {@code accounts.balance}.
+ * Cada conta é compactada em sua própria transação curta, travando a linha da conta apenas
+ * uma vez por ciclo, e não a cada lançamento.
+ */
+@Service
+@Log4j2
+public class CompactAccountBalances {
+
+    private final AccountBalanceSlotRepository balanceSlotRepository;
+
+    public CompactAccountBalances(AccountBalanceSlotRepository balanceSlotRepository) {
+        this.balanceSlotRepository = balanceSlotRepository;
+    }
+
+    /**
+     * @return Quantidade de contas compactadas.
+     */
+    public int execute() {
+        List<String> accountIds = balanceSlotRepository.findAccountIdsWithPendingAmounts();
+        accountIds.forEach(balanceSlotRepository::compactAccount);
+        if (!accountIds.isEmpty()) {
+            log.info("Saldos de {} contas compactados.", accountIds.size());
+        }
+        return accountIds.size();
+    }
+}
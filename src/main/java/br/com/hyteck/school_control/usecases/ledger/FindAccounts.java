@@ -0,0 +1,23 @@
+package br.com.hyteck.school_control.usecases.ledger;
+
+import br.com.hyteck.school_control.repositories.AccountRepository;
+import br.com.hyteck.school_control.web.dtos.financials.AccountSummaryResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class FindAccounts {
+
+    private final AccountRepository accountRepository;
+
+    public FindAccounts(AccountRepository accountRepository) {
+        this.accountRepository = accountRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public Page<AccountSummaryResponse> execute(Pageable pageable) {
+        return accountRepository.findSummaries(pageable);
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.hyteck.school_control.usecases.ledger;
+
+import br.com.hyteck.school_control.exceptions.ResourceNotFoundException;
+import br.com.hyteck.school_control.models.financials.Account;
+import br.com.hyteck.school_control.models.financials.AccountBalanceSnapshot;
+import br.com.hyteck.school_control.models.financials.JournalEntry;
+import br.com.hyteck.school_control.repositories.AccountBalanceSnapshotRepository;
+import br.com.hyteck.school_control.repositories.AccountRepository;
+import br.com.hyteck.school_control.repositories.JournalLineRepository;
+import br.com.hyteck.school_control.web.dtos.financials.AccountBalanceResponse;
+import br.com.hyteck.school_control.web.dtos.financials.LedgerTotals;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Calcula o saldo de uma conta a partir do último snapshot somado ao trecho do diário posterior a ele,
+ * sem percorrer todo o histórico da conta.
+ */
+@Service
+@Log4j2
+public class GetAccountBalance {
+
+    private final AccountRepository accountRepository;
+    private final AccountBalanceSnapshotRepository snapshotRepository;
+    private final JournalLineRepository journalLineRepository;
+
+    public GetAccountBalance(AccountRepository accountRepository,
+                             AccountBalanceSnapshotRepository snapshotRepository,
+                             JournalLineRepository journalLineRepository) {
+        this.accountRepository = accountRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.journalLineRepository = journalLineRepository;
+    }
+
+    /**
+     * @param accountId ID da conta.
+     * @param asOf      Instante de referência; nulo para o saldo atual.
+     * @return O saldo da conta.
+     * @throws ResourceNotFoundException se a conta não existir.
+     */
+    @Transactional(readOnly = true)
+    public AccountBalanceResponse execute(String accountId, LocalDateTime asOf) {
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new ResourceNotFoundException("Conta não encontrada com ID: " + accountId));
+        LocalDateTime until = asOf != null ? asOf : LocalDateTime.now();
+
+        Optional<AccountBalanceSnapshot> snapshot =
+                snapshotRepository.findFirstByAccountIdAndAsOfLessThanEqualOrderByAsOfDesc(accountId, until);
+        LocalDateTime tailStart = snapshot.map(AccountBalanceSnapshot::getAsOf).orElse(JournalEntry.LEDGER_EPOCH);
+        LedgerTotals tail = journalLineRepository.sumByAccount(accountId, tailStart, until);
+        LedgerTotals totals = snapshot
+                .map(s -> tail.plus(s.getDebitTotal(), s.getCreditTotal()))
+                .orElse(tail);
+        log.debug("Saldo da conta {} em {}: snapshot de {} + diário", accountId, until, tailStart);
+
+        BigDecimal balance = account.getType().isDebitNormal()
+                ? totals.debits().subtract(totals.credits())
+                : totals.credits().subtract(totals.debits());
+        return new AccountBalanceResponse(account.getId(), account.getCode(), account.getName(), account.getType(),
+                until, totals.debits(), totals.credits(), balance);
+    }
+}
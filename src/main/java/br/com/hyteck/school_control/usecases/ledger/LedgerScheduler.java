@@ -0,0 +1,44 @@
+package br.com.hyteck.school_control.usecases.ledger;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Component
+@Log4j2
+public class LedgerScheduler {
+    private final SnapshotAccountBalances snapshotAccountBalances;
+    private final CompactAccountBalances compactAccountBalances;
+
+    public LedgerScheduler(SnapshotAccountBalances snapshotAccountBalances, CompactAccountBalances compactAccountBalances) {
+        this.snapshotAccountBalances = snapshotAccountBalances;
+        this.compactAccountBalances = compactAccountBalances;
+    }
+
+    /**
+     * Consolida o dia anterior. Roda de madrugada para que o corte (meia-noite) fique bem atrás
+     * de qualquer transação ainda aberta.
+     */
+    @Scheduled(cron = "${ledger.snapshot.cron:0 30 2 * * *}")
+    public void snapshotPreviousDay() {
+        LocalDateTime cutoff = LocalDate.now().atStartOfDay();
+        log.info("Scheduler: Gerando snapshots de saldo até {}", cutoff);
+        try {
+            snapshotAccountBalances.execute(cutoff);
+        } catch (Exception e) {
+            log.error("Scheduler: Erro ao gerar snapshots de saldo até {}: {}", cutoff, e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ledger.balance.compaction-delay:PT5M}")
+    public void compactBalances() {
+        try {
+            compactAccountBalances.execute();
+        } catch (Exception e) {
+            log.error("Scheduler: Erro ao compactar saldos das contas: {}", e.getMessage(), e);
+        }
+    }
+}
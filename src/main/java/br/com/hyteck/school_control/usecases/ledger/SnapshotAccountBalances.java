@@ -0,0 +1,82 @@
+package br.com.hyteck.school_control.usecases.ledger;
+
+import br.com.hyteck.school_control.models.financials.AccountBalanceSnapshot;
+import br.com.hyteck.school_control.models.financials.JournalEntry;
+import br.com.hyteck.school_control.repositories.AccountBalanceSnapshotRepository;
+import br.com.hyteck.school_control.repositories.AccountRepository;
+import br.com.hyteck.school_control.repositories.JournalLineRepository;
+import br.com.hyteck.school_control.web.dtos.financials.LedgerTotals;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Consolida o diário em snapshots de saldo.
+ * <p>
+ * Cada execução cobre a janela {@code (último snapshot, cutoff]} com uma única consulta agrupada por conta,
+ * e grava um snapshot apenas para contas com movimento na janela. Contas sem movimento continuam válidas
+ * a partir do snapshot anterior, pois as janelas são contíguas.
+ */
+@Service
+@Log4j2
+public class SnapshotAccountBalances {
+
+    private final AccountRepository accountRepository;
+    private final AccountBalanceSnapshotRepository snapshotRepository;
+    private final JournalLineRepository journalLineRepository;
+
+    public SnapshotAccountBalances(AccountRepository accountRepository,
+                                   AccountBalanceSnapshotRepository snapshotRepository,
+                                   JournalLineRepository journalLineRepository) {
+        this.accountRepository = accountRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.journalLineRepository = journalLineRepository;
+    }
+
+    /**
+     * @param cutoff Fim (inclusivo) da janela consolidada. Deve estar no passado, com folga para
+     *               transações que ainda não fizeram commit.
+     * @return Quantidade de snapshots gravados.
+     */
+    @Transactional
+    public int execute(LocalDateTime cutoff) {
+        LocalDateTime lastAsOf = snapshotRepository.findLatestAsOf().orElse(JournalEntry.LEDGER_EPOCH);
+        if (!cutoff.isAfter(lastAsOf)) {
+            log.info("Snapshot de saldos até {} já existe. Nada a fazer.", cutoff);
+            return 0;
+        }
+
+        List<LedgerTotals> tails = journalLineRepository.sumByAccountBetween(lastAsOf, cutoff);
+        if (tails.isEmpty()) {
+            log.info("Nenhum lançamento entre {} e {}.", lastAsOf, cutoff);
+            return 0;
+        }
+
+        Map<String, AccountBalanceSnapshot> previous = snapshotRepository
+                .findLatestByAccountIds(tails.stream().map(LedgerTotals::accountId).toList(), lastAsOf)
+                .stream()
+                .collect(Collectors.toMap(s -> s.getAccount().getId(), Function.identity()));
+
+        List<AccountBalanceSnapshot> snapshots = tails.stream()
+                .map(tail -> {
+                    AccountBalanceSnapshot before = previous.get(tail.accountId());
+                    LedgerTotals totals = before != null ? tail.plus(before.getDebitTotal(), before.getCreditTotal()) : tail;
+                    return AccountBalanceSnapshot.builder()
+                            .account(accountRepository.getReferenceById(tail.accountId()))
+                            .asOf(cutoff)
+                            .debitTotal(totals.debits())
+                            .creditTotal(totals.credits())
+                            .build();
+                })
+                .toList();
+        snapshotRepository.saveAll(snapshots);
+        log.info("{} snapshots de saldo gravados até {}.", snapshots.size(), cutoff);
+        return snapshots.size();
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.hyteck.school_control.usecases.notification;
+
+import br.com.hyteck.school_control.repositories.ArchivedNotificationRepository;
+import br.com.hyteck.school_control.repositories.NotificationRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Retenção de notificações: move as lidas mais antigas que {@code readMaxAge} para
+ * {@code notifications_archive} e apaga do arquivo as mais antigas que {@code archiveMaxAge}.
+ * <p>
+ * O trabalho é feito em lotes de {@code batchSize}, cada um em sua própria transação curta e com
+ * {@code SKIP LOCKED}, com uma pausa entre lotes para não disputar I/O com o tráfego normal.
+ * Cada execução processa no máximo {@code maxBatches} lotes por etapa; o restante fica para a próxima.
+ */
+@Service
+@Log4j2
+public class ApplyNotificationRetention {
+
+    private final NotificationRepository notificationRepository;
+    private final ArchivedNotificationRepository archivedNotificationRepository;
+    private final Duration readMaxAge;
+    private final Duration archiveMaxAge;
+    private final int batchSize;
+    private final Duration pause;
+    private final int maxBatches;
+
+    public ApplyNotificationRetention(NotificationRepository notificationRepository,
+                                      ArchivedNotificationRepository archivedNotificationRepository,
+                                      @Value("${notifications.retention.read-max-age:90d}") Duration readMaxAge,
+                                      @Value("${notifications.retention.archive-max-age:0}") Duration archiveMaxAge,
+                                      @Value("${notifications.retention.batch-size:1000}") int batchSize,
+                                      @Value("${notifications.retention.pause:200ms}") Duration pause,
+                                      @Value("${notifications.retention.max-batches:500}") int maxBatches) {
+        this.notificationRepository = notificationRepository;
+        this.archivedNotificationRepository = archivedNotificationRepository;
+        this.readMaxAge = readMaxAge;
+        this.archiveMaxAge = archiveMaxAge;
+        this.batchSize = batchSize;
+        this.pause = pause;
+        this.maxBatches = maxBatches;
+    }
+
+    /**
+     * Arquiva as notificações lidas antigas e expurga o arquivo.
+     *
+     * @param now Instante de referência para os cortes.
+     * @return Quantidade de notificações arquivadas.
+     */
+    public int execute(LocalDateTime now) {
+        LocalDateTime archiveCutoff = now.minus(readMaxAge);
+        int archived = runInBatches(size -> notificationRepository.archiveReadCreatedBefore(archiveCutoff, size));
+        log.info("Retenção: {} notificações lidas anteriores a {} movidas para o arquivo.", archived, archiveCutoff);
+
+        // Zero desativa o expurgo: o arquivo é mantido indefinidamente
+        if (!archiveMaxAge.isZero() && !archiveMaxAge.isNegative()) {
+            LocalDateTime purgeCutoff = now.minus(archiveMaxAge);
+            int purged = runInBatches(size -> archivedNotificationRepository.purgeCreatedBefore(purgeCutoff, size));
+            log.info("Retenção: {} notificações arquivadas anteriores a {} removidas.", purged, purgeCutoff);
+        }
+        return archived;
+    }
+
+    /**
+     * Executa {@code batch} até um lote vir incompleto, respeitando {@code maxBatches} e a pausa entre lotes.
+     */
+    private int runInBatches(IntUnaryOperator batch) {
+        int total = 0;
+        for (int i = 0; i < maxBatches; i++) {
+            int affected = batch.applyAsInt(batchSize);
+            total += affected;
+            if (affected < batchSize) {
+                return total;
+            }
+            if (!pauseBetweenBatches()) {
+                break;
+            }
+        }
+        log.info("Retenção: limite de {} lotes atingido; o restante será processado na próxima execução.", maxBatches);
+        return total;
+    }
+
+    private boolean pauseBetweenBatches() {
+        if (pause.isZero()) {
+            return true;
+        }
+        try {
+            Thread.sleep(pause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
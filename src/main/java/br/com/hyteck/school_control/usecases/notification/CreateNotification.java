@@ -1,33 +1,46 @@
 package br.com.hyteck.school_control.usecases.notification;
 
+import br.com.hyteck.school_control.events.NotificationsCoalescedEvent;
+import br.com.hyteck.school_control.events.NotificationsCreatedEvent;
 import br.com.hyteck.school_control.models.Notification;
 import br.com.hyteck.school_control.models.auth.User;
 import br.com.hyteck.school_control.repositories.NotificationRepository;
 import br.com.hyteck.school_control.repositories.UserRepository;
+import br.com.hyteck.school_control.web.dtos.NotificationResponse;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Optional;
+
 @Service
 @Log4j2
 public class CreateNotification {
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
+    private final NotificationCoalescer coalescer;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CreateNotification(NotificationRepository notificationRepository, UserRepository userRepository) {
+    public CreateNotification(NotificationRepository notificationRepository, UserRepository userRepository,
+                              NotificationCoalescer coalescer, ApplicationEventPublisher eventPublisher) {
         this.notificationRepository = notificationRepository;
         this.userRepository = userRepository;
+        this.coalescer = coalescer;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
-     * Cria e persiste uma nova notificação para um usuário.
+     * Cria e persiste uma nova notificação para um usuário. Se houver uma semelhante recente ainda
+     * não lida, a nova é agrupada nela (ver {@link NotificationCoalescer}).
      *
      * @param userId  O ID do usuário que receberá a notificação.
      * @param message O conteúdo da notificação.
      * @param link    Opcional: um link para onde o usuário deve ser direcionado.
      * @param type    Opcional: um tipo/categoria para a notificação.
-     * @return A entidade Notification salva.
+     * @return A entidade Notification salva ou a notificação em que foi agrupada.
      * @throws EntityNotFoundException se o usuário com o ID fornecido não for encontrado.
      */
     @Transactional
@@ -40,6 +53,12 @@ public class CreateNotification {
                     return new EntityNotFoundException("Usuário não encontrado com ID: " + userId + " para criar notificação.");
                 });
 
+        Optional<Notification> coalesced = coalescer.merge(userId, message, link, type);
+        if (coalesced.isPresent()) {
+            eventPublisher.publishEvent(new NotificationsCoalescedEvent(this, List.of(NotificationResponse.from(coalesced.get()))));
+            return coalesced.get();
+        }
+
         Notification notification = Notification.builder()
                 .user(user)
                 .message(message)
@@ -52,10 +71,8 @@ public class CreateNotification {
         Notification savedNotification = notificationRepository.save(notification);
         log.info("Notificação criada para o usuário {}: ID {}", userId, savedNotification.getId());
 
-        // 4. (Opcional) Disparar um evento para outros listeners
-        // Por exemplo, se você tiver um sistema de WebSockets para notificações em tempo real,
-        // você poderia publicar um evento aqui com a 'savedNotification'.
-        // Ex: applicationEventPublisher.publishEvent(new NotificationCreatedEvent(this, savedNotification));
+        // Entregue aos clientes conectados em /notifications/stream após o commit
+        eventPublisher.publishEvent(new NotificationsCreatedEvent(this, List.of(savedNotification.getId())));
 
         return savedNotification;
     }
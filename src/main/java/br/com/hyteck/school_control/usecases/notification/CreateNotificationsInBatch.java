@@ -0,0 +1,189 @@
+package br.com.hyteck.school_control.usecases.notification;
+
+import br.com.hyteck.school_control.events.NotificationsCreatedEvent;
+import br.com.hyteck.school_control.exceptions.BusinessException;
+import br.com.hyteck.school_control.models.Notification;
+import br.com.hyteck.school_control.models.classrooms.Enrollment;
+import br.com.hyteck.school_control.repositories.EnrollmentRepository;
+import br.com.hyteck.school_control.repositories.NotificationRepository;
+import br.com.hyteck.school_control.repositories.UserRepository;
+import br.com.hyteck.school_control.web.dtos.notification.NotificationAudience;
+import br.com.hyteck.school_control.web.dtos.notification.NotificationBroadcastRequest;
+import br.com.hyteck.school_control.web.dtos.notification.NotificationCommand;
+import br.com.hyteck.school_control.web.dtos.notification.NotificationRecipient;
+import jakarta.persistence.EntityManager;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * Cria notificações em lote.
+ * <p>
+ * Em vez de carregar cada usuário, os destinatários são referenciados por proxies
+ * ({@code getReferenceById}) e as notificações são gravadas com {@code saveAll} em blocos de
+ * {@code batchSize}; com o ID gerado pela aplicação, o Hibernate agrupa os INSERTs em lotes JDBC
+ * ({@code hibernate.jdbc.batch_size}). A existência dos usuários é conferida com uma única consulta.
+ * <p>
+ * Depois de cada bloco enviado ao banco o contexto de persistência é limpo, para que ele não acumule
+ * todas as notificações da transação; o evento de criação leva só os IDs do bloco. Por isso cada lote
+ * roda em transação própria ({@code REQUIRES_NEW}): a limpeza nunca desanexa entidades de quem chamou,
+ * e uma falha aqui não marca a transação de quem chamou para rollback.
+ */
+@Service
+@Log4j2
+public class CreateNotificationsInBatch {
+
+    static final String NAME_PLACEHOLDER = "{nome}";
+
+    private final NotificationRepository notificationRepository;
+    private final UserRepository userRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final NotificationCoalescer coalescer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final int batchSize;
+
+    public CreateNotificationsInBatch(NotificationRepository notificationRepository, UserRepository userRepository,
+                                      EnrollmentRepository enrollmentRepository, NotificationCoalescer coalescer,
+                                      ApplicationEventPublisher eventPublisher, EntityManager entityManager,
+                                      @Value("${notifications.batch-size:500}") int batchSize) {
+        this.notificationRepository = notificationRepository;
+        this.userRepository = userRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.coalescer = coalescer;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Cria uma notificação para cada comando. Comandos para usuários inexistentes são ignorados e
+     * comandos do mesmo usuário e tipo agrupável são somados em uma só notificação
+     * (ver {@link NotificationCoalescer}); o agrupamento considera apenas os comandos do lote.
+     *
+     * @param commands As notificações a criar.
+     * @return Quantidade de notificações criadas.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int execute(Collection<NotificationCommand> commands) {
+        if (commands.isEmpty()) {
+            return 0;
+        }
+        Set<String> existing = new HashSet<>();
+        List<String> userIds = commands.stream().map(NotificationCommand::userId).distinct().toList();
+        for (int from = 0; from < userIds.size(); from += batchSize) {
+            existing.addAll(userRepository.findExistingIds(userIds.subList(from, Math.min(from + batchSize, userIds.size()))));
+        }
+
+        List<Notification> notifications = new ArrayList<>(commands.size());
+        Map<String, Notification> coalescible = new HashMap<>();
+        for (NotificationCommand command : commands) {
+            if (!existing.contains(command.userId())) {
+                log.warn("Notificação ignorada para usuário inexistente: {}", command.userId());
+                continue;
+            }
+            String key = command.userId() + '\u0000' + command.type();
+            boolean coalesce = coalescer.appliesTo(command.type());
+            Notification previous = coalesce ? coalescible.get(key) : null;
+            if (previous != null) {
+                NotificationCoalescer.absorb(previous, command.message(), command.link());
+                continue;
+            }
+            Notification notification = build(command.userId(), command.message(), command.link(), command.type());
+            notifications.add(notification);
+            if (coalesce) {
+                coalescible.put(key, notification);
+            }
+        }
+
+        coalescible.clear();
+
+        int created = 0;
+        for (int from = 0; from < notifications.size(); from += batchSize) {
+            List<Notification> chunk = notifications.subList(from, Math.min(from + batchSize, notifications.size()));
+            created += write(new ArrayList<>(chunk));
+            // Solta as entidades já gravadas também desta lista
+            Collections.fill(chunk, null);
+        }
+        log.info("{} notificações criadas em lote ({} solicitadas).", created, commands.size());
+        return created;
+    }
+
+    /**
+     * Notifica todos os usuários de um grupo, lendo os destinatários em páginas de {@code batchSize}.
+     *
+     * @param request Grupo, template e metadados da notificação.
+     * @return Quantidade de notificações criadas.
+     * @throws BusinessException se o grupo exigir {@code audienceId} e ele não for informado.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int broadcast(NotificationBroadcastRequest request) {
+        if (request.audience() != null && request.audience() != NotificationAudience.ALL_USERS
+                && (request.audienceId() == null || request.audienceId().isBlank())) {
+            throw new BusinessException("Informe audienceId para notificar o grupo " + request.audience() + ".");
+        }
+        int created = 0;
+        Pageable page = PageRequest.of(0, batchSize);
+        Slice<NotificationRecipient> recipients;
+        do {
+            recipients = findRecipients(request, page);
+            List<Notification> notifications = new ArrayList<>(recipients.getNumberOfElements());
+            for (NotificationRecipient recipient : recipients) {
+                String message = request.messageTemplate()
+                        .replace(NAME_PLACEHOLDER, Objects.toString(recipient.name(), ""));
+                notifications.add(build(recipient.userId(), message, request.link(), request.type()));
+            }
+            created += write(notifications);
+            page = recipients.nextPageable();
+        } while (recipients.hasNext());
+
+        log.info("Notificação em massa para {} {}: {} notificações criadas.", request.audience(),
+                Objects.toString(request.audienceId(), ""), created);
+        return created;
+    }
+
+    private Slice<NotificationRecipient> findRecipients(NotificationBroadcastRequest request, Pageable page) {
+        return switch (request.audience()) {
+            case ALL_USERS -> userRepository.findNotificationRecipients(page);
+            case ROLE -> userRepository.findNotificationRecipientsByRole(request.audienceId(), page);
+            case CLASSROOM_RESPONSIBLES -> enrollmentRepository.findResponsibleRecipientsByClassroom(
+                    request.audienceId(), Enrollment.Status.ACTIVE, page);
+        };
+    }
+
+    private Notification build(String userId, String message, String link, String type) {
+        return Notification.builder()
+                .user(userRepository.getReferenceById(userId))
+                .message(message)
+                .link(link)
+                .type(type)
+                .read(false)
+                .build();
+    }
+
+    /**
+     * Grava e envia o bloco ao banco e limpa o contexto de persistência, liberando a memória para o próximo.
+     * O contexto é o da transação própria do lote, então a limpeza só solta as notificações e os proxies dela.
+     */
+    private int write(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return 0;
+        }
+        notificationRepository.saveAll(notifications);
+        notificationRepository.flush();
+        eventPublisher.publishEvent(new NotificationsCreatedEvent(this,
+                notifications.stream().map(Notification::getId).toList()));
+        int written = notifications.size();
+        notifications.clear();
+        entityManager.clear();
+        return written;
+    }
+}
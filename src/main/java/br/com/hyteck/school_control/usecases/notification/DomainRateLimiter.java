@@ -0,0 +1,58 @@
+package br.com.hyteck.school_control.usecases.notification;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token bucket por domínio de destino: até {@code perMinute} envios por minuto, com rajadas do mesmo tamanho.
+ * Evita que um lote grande para o mesmo provedor (ex.: gmail.com) seja recusado ou classificado como spam.
+ */
+class DomainRateLimiter {
+
+    private static final long NANOS_PER_MINUTE = Duration.ofMinutes(1).toNanos();
+
+    private final int perMinute;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    DomainRateLimiter(int perMinute) {
+        this.perMinute = perMinute;
+    }
+
+    /**
+     * Tenta consumir um envio para o domínio.
+     *
+     * @param nowNanos Instante atual em {@link System#nanoTime()}.
+     * @return {@link Duration#ZERO} se o envio foi liberado, ou quanto falta para o próximo envio.
+     */
+    Duration tryAcquire(String domain, long nowNanos) {
+        if (perMinute <= 0) {
+            return Duration.ZERO;
+        }
+        return buckets.computeIfAbsent(domain, d -> new Bucket(perMinute, nowNanos)).tryAcquire(nowNanos);
+    }
+
+    private static final class Bucket {
+        private final double capacity;
+        private final double tokensPerNano;
+        private double tokens;
+        private long refilledAt;
+
+        Bucket(int perMinute, long nowNanos) {
+            this.capacity = perMinute;
+            this.tokensPerNano = (double) perMinute / NANOS_PER_MINUTE;
+            this.tokens = perMinute;
+            this.refilledAt = nowNanos;
+        }
+
+        synchronized Duration tryAcquire(long nowNanos) {
+            tokens = Math.min(capacity, tokens + (nowNanos - refilledAt) * tokensPerNano);
+            refilledAt = nowNanos;
+            if (tokens >= 1) {
+                tokens--;
+                return Duration.ZERO;
+            }
+            return Duration.ofNanos((long) Math.ceil((1 - tokens) / tokensPerNano));
+        }
+    }
+}
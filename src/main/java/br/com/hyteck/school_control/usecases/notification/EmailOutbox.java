@@ -0,0 +1,146 @@
+package br.com.hyteck.school_control.usecases.notification;
+
+import br.com.hyteck.school_control.exceptions.BusinessException;
+import br.com.hyteck.school_control.models.email.OutboundEmail;
+import br.com.hyteck.school_control.models.email.OutboundEmailStatus;
+import br.com.hyteck.school_control.repositories.OutboundEmailRepository;
+import br.com.hyteck.school_control.web.dtos.notification.OutboundEmailStatusCount;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Caixa de saída de e-mails: grava as mensagens e mantém o estado de envio e de novas tentativas.
+ * O envio em si fica com o {@link EmailOutboxDispatcher}.
+ */
+@Service
+@Log4j2
+public class EmailOutbox {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboundEmailRepository outboundEmailRepository;
+    private final int maxAttempts;
+    private final Duration retryBaseDelay;
+    private final Duration retryMaxDelay;
+    private final Duration lease;
+
+    public EmailOutbox(OutboundEmailRepository outboundEmailRepository,
+                       @Value("${email.outbox.max-attempts:6}") int maxAttempts,
+                       @Value("${email.outbox.retry-base-delay:1m}") Duration retryBaseDelay,
+                       @Value("${email.outbox.retry-max-delay:6h}") Duration retryMaxDelay,
+                       @Value("${email.outbox.lease:5m}") Duration lease) {
+        this.outboundEmailRepository = outboundEmailRepository;
+        this.maxAttempts = maxAttempts;
+        this.retryBaseDelay = retryBaseDelay;
+        this.retryMaxDelay = retryMaxDelay;
+        this.lease = lease;
+    }
+
+    /**
+     * Coloca um e-mail na fila. Participa da transação de quem chama: se ela for desfeita, o e-mail também é.
+     *
+     * @throws BusinessException se o destinatário não for um endereço válido.
+     */
+    @Transactional
+    public OutboundEmail enqueue(String toEmail, String subject, String htmlBody) {
+        return enqueue(toEmail, new RenderedEmail(subject, htmlBody), null);
+    }
+
+    /**
+     * Coloca na fila um e-mail de um envio em massa; {@code dispatchId} agrupa os e-mails do envio
+     * para o relatório de {@link #countByDispatch}.
+     *
+     * @throws BusinessException se o destinatário não for um endereço válido.
+     */
+    @Transactional
+    public OutboundEmail enqueue(String toEmail, RenderedEmail content, String dispatchId) {
+        String recipient = toEmail == null ? "" : toEmail.trim();
+        int at = recipient.lastIndexOf('@');
+        if (at <= 0 || at == recipient.length() - 1) {
+            throw new BusinessException("Endereço de e-mail inválido: " + toEmail);
+        }
+        OutboundEmail email = outboundEmailRepository.save(OutboundEmail.builder()
+                .recipient(recipient)
+                .recipientDomain(recipient.substring(at + 1).toLowerCase(Locale.ROOT))
+                .subject(content.subject())
+                .htmlBody(content.html())
+                .dispatchId(dispatchId)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+        log.debug("E-mail '{}' para {} colocado na fila", content.subject(), recipient);
+        return email;
+    }
+
+    /**
+     * Situação dos e-mails de um envio em massa, por status, com quantos foram adiados pelo limite por domínio.
+     */
+    @Transactional(readOnly = true)
+    public List<OutboundEmailStatusCount> countByDispatch(String dispatchId) {
+        return outboundEmailRepository.countByDispatch(dispatchId);
+    }
+
+    /**
+     * Reserva até {@code limit} e-mails prontos para envio, marcando-os como {@code SENDING} até o fim do lease.
+     */
+    @Transactional
+    public List<OutboundEmail> claim(LocalDateTime now, int limit) {
+        List<OutboundEmail> emails = outboundEmailRepository.findDispatchable(now, Limit.of(limit));
+        for (OutboundEmail email : emails) {
+            email.setStatus(OutboundEmailStatus.SENDING);
+            email.setLeaseUntil(now.plus(lease));
+        }
+        return emails;
+    }
+
+    @Transactional
+    public void markSent(Collection<String> ids, LocalDateTime now) {
+        if (!ids.isEmpty()) {
+            outboundEmailRepository.markSent(ids, OutboundEmailStatus.SENT, now);
+        }
+    }
+
+    /**
+     * Devolve os e-mails à fila para {@code nextAttemptAt}, sem contar tentativa, e registra o adiamento.
+     */
+    @Transactional
+    public void defer(Collection<String> ids, LocalDateTime nextAttemptAt, LocalDateTime now) {
+        if (!ids.isEmpty()) {
+            outboundEmailRepository.reschedule(ids, OutboundEmailStatus.PENDING, nextAttemptAt, now);
+        }
+    }
+
+    /**
+     * Registra uma tentativa que falhou. Erros temporários voltam à fila com espera exponencial
+     * até {@code maxAttempts}; erros permanentes (ex.: endereço inválido) encerram o e-mail.
+     */
+    @Transactional
+    public void recordFailure(OutboundEmail email, String error, boolean permanent, LocalDateTime now) {
+        int attempts = email.getAttempts() + 1;
+        boolean exhausted = permanent || attempts >= maxAttempts;
+        OutboundEmailStatus status = exhausted ? OutboundEmailStatus.FAILED : OutboundEmailStatus.PENDING;
+        String lastError = error == null ? null : error.substring(0, Math.min(error.length(), MAX_ERROR_LENGTH));
+        outboundEmailRepository.recordFailure(email.getId(), status, attempts, now.plus(retryDelay(attempts)), lastError, now);
+        if (exhausted) {
+            log.error("E-mail {} para {} descartado após {} tentativa(s): {}", email.getId(), email.getRecipient(), attempts, error);
+        } else {
+            log.warn("Falha ao enviar e-mail {} para {} (tentativa {}): {}", email.getId(), email.getRecipient(), attempts, error);
+        }
+    }
+
+    /**
+     * Espera antes da tentativa seguinte: {@code retryBaseDelay * 2^(attempts - 1)}, limitada a {@code retryMaxDelay}.
+     */
+    Duration retryDelay(int attempts) {
+        Duration delay = retryBaseDelay.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(retryMaxDelay) > 0 ? retryMaxDelay : delay;
+    }
+}
@@ -0,0 +1,131 @@
+package br.com.hyteck.school_control.usecases.notification;
+
+import br.com.hyteck.school_control.models.email.OutboundEmail;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Envia os e-mails da {@link EmailOutbox}.
+ * <p>
+ * Cada lote é entregue em uma única chamada a {@link JavaMailSender#send(MimeMessage...)}, que abre
+ * uma conexão SMTP (handshake, STARTTLS e autenticação) e envia todas as mensagens por ela, em vez de
+ * uma conexão por e-mail. Falhas são registradas por mensagem; as demais do lote são confirmadas.
+ * Mensagens para domínios acima do limite por minuto voltam à fila sem consumir tentativa.
+ */
+@Component
+@Log4j2
+public class EmailOutboxDispatcher {
+
+    private final EmailOutbox outbox;
+    private final EmailService emailService;
+    private final JavaMailSender mailSender;
+    private final DomainRateLimiter rateLimiter;
+    private final int batchSize;
+
+    public EmailOutboxDispatcher(EmailOutbox outbox, EmailService emailService, JavaMailSender mailSender,
+                                 @Value("${email.outbox.batch-size:50}") int batchSize,
+                                 @Value("${email.outbox.rate-limit.per-domain-per-minute:60}") int perDomainPerMinute) {
+        this.outbox = outbox;
+        this.emailService = emailService;
+        this.mailSender = mailSender;
+        this.batchSize = batchSize;
+        this.rateLimiter = new DomainRateLimiter(perDomainPerMinute);
+    }
+
+    /**
+     * Esvazia a fila em lotes enquanto houver e-mails prontos.
+     */
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval:PT5S}")
+    public void dispatchPending() {
+        try {
+            int claimed;
+            do {
+                claimed = dispatchBatch();
+            } while (claimed == batchSize);
+        } catch (Exception e) {
+            log.error("Scheduler: Erro ao enviar e-mails da fila: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reserva e envia um lote.
+     *
+     * @return Quantidade de e-mails reservados (enviados, adiados ou com falha).
+     */
+    int dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboundEmail> claimed = outbox.claim(now, batchSize);
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        Map<MimeMessage, OutboundEmail> messages = new IdentityHashMap<>();
+        Map<LocalDateTime, List<String>> deferred = new HashMap<>();
+        long nowNanos = System.nanoTime();
+        for (OutboundEmail email : claimed) {
+            Duration wait = rateLimiter.tryAcquire(email.getRecipientDomain(), nowNanos);
+            if (!wait.isZero()) {
+                // Arredonda para o segundo, agrupando os adiamentos do lote em poucos UPDATEs
+                LocalDateTime retryAt = now.plusSeconds(Math.max(1, wait.toSeconds() + 1));
+                deferred.computeIfAbsent(retryAt, t -> new ArrayList<>()).add(email.getId());
+                continue;
+            }
+            try {
+                messages.put(emailService.createMessage(email.getRecipient(), email.getSubject(), email.getHtmlBody()), email);
+            } catch (MessagingException e) {
+                outbox.recordFailure(email, e.getMessage(), true, now);
+            }
+        }
+        deferred.forEach((retryAt, ids) -> outbox.defer(ids, retryAt, now));
+
+        if (!messages.isEmpty()) {
+            send(messages, now);
+        }
+        return claimed.size();
+    }
+
+    private void send(Map<MimeMessage, OutboundEmail> messages, LocalDateTime now) {
+        Map<Object, Exception> failures;
+        try {
+            mailSender.send(messages.keySet().toArray(MimeMessage[]::new));
+            failures = Map.of();
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages();
+            if (failures.isEmpty()) {
+                failures = allFailed(messages, e);
+            }
+        } catch (MailException e) {
+            // Ex.: falha de autenticação; nada do lote foi enviado
+            failures = allFailed(messages, e);
+        }
+
+        List<String> sent = new ArrayList<>(messages.size());
+        for (Map.Entry<MimeMessage, OutboundEmail> entry : messages.entrySet()) {
+            Exception failure = failures.get(entry.getKey());
+            if (failure == null) {
+                sent.add(entry.getValue().getId());
+            } else {
+                outbox.recordFailure(entry.getValue(), failure.getMessage(), false, now);
+            }
+        }
+        outbox.markSent(sent, now);
+        log.info("Fila de e-mails: {} enviados, {} com falha.", sent.size(), messages.size() - sent.size());
+    }
+
+    private static Map<Object, Exception> allFailed(Map<MimeMessage, OutboundEmail> messages, Exception e) {
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        messages.keySet().forEach(message -> failures.put(message, e));
+        return failures;
+    }
+}
@@ -12,7 +12,6 @@ import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -20,6 +19,8 @@ public class EmailService {
 
     private static final Logger logger = LoggerFactory.getLogger(EmailService.class);
     private final JavaMailSender mailSender;
+    private final EmailOutbox outbox;
+    private final EmailTemplateEngine templateEngine;
 
     @Value("${spring.mail.username}")
     private String fromEmail;
@@ -27,32 +28,32 @@ public class EmailService {
     @Value("${app.base-url:http://localhost:8080}")
     private String appBaseUrl;
 
-    public EmailService(JavaMailSender mailSender) {
+    public EmailService(JavaMailSender mailSender, EmailOutbox outbox, EmailTemplateEngine templateEngine) {
         this.mailSender = mailSender;
+        this.outbox = outbox;
+        this.templateEngine = templateEngine;
     }
 
-    @Async
+    /**
+     * Coloca o email de verificação na caixa de saída; o envio é feito pelo {@link EmailOutboxDispatcher}
+     * e sobrevive a reinícios da aplicação.
+     */
     public void send(VerificationToken verificationToken) {
-        String subject = "Ativação de Conta - Espaço do Saber";
-
-        sendGenericNotificationEmail(verificationToken.getUser().getEmail(), subject, getBodyMessage(verificationToken));
+        String verificationUrl = appBaseUrl + "/auth/verify?token=" + verificationToken.getToken(); // Endpoint de verificação
+        enqueue(verificationToken.getUser().getEmail(), EmailTemplate.VERIFICATION,
+                verificationToken.getUser().getUsername(), verificationUrl);
 
-        logger.info("Email de verificação enviado para {}", verificationToken.getUser().getEmail());
+        logger.info("Email de verificação para {} colocado na fila de envio", verificationToken.getUser().getEmail());
     }
 
-    private String getBodyMessage(VerificationToken verificationToken) {
-        String verificationUrl = appBaseUrl + "/auth/verify?token=" + verificationToken.getToken(); // Endpoint de verificação
-        return """
-                <html><body>
-                <h2>Bem-vindo ao School Control!</h2>
-                <p>Clique no link abaixo para ativar sua conta:</p>
-                <p><a href="%s">Ativar Minha Conta</a></p>
-                <p>Se você não se registrou, por favor ignore este email.</p>
-                <p>O link expira em 24 horas.</p>
-                <br/>
-                <p>Atenciosamente,<br/>Equipe School Control</p>
-                </body></html>
-                """.formatted(verificationUrl);
+    /**
+     * Renderiza o modelo e coloca o email na caixa de saída.
+     *
+     * @param values Valores na ordem de {@link EmailTemplate#parameters()}.
+     */
+    public void enqueue(String toEmail, EmailTemplate template, Object... values) {
+        RenderedEmail email = templateEngine.render(template, values);
+        outbox.enqueue(toEmail, email.subject(), email.html());
     }
 
     @SneakyThrows
@@ -65,14 +66,8 @@ public class EmailService {
             logger.warn("Email de notificação genérica não enviado. Email vazio.");
             return;
         }
-        MimeMessage mimeMessage = mailSender.createMimeMessage();
         try {
-            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
-            helper.setFrom(fromEmail);
-            helper.setTo(toEmail);
-            helper.setSubject(subject);
-            helper.setText(htmlBodyContent, true); // true para HTML
-
+            MimeMessage mimeMessage = createMessage(toEmail, subject, htmlBodyContent);
             mailSender.send(mimeMessage);
             logger.info("Email de notificação genérica enviado para {}", toEmail);
         } catch (MailException | MessagingException e) {
@@ -81,4 +76,16 @@ public class EmailService {
         }
     }
 
+    /**
+     * Monta a mensagem HTML com o remetente padrão, sem enviá-la.
+     */
+    public MimeMessage createMessage(String toEmail, String subject, String htmlBodyContent) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
+        helper.setFrom(fromEmail);
+        helper.setTo(toEmail);
+        helper.setSubject(subject);
+        helper.setText(htmlBodyContent, true); // true para HTML
+        return mimeMessage;
+    }
 }
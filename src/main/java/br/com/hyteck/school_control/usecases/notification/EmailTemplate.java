@@ -0,0 +1,40 @@
+package br.com.hyteck.school_control.usecases.notification;
+
+import java.util.List;
+
+/**
+ * Modelos de e-mail disponíveis. O corpo fica em {@code templates/email/<nome>.html}; o corpo e o
+ * assunto usam marcadores {@code {{parametro}}}, que precisam estar entre os {@link #parameters()}.
+ * Os valores são passados na ordem dos parâmetros declarados.
+ */
+public enum EmailTemplate {
+
+    VERIFICATION("verification", "Ativação de Conta - Espaço do Saber",
+            "nome", "link"),
+    NEW_INVOICE("new-invoice", "Nova fatura de {{referencia}} - Espaço do Saber",
+            "nome", "aluno", "referencia", "valor", "vencimento", "link"),
+    OVERDUE_REMINDER("overdue-reminder", "Fatura de {{referencia}} em atraso - Espaço do Saber",
+            "nome", "referencia", "valor", "vencimento", "diasAtraso", "link");
+
+    private final String resourceName;
+    private final String subject;
+    private final List<String> parameters;
+
+    EmailTemplate(String resourceName, String subject, String... parameters) {
+        this.resourceName = resourceName;
+        this.subject = subject;
+        this.parameters = List.of(parameters);
+    }
+
+    public String resource() {
+        return "classpath:templates/email/" + resourceName + ".html";
+    }
+
+    public String subject() {
+        return subject;
+    }
+
+    public List<String> parameters() {
+        return parameters;
+    }
+}
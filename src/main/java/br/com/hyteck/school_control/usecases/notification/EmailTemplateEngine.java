@@ -0,0 +1,168 @@
+package br.com.hyteck.school_control.usecases.notification;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Renderiza os {@link EmailTemplate}s.
+ * <p>
+ * Cada modelo é lido e compilado uma única vez, na inicialização, em um plano de renderização:
+ * trechos literais intercalados com o índice do parâmetro a inserir. Renderizar é só percorrer o
+ * plano escrevendo no buffer, sem reanalisar o texto. Um marcador desconhecido ou mal fechado
+ * impede a aplicação de subir, em vez de aparecer no e-mail do usuário.
+ * <p>
+ * Os valores do corpo são escapados para HTML; os do assunto não, pois o assunto é texto puro.
+ */
+@Component
+@Log4j2
+public class EmailTemplateEngine {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final Map<EmailTemplate, RenderPlan> bodies = new EnumMap<>(EmailTemplate.class);
+    private final Map<EmailTemplate, RenderPlan> subjects = new EnumMap<>(EmailTemplate.class);
+
+    public EmailTemplateEngine(ResourceLoader resourceLoader) {
+        for (EmailTemplate template : EmailTemplate.values()) {
+            bodies.put(template, compile(template, read(resourceLoader.getResource(template.resource())), true));
+            subjects.put(template, compile(template, template.subject(), false));
+        }
+        log.info("{} modelos de e-mail compilados.", bodies.size());
+    }
+
+    /**
+     * Renderiza assunto e corpo do modelo.
+     *
+     * @param values Valores na ordem de {@link EmailTemplate#parameters()}; {@code null} vira texto vazio.
+     * @throws IllegalArgumentException se a quantidade de valores não corresponder aos parâmetros.
+     */
+    public RenderedEmail render(EmailTemplate template, Object... values) {
+        String[] text = toText(template, values);
+        RenderPlan body = bodies.get(template);
+        StringBuilder html = new StringBuilder(body.estimateLength(text));
+        body.writeTo(html, text);
+        StringBuilder subject = new StringBuilder(subjects.get(template).estimateLength(text));
+        subjects.get(template).writeTo(subject, text);
+        return new RenderedEmail(subject.toString(), html.toString());
+    }
+
+    /**
+     * Renderiza o modelo usando os valores por nome de parâmetro.
+     */
+    public RenderedEmail render(EmailTemplate template, Map<String, ?> values) {
+        Object[] ordered = new Object[template.parameters().size()];
+        for (int i = 0; i < ordered.length; i++) {
+            ordered[i] = values.get(template.parameters().get(i));
+        }
+        return render(template, ordered);
+    }
+
+    /**
+     * Escreve o corpo HTML no buffer informado, sem limpá-lo. Para envios em massa, o chamador pode
+     * reutilizar o mesmo buffer ({@code setLength(0)}) entre as mensagens.
+     */
+    public void writeBody(EmailTemplate template, StringBuilder out, Object... values) {
+        bodies.get(template).writeTo(out, toText(template, values));
+    }
+
+    private static String[] toText(EmailTemplate template, Object[] values) {
+        if (values.length != template.parameters().size()) {
+            throw new IllegalArgumentException("O modelo " + template + " espera os parâmetros "
+                    + template.parameters() + ", mas recebeu " + values.length + " valores.");
+        }
+        String[] text = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            text[i] = values[i] == null ? "" : values[i].toString();
+        }
+        return text;
+    }
+
+    static RenderPlan compile(EmailTemplate template, String source, boolean escapeHtml) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        int from = 0;
+        int open;
+        while ((open = source.indexOf(OPEN, from)) >= 0) {
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalStateException("Modelo de e-mail " + template + ": marcador sem fechamento na posição " + open + ".");
+            }
+            String name = source.substring(open + OPEN.length(), close).trim();
+            int slot = template.parameters().indexOf(name);
+            if (slot < 0) {
+                throw new IllegalStateException("Modelo de e-mail " + template + ": parâmetro desconhecido {{" + name
+                        + "}}. Parâmetros declarados: " + template.parameters() + ".");
+            }
+            literals.add(source.substring(from, open));
+            slots.add(slot);
+            from = close + CLOSE.length();
+        }
+        literals.add(source.substring(from));
+        return new RenderPlan(literals.toArray(String[]::new), slots.stream().mapToInt(Integer::intValue).toArray(), escapeHtml);
+    }
+
+    private static String read(Resource resource) {
+        try (InputStream inputStream = resource.getInputStream()) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Não foi possível ler o modelo de e-mail " + resource.getDescription(), e);
+        }
+    }
+
+    /**
+     * Modelo compilado: {@code literals[i]}, seguido do valor {@code slots[i]}, ..., e o último literal.
+     */
+    record RenderPlan(String[] literals, int[] slots, boolean escapeHtml) {
+
+        int estimateLength(String[] values) {
+            int length = 0;
+            for (String literal : literals) {
+                length += literal.length();
+            }
+            for (int slot : slots) {
+                length += values[slot].length();
+            }
+            // Folga para as entidades do escape
+            return length + (length >> 4);
+        }
+
+        void writeTo(StringBuilder out, String[] values) {
+            for (int i = 0; i < slots.length; i++) {
+                out.append(literals[i]);
+                if (escapeHtml) {
+                    appendEscaped(out, values[slots[i]]);
+                } else {
+                    out.append(values[slots[i]]);
+                }
+            }
+            out.append(literals[slots.length]);
+        }
+
+        private static void appendEscaped(StringBuilder out, String value) {
+            int start = 0;
+            for (int i = 0; i < value.length(); i++) {
+                String entity = switch (value.charAt(i)) {
+                    case '&' -> "&amp;";
+                    case '<' -> "&lt;";
+                    case '>' -> "&gt;";
+                    case '"' -> "&quot;";
+                    case '\'' -> "&#39;";
+                    default -> null;
+                };
+                if (entity != null) {
+                    out.append(value, start, i).append(entity);
+                    start = i + 1;
+                }
+            }
+            out.append(value, start, value.length());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.hyteck.school_control.usecases.notification;
+
+import br.com.hyteck.school_control.repositories.NotificationRepository;
+import br.com.hyteck.school_control.web.dtos.CursorPage;
+import br.com.hyteck.school_control.web.dtos.KeysetCursor;
+import br.com.hyteck.school_control.web.dtos.NotificationResponse;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Feed de notificações do usuário, paginado por keyset sobre {@code (createdAt, id)}.
+ * Cada página custa o mesmo independente da profundidade e não executa consulta de contagem.
+ */
+@Log4j2
+@Service
+public class FindNotificationFeed {
+
+    static final int MAX_PAGE_SIZE = 100;
+
+    private final NotificationRepository notificationRepository;
+
+    public FindNotificationFeed(NotificationRepository notificationRepository) {
+        this.notificationRepository = notificationRepository;
+    }
+
+    /**
+     * Busca uma página do feed.
+     *
+     * @param userId ID do usuário.
+     * @param cursor Cursor retornado pela página anterior; nulo para as notificações mais recentes.
+     * @param size   Tamanho da página (limitado a {@value #MAX_PAGE_SIZE}).
+     * @return A página de notificações, da mais recente para a mais antiga.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<NotificationResponse> execute(String userId, String cursor, int size) {
+        log.debug("Buscando feed de notificações para o usuário: {}, cursor: {}", userId, cursor);
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        Limit limit = Limit.of(pageSize + 1);
+
+        KeysetCursor keyset = KeysetCursor.decode(cursor);
+        List<NotificationResponse> rows = keyset == null
+                ? notificationRepository.findFeed(userId, limit)
+                : notificationRepository.findFeedAfter(userId, keyset.timestamp(), keyset.id(), limit);
+
+        return CursorPage.of(rows, pageSize, notification -> new KeysetCursor(notification.createdAt(), notification.id()));
+    }
+}
@@ -1,24 +1,25 @@
 package br.com.hyteck.school_control.usecases.notification;
 
-import br.com.hyteck.school_control.repositories.NotificationRepository;
 import lombok.extern.log4j.Log4j2;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Log4j2
 @Service
 public class GetUnreadNotificationCountUseCase {
-    private final NotificationRepository notificationRepository;
+    private final UnreadNotificationCounter unreadCounter;
 
-    public GetUnreadNotificationCountUseCase(NotificationRepository notificationRepository) {
-        this.notificationRepository = notificationRepository;
+    public GetUnreadNotificationCountUseCase(UnreadNotificationCounter unreadCounter) {
+        this.unreadCounter = unreadCounter;
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Contagem de não lidas do usuário. Vem do contador em memória; o banco só é consultado
+     * quando o usuário ainda não está em cache.
+     */
     public long execute(String userId) {
         log.debug("Buscando contagem de notificações não lidas para o usuário {}", userId);
-        return notificationRepository.countByUserIdAndReadFalse(userId);
+        return unreadCounter.get(userId);
     }
 }
\ No newline at end of file
@@ -1,10 +1,12 @@
 // E:/IdeaProjects/school-control-java/src/main/java/br/com/hyteck/school_control/usecases/notification/MarkAllUserNotificationsAsReadUseCase.java
 package br.com.hyteck.school_control.usecases.notification;
 
+import br.com.hyteck.school_control.events.NotificationsReadEvent;
 import br.com.hyteck.school_control.repositories.NotificationRepository;
 import lombok.extern.log4j.Log4j2;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,9 +16,12 @@ import java.time.LocalDateTime;
 @Service
 public class MarkAllUserNotificationsAsReadUseCase {
     private final NotificationRepository notificationRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public MarkAllUserNotificationsAsReadUseCase(NotificationRepository notificationRepository) {
+    public MarkAllUserNotificationsAsReadUseCase(NotificationRepository notificationRepository,
+                                                 ApplicationEventPublisher eventPublisher) {
         this.notificationRepository = notificationRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -24,6 +29,9 @@ public class MarkAllUserNotificationsAsReadUseCase {
         log.debug("Tentando marcar todas as notificações como lidas para o usuário {}", userId);
         int updatedCount = notificationRepository.markAllAsReadForUser(userId, LocalDateTime.now());
         log.info("{} notificações marcadas como lidas para o usuário {}", updatedCount, userId);
+        if (updatedCount > 0) {
+            eventPublisher.publishEvent(new NotificationsReadEvent(this, userId, updatedCount));
+        }
         return updatedCount;
     }
 }
\ No newline at end of file
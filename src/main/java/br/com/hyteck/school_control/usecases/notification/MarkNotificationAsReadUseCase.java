@@ -1,11 +1,13 @@
 // E:/IdeaProjects/school-control-java/src/main/java/br/com/hyteck/school_control/usecases/notification/MarkNotificationAsReadUseCase.java
 package br.com.hyteck.school_control.usecases.notification;
 
+import br.com.hyteck.school_control.events.NotificationsReadEvent;
 import br.com.hyteck.school_control.models.Notification;
 import br.com.hyteck.school_control.repositories.NotificationRepository;
 import br.com.hyteck.school_control.web.dtos.NotificationResponse;
 import lombok.AllArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,6 +24,7 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class MarkNotificationAsReadUseCase {
     private final NotificationRepository notificationRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Marks a notification as read for a given user and notification ID.
@@ -44,6 +47,7 @@ public class MarkNotificationAsReadUseCase {
             notification.setRead(true);
             notification.setReadAt(LocalDateTime.now());
             Notification updatedNotification = notificationRepository.save(notification);
+            eventPublisher.publishEvent(new NotificationsReadEvent(this, userId, 1));
             log.info("Notificação ID {} marcada como lida para o usuário {}", notificationId, userId);
             return NotificationResponse.from(updatedNotification);
         } else {
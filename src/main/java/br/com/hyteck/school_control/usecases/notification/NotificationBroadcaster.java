@@ -0,0 +1,141 @@
+package br.com.hyteck.school_control.usecases.notification;
+
+import br.com.hyteck.school_control.web.dtos.NotificationResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Mantém as conexões Server-Sent Events abertas e entrega a elas as notificações criadas.
+ * <p>
+ * As conexões usam o suporte assíncrono do servlet ({@link SseEmitter}): nenhuma thread fica presa
+ * enquanto o cliente espera. O envio acontece em threads virtuais, fora da thread que criou a
+ * notificação, para que um cliente lento não atrase quem publica. A contagem de não lidas vem do
+ * {@link UnreadNotificationCounter}.
+ */
+@Component
+@Log4j2
+public class NotificationBroadcaster {
+
+    static final String NOTIFICATION_EVENT = "notification";
+    static final String UNREAD_COUNT_EVENT = "unread-count";
+
+    private final UnreadNotificationCounter unreadCounter;
+    private final long timeoutMillis;
+    private final Map<String, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    public NotificationBroadcaster(UnreadNotificationCounter unreadCounter,
+                                   @Value("${notifications.stream.timeout:PT30M}") Duration timeout) {
+        this.unreadCounter = unreadCounter;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    /**
+     * Abre uma conexão para o usuário e envia a contagem atual de não lidas.
+     *
+     * @param userId O ID do usuário autenticado.
+     * @return O emitter a ser devolvido pelo controller.
+     */
+    public SseEmitter subscribe(String userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        emitters.compute(userId, (id, userEmitters) -> {
+            Set<SseEmitter> registered = userEmitters != null ? userEmitters : new CopyOnWriteArraySet<>();
+            registered.add(emitter);
+            return registered;
+        });
+        emitter.onCompletion(() -> unsubscribe(userId, emitter));
+        emitter.onTimeout(() -> unsubscribe(userId, emitter));
+        emitter.onError(e -> unsubscribe(userId, emitter));
+        log.debug("Stream de notificações aberto para o usuário {}", userId);
+
+        send(userId, emitter, SseEmitter.event().name(UNREAD_COUNT_EVENT)
+                .data(Map.of("count", unreadCounter.get(userId))));
+        return emitter;
+    }
+
+    /**
+     * Envia as notificações aos destinatários conectados, seguidas da nova contagem de não lidas.
+     */
+    public void publish(Collection<NotificationResponse> notifications) {
+        Map<String, List<NotificationResponse>> byUser = notifications.stream()
+                .filter(notification -> emitters.containsKey(notification.userId()))
+                .collect(Collectors.groupingBy(NotificationResponse::userId));
+        byUser.forEach((userId, userNotifications) -> senders.execute(() -> {
+            for (NotificationResponse notification : userNotifications) {
+                broadcast(userId, SseEmitter.event().name(NOTIFICATION_EVENT).id(notification.id()).data(notification));
+            }
+            sendUnreadCount(userId);
+        }));
+    }
+
+    /**
+     * Envia a contagem de não lidas ao usuário, se ele estiver conectado.
+     */
+    public void publishUnreadCount(String userId) {
+        if (emitters.containsKey(userId)) {
+            senders.execute(() -> sendUnreadCount(userId));
+        }
+    }
+
+    public int connectionCount() {
+        return emitters.values().stream().mapToInt(Set::size).sum();
+    }
+
+    /**
+     * Comentário periódico: mantém a conexão viva em proxies e descobre clientes que já saíram.
+     */
+    @Scheduled(fixedDelayString = "${notifications.stream.heartbeat:PT30S}")
+    public void heartbeat() {
+        emitters.forEach((userId, userEmitters) -> senders.execute(
+                () -> broadcast(userId, SseEmitter.event().comment("ping"))));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        emitters.values().forEach(userEmitters -> userEmitters.forEach(SseEmitter::complete));
+        emitters.clear();
+        senders.shutdown();
+    }
+
+    private void sendUnreadCount(String userId) {
+        long count = unreadCounter.get(userId);
+        broadcast(userId, SseEmitter.event().name(UNREAD_COUNT_EVENT).data(Map.of("count", count)));
+    }
+
+    private void broadcast(String userId, SseEmitter.SseEventBuilder event) {
+        Set<SseEmitter> userEmitters = emitters.get(userId);
+        if (userEmitters != null) {
+            userEmitters.forEach(emitter -> send(userId, emitter, event));
+        }
+    }
+
+    private void send(String userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Conexão de notificações do usuário {} encerrada: {}", userId, e.getMessage());
+            unsubscribe(userId, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void unsubscribe(String userId, SseEmitter emitter) {
+        emitters.computeIfPresent(userId, (id, userEmitters) -> {
+            userEmitters.remove(emitter);
+            return userEmitters.isEmpty() ? null : userEmitters;
+        });
+    }
+}
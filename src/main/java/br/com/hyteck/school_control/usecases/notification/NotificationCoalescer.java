@@ -0,0 +1,76 @@
+package br.com.hyteck.school_control.usecases.notification;
+
+import br.com.hyteck.school_control.models.Notification;
+import br.com.hyteck.school_control.repositories.NotificationRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Agrupa notificações semelhantes: uma nova notificação do mesmo {@code type} para o mesmo usuário,
+ * dentro de {@code window} desde a anterior ainda não lida, é somada a ela em vez de gerar outra linha.
+ * A notificação agrupada fica com a mensagem e o link mais recentes e com a quantidade em
+ * {@link Notification#getOccurrences()}.
+ * <p>
+ * Notificações sem {@code type} nunca são agrupadas. Se {@code types} for informado, só esses tipos são.
+ */
+@Component
+@Log4j2
+public class NotificationCoalescer {
+
+    private final NotificationRepository notificationRepository;
+    private final Duration window;
+    private final Set<String> types;
+
+    public NotificationCoalescer(NotificationRepository notificationRepository,
+                                 @Value("${notifications.coalesce.window:10m}") Duration window,
+                                 @Value("${notifications.coalesce.types:}") Set<String> types) {
+        this.notificationRepository = notificationRepository;
+        this.window = window;
+        this.types = types;
+    }
+
+    /**
+     * Indica se notificações deste tipo podem ser agrupadas.
+     */
+    public boolean appliesTo(String type) {
+        return !window.isZero() && type != null && (types.isEmpty() || types.contains(type));
+    }
+
+    /**
+     * Soma a notificação à última semelhante do usuário, se houver uma dentro da janela.
+     * Deve ser chamado dentro de uma transação: a notificação encontrada fica bloqueada até o commit.
+     *
+     * @return A notificação agrupada (gerenciada, gravada no commit) ou vazio se uma nova deve ser criada.
+     */
+    public Optional<Notification> merge(String userId, String message, String link, String type) {
+        if (!appliesTo(type)) {
+            return Optional.empty();
+        }
+        LocalDateTime since = LocalDateTime.now().minus(window);
+        return notificationRepository.findCoalescible(userId, type, since, Limit.of(1)).stream()
+                .findFirst()
+                .map(existing -> {
+                    absorb(existing, message, link);
+                    log.debug("Notificação {} do usuário {} agrupada ({} ocorrências)", type, userId, existing.getOccurrences());
+                    return existing;
+                });
+    }
+
+    /**
+     * Soma mais uma ocorrência à notificação, mantendo a mensagem e o link mais recentes.
+     */
+    static void absorb(Notification notification, String message, String link) {
+        notification.setOccurrences(notification.getOccurrences() + 1);
+        notification.setMessage(message);
+        if (link != null) {
+            notification.setLink(link);
+        }
+    }
+}
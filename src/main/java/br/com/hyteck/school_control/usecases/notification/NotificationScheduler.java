@@ -0,0 +1,29 @@
+package br.com.hyteck.school_control.usecases.notification;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+@Component
+@Log4j2
+public class NotificationScheduler {
+    private final ApplyNotificationRetention applyNotificationRetention;
+
+    public NotificationScheduler(ApplyNotificationRetention applyNotificationRetention) {
+        this.applyNotificationRetention = applyNotificationRetention;
+    }
+
+    /**
+     * Roda de madrugada, fora do horário de uso; o job já é limitado por lotes e pausas.
+     */
+    @Scheduled(cron = "${notifications.retention.cron:0 15 3 * * *}")
+    public void applyRetention() {
+        try {
+            applyNotificationRetention.execute(LocalDateTime.now());
+        } catch (Exception e) {
+            log.error("Scheduler: Erro ao aplicar retenção de notificações: {}", e.getMessage(), e);
+        }
+    }
+}
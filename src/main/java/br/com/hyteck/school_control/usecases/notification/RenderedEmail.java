@@ -0,0 +1,7 @@
+package br.com.hyteck.school_control.usecases.notification;
+
+/**
+ * Assunto e corpo HTML de um e-mail já renderizado a partir de um {@link EmailTemplate}.
+ */
+public record RenderedEmail(String subject, String html) {
+}
@@ -0,0 +1,97 @@
+package br.com.hyteck.school_control.usecases.notification;
+
+import br.com.hyteck.school_control.repositories.NotificationRepository;
+import br.com.hyteck.school_control.web.dtos.notification.UnreadNotificationCount;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Contador de notificações não lidas por usuário, mantido em memória.
+ * <p>
+ * O valor é lido do banco na primeira consulta do usuário e depois ajustado pelos eventos de
+ * criação e leitura (aplicados após o commit). Ajustes para usuários fora do cache são ignorados:
+ * a próxima consulta lê o valor atualizado do banco. Como a leitura inicial pode cruzar com um
+ * ajuste em andamento, {@link #reconcile()} recalcula periodicamente os usuários em cache.
+ */
+@Component
+@Log4j2
+public class UnreadNotificationCounter {
+
+    private static final int RECONCILE_BATCH_SIZE = 500;
+
+    private final NotificationRepository notificationRepository;
+    private final Cache<String, Long> counts;
+
+    public UnreadNotificationCounter(NotificationRepository notificationRepository,
+                                     @Value("${notifications.unread-count.max-users:10000}") long maxUsers,
+                                     @Value("${notifications.unread-count.expire-after-access:PT1H}") Duration expireAfterAccess) {
+        this.notificationRepository = notificationRepository;
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+    }
+
+    /**
+     * Quantidade de notificações não lidas do usuário; consulta o banco apenas se ele não estiver em cache.
+     */
+    public long get(String userId) {
+        return counts.get(userId, notificationRepository::countByUserIdAndReadFalse);
+    }
+
+    /**
+     * Soma {@code delta} ao contador do usuário (negativo para leituras), sem ficar abaixo de zero.
+     */
+    public void add(String userId, long delta) {
+        counts.asMap().computeIfPresent(userId, (id, count) -> Math.max(0, count + delta));
+    }
+
+    public void invalidate(String userId) {
+        counts.invalidate(userId);
+    }
+
+    /**
+     * Recalcula, em lotes, os contadores dos usuários em cache. Um contador alterado durante a
+     * consulta é mantido como está e conferido na próxima execução.
+     */
+    @Scheduled(fixedDelayString = "${notifications.unread-count.reconcile-interval:PT10M}",
+            initialDelayString = "${notifications.unread-count.reconcile-interval:PT10M}")
+    public void reconcile() {
+        List<String> userIds = new ArrayList<>(counts.asMap().keySet());
+        int corrected = 0;
+        for (int from = 0; from < userIds.size(); from += RECONCILE_BATCH_SIZE) {
+            List<String> batch = userIds.subList(from, Math.min(from + RECONCILE_BATCH_SIZE, userIds.size()));
+            Map<String, Long> snapshot = new HashMap<>();
+            for (String userId : batch) {
+                // Leitura "quieta": a reconciliação não conta como acesso, senão nenhum contador expiraria
+                Long cached = counts.policy().getIfPresentQuietly(userId);
+                if (cached != null) {
+                    snapshot.put(userId, cached);
+                }
+            }
+            if (snapshot.isEmpty()) {
+                continue;
+            }
+            Map<String, Long> actual = new HashMap<>();
+            for (UnreadNotificationCount count : notificationRepository.countUnreadByUserIds(snapshot.keySet())) {
+                actual.put(count.userId(), count.count());
+            }
+            for (Map.Entry<String, Long> cached : snapshot.entrySet()) {
+                long count = actual.getOrDefault(cached.getKey(), 0L);
+                if (cached.getValue() != count && counts.asMap().replace(cached.getKey(), cached.getValue(), count)) {
+                    corrected++;
+                }
+            }
+        }
+        if (corrected > 0) {
+            log.info("Reconciliação de notificações não lidas: {} de {} contadores corrigidos.", corrected, userIds.size());
+        }
+    }
+}
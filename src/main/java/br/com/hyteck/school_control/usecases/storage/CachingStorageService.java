@@ -0,0 +1,436 @@
+package br.com.hyteck.school_control.usecases.storage;
+
+import br.com.hyteck.school_control.exceptions.StorageException;
+import br.com.hyteck.school_control.web.dtos.storage.StorageCacheStats;
+import br.com.hyteck.school_control.web.dtos.storage.StoredFileResponse;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * {@link StorageService} decorator that keeps recently read remote objects on local disk.
+ * <p>
+ * Reads go through an LRU index bounded by {@code maxSizeBytes}; least recently used files are
+ * deleted when the cache is over capacity or the disk has less than {@code minFreeBytes} available.
+ * Concurrent misses for the same object share a single download. Writes go straight to the delegate.
+ * The index is rebuilt from the cache directory on startup, ordered by last access.
+ * <p>
+ * A cached file is pinned while a stream opened through {@link #loadAsResource} is reading it,
+ * and eviction skips pinned files until the stream is closed.
+ */
+@Log4j2
+public class CachingStorageService implements StorageService {
+
+    private final StorageService delegate;
+    private final Path cacheLocation;
+    private final long maxSizeBytes;
+    private final long minFreeBytes;
+
+    /**
+     * Cached files by key hash, in access order (eldest first). Guarded by {@code this}.
+     */
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long currentSize;
+    /**
+     * Open streams per cached file. Guarded by {@code this}.
+     */
+    private final Map<String, Integer> pins = new HashMap<>();
+    private final Map<String, CompletableFuture<Path>> downloads = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public CachingStorageService(StorageService delegate, Path cacheLocation, long maxSizeBytes, long minFreeBytes) {
+        this.delegate = delegate;
+        this.cacheLocation = cacheLocation;
+        this.maxSizeBytes = maxSizeBytes;
+        this.minFreeBytes = minFreeBytes;
+        init();
+    }
+
+    /**
+     * Creates the cache directory and indexes the files left by a previous run.
+     */
+    @Override
+    public void init() {
+        try {
+            Files.createDirectories(cacheLocation);
+            try (Stream<Path> files = Files.list(cacheLocation)) {
+                List<Path> cached = files.filter(Files::isRegularFile)
+                        .filter(file -> !file.getFileName().toString().startsWith("."))
+                        .sorted(Comparator.comparing(CachingStorageService::lastModified))
+                        .toList();
+                synchronized (this) {
+                    entries.clear();
+                    currentSize = 0;
+                    for (Path file : cached) {
+                        long size = Files.size(file);
+                        entries.put(file.getFileName().toString(), size);
+                        currentSize += size;
+                    }
+                    evictIfNeeded();
+                }
+            }
+            log.info("Cache local de armazenamento em {}: {} arquivos, {} bytes", cacheLocation, entries.size(), currentSize);
+        } catch (IOException e) {
+            throw new StorageException("Could not initialize storage cache", e);
+        }
+    }
+
+    @Override
+    public String store(InputStream inputStream, String filename, long size) {
+        return delegate.store(inputStream, filename, size);
+    }
+
+    @Override
+    public String store(Path file, String filename) {
+        return delegate.store(file, filename);
+    }
+
+    @Override
+    public Page<StoredFileResponse> list(Pageable pageable) {
+        return delegate.list(pageable);
+    }
+
+    /**
+     * Returns the local copy of a remote object, downloading it on a miss.
+     * The path is not pinned and may be evicted by later reads; prefer {@link #loadAsResource} to stream content.
+     *
+     * @param filename the remote name or URL returned by {@link #store}
+     * @return the cached file, or the delegate's path if the object is larger than the cache
+     * @throws StorageException if the object does not fit in the cache and the delegate has no local path for it
+     */
+    @Override
+    public Path load(String filename) {
+        Path cached = cached(filename);
+        if (cached != null) {
+            return cached;
+        }
+        Path path = delegate.load(filename);
+        if (path == null) {
+            throw new StorageException("File is larger than the local cache and has no local path, read it with loadAsResource: " + filename);
+        }
+        return path;
+    }
+
+    /**
+     * Returns the object as a resource backed by the cached copy, or streamed from the delegate
+     * without caching if it is larger than the cache.
+     */
+    @Override
+    public Resource loadAsResource(String filename) {
+        Path cached = cached(filename);
+        return cached != null ? new CachedFileResource(filename, cached) : delegate.loadAsResource(filename);
+    }
+
+    /**
+     * Deletes the object from the delegate and drops its cached copy.
+     */
+    @Override
+    public void delete(String filename) {
+        delegate.delete(filename);
+        synchronized (this) {
+            remove(keyOf(filename));
+        }
+    }
+
+    /**
+     * Clears the local cache and the delegate.
+     */
+    @Override
+    public void deleteAll() {
+        clear();
+        delegate.deleteAll();
+    }
+
+    /**
+     * Removes every cached file, keeping the remote objects.
+     */
+    public synchronized void clear() {
+        new ArrayList<>(entries.keySet()).forEach(this::remove);
+    }
+
+    public StorageCacheStats stats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long requests = hitCount + missCount;
+        synchronized (this) {
+            return new StorageCacheStats(hitCount, missCount, requests == 0 ? 0d : (double) hitCount / requests,
+                    evictions.get(), entries.size(), currentSize, maxSizeBytes);
+        }
+    }
+
+    /**
+     * Looks up the cache, downloading the object on a miss.
+     *
+     * @return the cached file, or {@code null} if the object does not fit in the cache
+     */
+    private Path cached(String filename) {
+        String key = keyOf(filename);
+        boolean hit;
+        synchronized (this) {
+            hit = entries.get(key) != null;
+        }
+        if (hit) {
+            hits.incrementAndGet();
+            return touch(cacheLocation.resolve(key));
+        }
+        misses.incrementAndGet();
+        CompletableFuture<Path> download = new CompletableFuture<>();
+        CompletableFuture<Path> running = downloads.putIfAbsent(key, download);
+        if (running != null) {
+            return await(running);
+        }
+        try {
+            download.complete(fetch(filename, key));
+        } catch (RuntimeException e) {
+            download.completeExceptionally(e);
+        } finally {
+            downloads.remove(key);
+        }
+        return await(download);
+    }
+
+    private static Path await(CompletableFuture<Path> download) {
+        try {
+            return download.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Path fetch(String filename, String key) {
+        Resource remote = delegate.loadAsResource(filename);
+        if (remote == null) {
+            throw new StorageException("Could not read file: " + filename);
+        }
+        if (contentLength(remote) > maxSizeBytes) {
+            log.debug("{} excede a capacidade do cache; servindo direto do armazenamento remoto", filename);
+            return null;
+        }
+        Path tempFile = null;
+        try {
+            tempFile = Files.createTempFile(cacheLocation, ".download-", ".tmp");
+            long size;
+            try (InputStream inputStream = remote.getInputStream()) {
+                size = Files.copy(inputStream, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            if (size > maxSizeBytes) {
+                log.debug("{} ({} bytes) excede a capacidade do cache; servindo direto do armazenamento remoto", filename, size);
+                return null;
+            }
+            Path target = cacheLocation.resolve(key);
+            Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            synchronized (this) {
+                Long previous = entries.put(key, size);
+                currentSize += size - (previous != null ? previous : 0);
+                evictIfNeeded();
+                return entries.containsKey(key) ? target : null;
+            }
+        } catch (IOException e) {
+            throw new StorageException("Failed to cache file: " + filename, e);
+        } finally {
+            deleteQuietly(tempFile);
+        }
+    }
+
+    /**
+     * Deletes least recently used files until the cache is within capacity and the disk has room.
+     * Pinned files are skipped; the eviction is retried when their last stream is closed.
+     * The most recent entry is kept when only disk pressure remains, so a read in progress is not undone.
+     */
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<String, Long>> eldest = entries.entrySet().iterator();
+        while (eldest.hasNext() && (currentSize > maxSizeBytes || (entries.size() > 1 && lowOnDisk()))) {
+            Map.Entry<String, Long> entry = eldest.next();
+            if (pins.containsKey(entry.getKey())) {
+                continue;
+            }
+            eldest.remove();
+            delete(entry.getKey(), entry.getValue());
+            evictions.incrementAndGet();
+        }
+    }
+
+    private void remove(String key) {
+        Long size = entries.remove(key);
+        if (size != null) {
+            delete(key, size);
+        }
+    }
+
+    private void delete(String key, long size) {
+        currentSize -= size;
+        Path file = cacheLocation.resolve(key);
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Não foi possível remover {} do cache: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Pins a cached file so it is not evicted while read.
+     *
+     * @return {@code false} if the file is no longer in the cache
+     */
+    private synchronized boolean pin(String key) {
+        if (!entries.containsKey(key)) {
+            return false;
+        }
+        pins.merge(key, 1, Integer::sum);
+        return true;
+    }
+
+    private synchronized void unpin(String key) {
+        if (pins.merge(key, -1, Integer::sum) <= 0) {
+            pins.remove(key);
+            evictIfNeeded();
+        }
+    }
+
+    private boolean lowOnDisk() {
+        if (minFreeBytes <= 0) {
+            return false;
+        }
+        try {
+            return Files.getFileStore(cacheLocation).getUsableSpace() < minFreeBytes;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Cache file name for a remote name or URL, which may contain characters unsafe in paths.
+     */
+    static String keyOf(String filename) {
+        return HashingInputStream.sha256Hex(filename);
+    }
+
+    /**
+     * Records the access on the file so the LRU order survives restarts.
+     */
+    private static Path touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException ignored) {
+            // Only affects the order rebuilt on the next startup
+        }
+        return file;
+    }
+
+    /**
+     * Resource over a cached file that pins it for as long as each opened stream is not closed.
+     * If the file was evicted between the lookup and the read, the content is streamed from the delegate.
+     */
+    private final class CachedFileResource extends AbstractResource {
+
+        private final String filename;
+        private final Path file;
+
+        private CachedFileResource(String filename, Path file) {
+            this.filename = filename;
+            this.file = file;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            String key = file.getFileName().toString();
+            if (!pin(key)) {
+                return delegate.loadAsResource(filename).getInputStream();
+            }
+            try {
+                return new FilterInputStream(Files.newInputStream(file)) {
+                    private boolean closed;
+
+                    @Override
+                    public void close() throws IOException {
+                        if (closed) {
+                            return;
+                        }
+                        closed = true;
+                        try {
+                            super.close();
+                        } finally {
+                            unpin(key);
+                        }
+                    }
+                };
+            } catch (IOException | RuntimeException e) {
+                unpin(key);
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean exists() {
+            return true;
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            try {
+                return Files.size(file);
+            } catch (IOException e) {
+                return delegate.loadAsResource(filename).contentLength();
+            }
+        }
+
+        @Override
+        public String getFilename() {
+            return file.getFileName().toString();
+        }
+
+        @Override
+        public String getDescription() {
+            return "cached file [" + file + "] of " + filename;
+        }
+    }
+
+    private static long contentLength(Resource resource) {
+        try {
+            return resource.contentLength();
+        } catch (IOException | IllegalStateException e) {
+            return -1;
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // Best effort cleanup of the temporary file
+        }
+    }
+}
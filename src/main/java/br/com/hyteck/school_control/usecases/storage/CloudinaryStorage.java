@@ -1,30 +1,41 @@
 package br.com.hyteck.school_control.usecases.storage;
 
+import br.com.hyteck.school_control.exceptions.StorageException;
+import br.com.hyteck.school_control.models.storage.StorageBackend;
+import br.com.hyteck.school_control.models.storage.StoredFile;
+import br.com.hyteck.school_control.repositories.StoredFileRepository;
+import br.com.hyteck.school_control.web.dtos.storage.StoredFileResponse;
 import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
+import org.springframework.core.io.UrlResource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
 import java.nio.file.Path;
-import java.util.Arrays;
 import java.util.Map;
-import java.util.stream.Stream;
 
 /**
  * Service implementation for file storage using Cloudinary.
  * Provides methods to upload files to Cloudinary and implements the StorageService interface.
+ * Injected through the {@code cloudinary} qualifier wrapped in a {@link CachingStorageService}
+ * (see {@code StorageConfig}), so reads are served from local disk when possible.
  *
  * @author YourName
  * @since 23
  */
 @Log4j2
 @Service
-@Qualifier("cloudinary")
+@Qualifier("cloudinary-remote")
 public class CloudinaryStorage implements StorageService {
 
     /**
@@ -37,13 +48,29 @@ public class CloudinaryStorage implements StorageService {
      */
     private final String cloudinaryUrl;
 
+    /**
+     * Size of each chunk of a chunked upload (Cloudinary requires at least 5MB).
+     */
+    private final int chunkSize;
+
+    /**
+     * Index of uploaded files, used for listing and deletion without calling the Admin API.
+     */
+    private final StoredFileRepository storedFileRepository;
+
     /**
      * Constructs the CloudinaryStorage service with the given Cloudinary URL.
      *
      * @param cloudinaryUrl the Cloudinary URL from application properties
+     * @param chunkSize     the chunk size used for streaming uploads
+     * @param storedFileRepository the storage index
      */
-    public CloudinaryStorage(@Value("${cloudinary.url}") String cloudinaryUrl) {
+    public CloudinaryStorage(@Value("${cloudinary.url}") String cloudinaryUrl,
+                             @Value("${cloudinary.upload.chunk-size:6000000}") int chunkSize,
+                             StoredFileRepository storedFileRepository) {
         this.cloudinaryUrl = cloudinaryUrl;
+        this.chunkSize = chunkSize;
+        this.storedFileRepository = storedFileRepository;
         init();
     }
 
@@ -57,31 +84,50 @@ public class CloudinaryStorage implements StorageService {
     }
 
     /**
-     * Uploads a file to Cloudinary and returns the secure URL.
+     * Uploads a stream to Cloudinary with the chunked upload API and returns the secure URL.
+     * The SDK reads one chunk at a time, so memory per upload is bounded by {@code chunkSize}.
+     * The content is hashed while it is read and the upload is recorded in the storage index.
      *
-     * @param file the file to upload
+     * @param inputStream the content to upload
+     * @param filename    the original file name
+     * @param size        the content length in bytes, or -1 if unknown
      * @return the secure URL of the uploaded file
-     * @throws RuntimeException if the upload fails
+     * @throws StorageException if the upload fails
      */
     @Override
-    public String store(MultipartFile file) {
+    public String store(InputStream inputStream, String filename, long size) {
         try {
-            Map result = this.cloudinary.uploader().upload(file.getBytes(), ObjectUtils.asMap("resource_type", "auto"));
-            return (String) result.get("secure_url");
+            HashingInputStream hashing = new HashingInputStream(inputStream);
+            Map result = this.cloudinary.uploader().uploadLarge(hashing, ObjectUtils.asMap(
+                    "resource_type", "auto",
+                    "chunk_size", chunkSize,
+                    "filename_override", filename));
+            String url = (String) result.get("secure_url");
+            storedFileRepository.save(StoredFile.builder()
+                    .backend(StorageBackend.CLOUDINARY)
+                    .name(url)
+                    .originalFilename(filename)
+                    .contentHash(hashing.hash())
+                    .size(hashing.count())
+                    .contentType(MediaTypeFactory.getMediaType(filename).map(MediaType::toString).orElse(null))
+                    .remoteId(result.get("resource_type") + "/" + result.get("public_id"))
+                    .build());
+            return url;
         } catch (IOException e) {
-            log.error(Arrays.stream(e.getStackTrace()).map(StackTraceElement::toString).reduce("", (a, b) -> a + "\n" + b));
-            throw new RuntimeException("Failed to upload file to Cloudinary", e);
+            log.error("Falha ao enviar {} ({} bytes) para o Cloudinary: {}", filename, size, e.getMessage());
+            throw new StorageException("Failed to upload file to Cloudinary: " + filename, e);
         }
     }
 
     /**
-     * Not implemented for Cloudinary storage. Returns an empty stream.
+     * Lists the uploaded files from the storage index.
      *
-     * @return an empty stream
+     * @param pageable the page to read
+     * @return a page of index entries
      */
     @Override
-    public Stream<Path> loadAll() {
-        return Stream.empty();
+    public Page<StoredFileResponse> list(Pageable pageable) {
+        return storedFileRepository.findResponsesByBackend(StorageBackend.CLOUDINARY, pageable);
     }
 
     /**
@@ -96,14 +142,42 @@ public class CloudinaryStorage implements StorageService {
     }
 
     /**
-     * Not implemented for Cloudinary storage. Returns null.
+     * Opens an uploaded file by the secure URL returned from {@link #store}.
      *
-     * @param filename the name of the file
-     * @return always null
+     * @param filename the secure URL of the file
+     * @return a resource reading the file over HTTPS
+     * @throws StorageException if the value is not a valid URL
      */
     @Override
     public Resource loadAsResource(String filename) {
-        return null;
+        try {
+            return new UrlResource(filename);
+        } catch (MalformedURLException e) {
+            throw new StorageException("Could not read file: " + filename, e);
+        }
+    }
+
+    /**
+     * Destroys an uploaded file, invalidating CDN copies, and removes it from the index.
+     *
+     * @param filename the secure URL returned by {@link #store}
+     * @throws StorageException if Cloudinary rejects the deletion
+     */
+    @Override
+    public void delete(String filename) {
+        storedFileRepository.findByBackendAndName(StorageBackend.CLOUDINARY, filename).ifPresent(file -> {
+            String remoteId = file.getRemoteId();
+            int slash = remoteId.indexOf('/');
+            try {
+                this.cloudinary.uploader().destroy(remoteId.substring(slash + 1), ObjectUtils.asMap(
+                        "resource_type", remoteId.substring(0, slash),
+                        "invalidate", true));
+            } catch (IOException e) {
+                log.error("Falha ao excluir {} do Cloudinary: {}", filename, e.getMessage());
+                throw new StorageException("Failed to delete file from Cloudinary: " + filename, e);
+            }
+            storedFileRepository.delete(file);
+        });
     }
 
     /**
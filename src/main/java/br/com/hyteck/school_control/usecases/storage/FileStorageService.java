@@ -1,31 +1,74 @@
 package br.com.hyteck.school_control.usecases.storage;
 
 import br.com.hyteck.school_control.exceptions.StorageException;
+import br.com.hyteck.school_control.models.storage.StorageBackend;
+import br.com.hyteck.school_control.models.storage.StoredFile;
+import br.com.hyteck.school_control.repositories.StoredFileRepository;
+import br.com.hyteck.school_control.web.dtos.storage.StoredFileResponse;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.stereotype.Service;
 import org.springframework.util.FileSystemUtils;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.util.StringUtils;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.MalformedURLException;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.util.stream.Stream;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Service responsible for storing, loading, and deleting files in the local file system.
  * Implements the StorageService interface for file operations using Spring's Resource abstraction.
+ * <p>
+ * Content is stored once per distinct SHA-256 hash under sharded directories
+ * ({@code blobs/ab/cd/abcd...}); a {@link StoredFile} row maps each logical file name to its blob.
+ * Files written before the content-addressed layout remain readable from the flat root directory.
  */
 @Service
 @Qualifier("file-system")
 public class FileStorageService implements StorageService {
 
-    private final Path rootLocation = Paths.get("uploads");
+    /**
+     * Buffer used when streaming uploads to disk; bounds the heap used per upload.
+     */
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Number of locks shared by all hashes; publishing and releasing a blob take the lock of its hash.
+     */
+    private static final int HASH_LOCK_STRIPES = 64;
+
+    private final StoredFileRepository storedFileRepository;
+    private final Path rootLocation;
+    private final Path blobLocation;
+    private final Path tempLocation;
+    private final Lock[] hashLocks = new Lock[HASH_LOCK_STRIPES];
+
+    public FileStorageService(StoredFileRepository storedFileRepository,
+                              @Value("${storage.location:uploads}") String location) {
+        this.storedFileRepository = storedFileRepository;
+        this.rootLocation = Paths.get(location);
+        this.blobLocation = rootLocation.resolve("blobs");
+        this.tempLocation = rootLocation.resolve("tmp");
+        for (int i = 0; i < hashLocks.length; i++) {
+            hashLocks[i] = new ReentrantLock();
+        }
+    }
 
     /**
      * Initializes the storage directory structure.
@@ -35,7 +78,8 @@ public class FileStorageService implements StorageService {
     @Override
     public void init() {
         try {
-            Files.createDirectories(rootLocation);
+            Files.createDirectories(blobLocation);
+            Files.createDirectories(tempLocation);
         }
         catch (IOException e) {
             throw new StorageException("Could not initialize storage", e);
@@ -44,65 +88,188 @@ public class FileStorageService implements StorageService {
     }
 
     /**
-     * Stores a file in the storage location.
+     * Streams content into a temporary file while hashing it, then moves it into its blob location.
+     * If a blob with the same hash already exists the temporary file is discarded instead.
+     * <p>
+     * The logical name is the given file name, unless that name is already taken by different content,
+     * in which case a short hash suffix is added so the existing file is never overwritten.
      *
-     * @param file the file to store
-     * @return the stored file name
-     * @throws StorageException if the file is empty, outside the allowed directory, or cannot be stored
+     * @param inputStream the content to store
+     * @param filename    the name to store the file under
+     * @param size        the content length in bytes, or -1 if unknown
+     * @return the logical name the content was stored under
+     * @throws StorageException if the name is invalid or the file cannot be stored
      */
     @Override
-    public String store(MultipartFile file) {
+    public String store(InputStream inputStream, String filename, long size) {
+        String name = validateName(filename);
+        Path tempFile = null;
         try {
-            if (file.isEmpty()) {
-                throw new StorageException("Failed to store empty file.");
+            Files.createDirectories(tempLocation);
+            tempFile = Files.createTempFile(tempLocation, ".upload-", ".tmp");
+            HashingInputStream hashing = new HashingInputStream(inputStream);
+            long copied;
+            try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+                copied = copy(hashing, outputStream);
             }
-            Path destinationFile = this.rootLocation.resolve(
-                            Paths.get(file.getOriginalFilename()))
-                    .normalize().toAbsolutePath();
-            if (!destinationFile.getParent().equals(this.rootLocation.toAbsolutePath())) {
-                // This is a security check
-                throw new StorageException(
-                        "Cannot store file outside current directory.");
+            if (size >= 0 && copied != size) {
+                throw new StorageException("Incomplete upload for " + name + ": expected " + size + " bytes, got " + copied);
+            }
+            String hash = hashing.hash();
+
+            // Held until the name is indexed, so a concurrent delete of the last name cannot remove the blob in between
+            Lock lock = lockFor(hash);
+            lock.lock();
+            try {
+                Path blob = blobPath(hash);
+                if (!Files.exists(blob)) {
+                    Files.createDirectories(blob.getParent());
+                    try {
+                        Files.move(tempFile, blob, StandardCopyOption.ATOMIC_MOVE);
+                    }
+                    catch (FileAlreadyExistsException e) {
+                        // Same content stored concurrently; the existing blob is identical
+                    }
+                }
+                return index(name, hash, copied);
             }
-            try (InputStream inputStream = file.getInputStream()) {
-                Files.copy(inputStream, destinationFile,
-                        StandardCopyOption.REPLACE_EXISTING);
+            finally {
+                lock.unlock();
             }
-            return destinationFile.getFileName().toString();
         }
         catch (IOException e) {
             throw new StorageException("Failed to store file.", e);
         }
+        finally {
+            deleteQuietly(tempFile);
+        }
+    }
+
+    /**
+     * Records the logical name of a blob, choosing a distinct name when the requested one points to other content.
+     */
+    private String index(String name, String hash, long size) {
+        String logicalName = name;
+        Optional<StoredFile> current = storedFileRepository.findByBackendAndName(StorageBackend.LOCAL, name);
+        if (current.isPresent()) {
+            if (current.get().getContentHash().equals(hash)) {
+                return name;
+            }
+            logicalName = withSuffix(name, hash.substring(0, 8));
+            if (storedFileRepository.findByBackendAndName(StorageBackend.LOCAL, logicalName).isPresent()) {
+                return logicalName;
+            }
+        }
+        try {
+            storedFileRepository.save(StoredFile.builder()
+                    .backend(StorageBackend.LOCAL)
+                    .name(logicalName)
+                    .originalFilename(name)
+                    .contentHash(hash)
+                    .size(size)
+                    .contentType(MediaTypeFactory.getMediaType(name).map(MediaType::toString).orElse(null))
+                    .build());
+        }
+        catch (DataIntegrityViolationException e) {
+            // Another upload indexed the same name meanwhile; it is only reusable if it has the same content
+            String taken = logicalName;
+            if (storedFileRepository.findByBackendAndName(StorageBackend.LOCAL, taken).filter(file -> file.getContentHash().equals(hash)).isEmpty()) {
+                throw new StorageException("File name already in use: " + taken, e);
+            }
+        }
+        return logicalName;
+    }
 
+    private static String validateName(String filename) {
+        if (filename == null || filename.isBlank()) {
+            throw new StorageException("Failed to store file without a name.");
+        }
+        String name = StringUtils.cleanPath(filename);
+        if (name.contains("/") || name.contains("\\") || name.startsWith(".")) {
+            // This is a security check
+            throw new StorageException(
+                    "Cannot store file outside current directory.");
+        }
+        return name;
+    }
 
+    private static String withSuffix(String name, String suffix) {
+        int dot = name.lastIndexOf('.');
+        return dot > 0
+                ? name.substring(0, dot) + "-" + suffix + name.substring(dot)
+                : name + "-" + suffix;
     }
 
     /**
-     * Loads all file paths from the storage location.
-     *
-     * @return a stream of relative file paths
-     * @throws StorageException if the files cannot be read
+     * Blob location of a hash, sharded by its first two bytes so no directory grows too large.
      */
-    @Override
-    public Stream<Path> loadAll() {
+    Path blobPath(String hash) {
+        return blobLocation.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private Lock lockFor(String hash) {
+        return hashLocks[Math.floorMod(hash.hashCode(), hashLocks.length)];
+    }
+
+    /**
+     * Copies the stream with a single fixed-size buffer.
+     */
+    private static long copy(InputStream inputStream, OutputStream outputStream) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long total = 0;
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, read);
+            total += read;
+        }
+        return total;
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
         try {
-            return Files.walk(this.rootLocation, 1)
-                    .filter(path -> !path.equals(this.rootLocation))
-                    .map(this.rootLocation::relativize);
-        } catch (IOException e) {
-            throw new StorageException("Failed to read stored files", e);
+            Files.deleteIfExists(file);
+        }
+        catch (IOException ignored) {
+            // Best effort cleanup of the temporary file
         }
     }
 
     /**
-     * Loads a specific file path from the storage location.
+     * Lists the local files from the storage index.
+     *
+     * @param pageable the page to read
+     * @return a page of index entries
+     */
+    @Override
+    public Page<StoredFileResponse> list(Pageable pageable) {
+        return storedFileRepository.findResponsesByBackend(StorageBackend.LOCAL, pageable);
+    }
+
+    /**
+     * Resolves a logical file name to the blob holding its content.
+     * Names not in the index are looked up in the legacy flat layout.
      *
      * @param filename the name of the file to load
      * @return the resolved file path
      */
     @Override
     public Path load(String filename) {
-        return rootLocation.resolve(filename);
+        return storedFileRepository.findByBackendAndName(StorageBackend.LOCAL, filename)
+                .map(file -> blobPath(file.getContentHash()))
+                .orElseGet(() -> rootLocation.resolve(filename));
+    }
+
+    /**
+     * Looks up the index entry of a logical file name.
+     *
+     * @param filename the logical file name
+     * @return the index entry, or empty for unknown names and files from the legacy flat layout
+     */
+    public Optional<StoredFile> describe(String filename) {
+        return storedFileRepository.findByBackendAndName(StorageBackend.LOCAL, filename);
     }
 
     /**
@@ -132,11 +299,48 @@ public class FileStorageService implements StorageService {
     }
 
     /**
-     * Deletes all files and directories in the storage location.
+     * Removes a logical name from the index, deleting its blob when no other name refers to it.
+     * The reference check and the file removal run under the lock of the hash, the same one
+     * {@link #store} holds while publishing and indexing a blob.
+     *
+     * @param filename the logical file name
+     * @throws StorageException if the blob cannot be deleted
      */
     @Override
-    public void deleteAll() {
-        FileSystemUtils.deleteRecursively(rootLocation.toFile());
+    public void delete(String filename) {
+        storedFileRepository.findByBackendAndName(StorageBackend.LOCAL, filename).ifPresent(file -> {
+            Lock lock = lockFor(file.getContentHash());
+            lock.lock();
+            try {
+                storedFileRepository.delete(file);
+                if (!storedFileRepository.existsByBackendAndContentHash(StorageBackend.LOCAL, file.getContentHash())) {
+                    Files.deleteIfExists(blobPath(file.getContentHash()));
+                }
+            }
+            catch (IOException e) {
+                throw new StorageException("Failed to delete file: " + filename, e);
+            }
+            finally {
+                lock.unlock();
+            }
+        });
+    }
 
+    /**
+     * Deletes every indexed file and its blob.
+     * Only the blob directory is removed: the storage root is shared with other areas
+     * (receipt staging, the remote download cache) that must survive.
+     *
+     * @throws StorageException if the blob directory cannot be deleted
+     */
+    @Override
+    public void deleteAll() {
+        storedFileRepository.deleteByBackend(StorageBackend.LOCAL);
+        try {
+            FileSystemUtils.deleteRecursively(blobLocation);
+        }
+        catch (IOException e) {
+            throw new StorageException("Failed to delete stored files", e);
+        }
     }
 }
@@ -0,0 +1,61 @@
+package br.com.hyteck.school_control.usecases.storage;
+
+import br.com.hyteck.school_control.exceptions.StorageException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes a byte range of a local file to an HTTP response.
+ * <p>
+ * When the servlet container supports sendfile (Tomcat's NIO connector), the transfer is handed to it
+ * after the request thread returns and the bytes never pass through the JVM. Otherwise the range is
+ * streamed with {@link FileChannel#transferTo} in small chunks, so the file is never loaded into memory.
+ */
+@Component
+public class FileTransfer {
+
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    /**
+     * Sends {@code length} bytes of the file starting at {@code start}. Headers must already be set.
+     *
+     * @throws StorageException if the file cannot be read
+     */
+    public void send(Path file, long start, long length,
+                     HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentLengthLong(length);
+        if (length == 0) {
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + length);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, target);
+                if (sent <= 0) {
+                    throw new StorageException("File " + file.getFileName() + " ended before the requested range");
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+}
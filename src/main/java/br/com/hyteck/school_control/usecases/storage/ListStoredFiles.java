@@ -0,0 +1,25 @@
+package br.com.hyteck.school_control.usecases.storage;
+
+import br.com.hyteck.school_control.models.storage.StorageBackend;
+import br.com.hyteck.school_control.repositories.StoredFileRepository;
+import br.com.hyteck.school_control.web.dtos.storage.StoredFileResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+/**
+ * Lista os arquivos de um backend a partir do índice de armazenamento, sem acessar o disco nem a API remota.
+ */
+@Service
+public class ListStoredFiles {
+
+    private final StoredFileRepository storedFileRepository;
+
+    public ListStoredFiles(StoredFileRepository storedFileRepository) {
+        this.storedFileRepository = storedFileRepository;
+    }
+
+    public Page<StoredFileResponse> execute(StorageBackend backend, Pageable pageable) {
+        return storedFileRepository.findResponsesByBackend(backend, pageable);
+    }
+}
@@ -1,22 +1,84 @@
 package br.com.hyteck.school_control.usecases.storage;
 
+import br.com.hyteck.school_control.exceptions.StorageException;
+import br.com.hyteck.school_control.web.dtos.storage.StoredFileResponse;
 import org.springframework.core.io.Resource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.stream.Stream;
 
 public interface StorageService {
     void init();
 
-    String store(MultipartFile file);
+    /**
+     * Stores an uploaded file by streaming its content; the file is never read fully into memory.
+     *
+     * @param file the uploaded file
+     * @return the stored file name or URL
+     * @throws StorageException if the file is empty or cannot be stored
+     */
+    default String store(MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new StorageException("Failed to store empty file.");
+        }
+        try (InputStream inputStream = file.getInputStream()) {
+            return store(inputStream, file.getOriginalFilename(), file.getSize());
+        } catch (IOException e) {
+            throw new StorageException("Failed to store file.", e);
+        }
+    }
 
-    Stream<Path> loadAll();
+    /**
+     * Stores a file that is already on local disk, such as a staged upload.
+     *
+     * @param file     the local file
+     * @param filename the original file name
+     * @return the stored file name or URL
+     */
+    default String store(Path file, String filename) {
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            return store(inputStream, filename, Files.size(file));
+        } catch (IOException e) {
+            throw new StorageException("Failed to store file.", e);
+        }
+    }
+
+    /**
+     * Stores content read from a stream in fixed-size chunks, so the memory used per upload is
+     * bounded by the implementation's buffer size and not by the file size.
+     * The stream is not closed by this method.
+     *
+     * @param inputStream the content
+     * @param filename    the original file name
+     * @param size        the content length in bytes, or -1 if unknown
+     * @return the stored file name or URL
+     */
+    String store(InputStream inputStream, String filename, long size);
+
+    /**
+     * Lists stored files from the storage index, without touching the file system or the remote API.
+     *
+     * @param pageable the page to read
+     * @return a page of index entries
+     */
+    Page<StoredFileResponse> list(Pageable pageable);
 
     Path load(String filename);
 
     Resource loadAsResource(String filename);
 
+    /**
+     * Deletes a stored file and its index entry. Unknown names are ignored.
+     *
+     * @param filename the name or URL returned by {@link #store}
+     */
+    void delete(String filename);
+
     void deleteAll();
 
 }
@@ -37,6 +37,7 @@ public class ChangePassword {
 
         user.setPassword(request.newPassword());
         user.setCredentialsNonExpired(false);
+        user.revokeTokens();
         userRepository.save(user);
 
         logger.info("Senha alterada com sucesso para o usuário: {}", username);
@@ -38,6 +38,10 @@ public class UpdateUser {
         // 2. Verificar duplicidade SE username ou email mudaram
         checkDuplicates(requestDTO, existingUser);
 
+        if (!Objects.equals(requestDTO.username(), existingUser.getUsername())) {
+            // O username está nos tokens já emitidos
+            existingUser.revokeTokens();
+        }
         existingUser.setUsername(requestDTO.username());
         existingUser.setEmail(requestDTO.email());
 //        existingUser.setRoles(roles);
@@ -1,6 +1,7 @@
 package br.com.hyteck.school_control.web.controllers;
 
 import br.com.hyteck.school_control.config.jwt.provider.JWTProvider;
+import br.com.hyteck.school_control.models.auth.User;
 import br.com.hyteck.school_control.usecases.user.ChangePassword;
 import br.com.hyteck.school_control.usecases.user.VerifyAccount;
 import br.com.hyteck.school_control.web.dtos.auth.AuthenticationRequest;
@@ -50,7 +51,7 @@ public class AuthenticationController {
                     authenticationRequest.getLogin(), authenticationRequest.getPassword()));
         final UserDetails userDetails = userDetailsService.loadUserByUsername(authenticationRequest.getLogin());
         final AuthenticationResponse authenticationResponse = new AuthenticationResponse();
-        authenticationResponse.setToken(jwtTokenService.generateToken(userDetails.getUsername()));
+        authenticationResponse.setToken(jwtTokenService.generateToken((User) userDetails));
         UserResponse userResponse = new UserResponse("", userDetails.getUsername(), "", userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.toSet()),
                 userDetails.isEnabled(), userDetails.isAccountNonLocked(),
                 userDetails.isAccountNonExpired(), userDetails.isCredentialsNonExpired(), null, null);
@@ -0,0 +1,35 @@
+package br.com.hyteck.school_control.web.controllers;
+
+import br.com.hyteck.school_control.usecases.billing.GenerateCashFlowReportUseCase;
+import br.com.hyteck.school_control.web.dtos.billing.CashFlowGranularity;
+import br.com.hyteck.school_control.web.dtos.billing.CashFlowReport;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/cash-flow-reports")
+public class CashFlowReportController {
+
+    private final GenerateCashFlowReportUseCase generateCashFlowReportUseCase;
+
+    public CashFlowReportController(GenerateCashFlowReportUseCase generateCashFlowReportUseCase) {
+        this.generateCashFlowReportUseCase = generateCashFlowReportUseCase;
+    }
+
+    @GetMapping
+    @Operation(summary = "Fluxo de caixa", description = "Entradas por forma de pagamento, saídas e posição líquida por dia ou semana.")
+    public ResponseEntity<CashFlowReport> getCashFlowReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "DAILY") CashFlowGranularity granularity) {
+        CashFlowReport report = generateCashFlowReportUseCase.execute(startDate, endDate, granularity);
+        return ResponseEntity.ok(report);
+    }
+}
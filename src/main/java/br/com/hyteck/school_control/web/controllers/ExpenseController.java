@@ -2,17 +2,31 @@ package br.com.hyteck.school_control.web.controllers;
 
 import br.com.hyteck.school_control.models.expenses.Expense;
 import br.com.hyteck.school_control.usecases.expenses.CreateExpenseUseCase;
+import br.com.hyteck.school_control.usecases.expenses.ImportExpensesUseCase;
 import br.com.hyteck.school_control.usecases.expenses.ListExpensesUseCase;
+import br.com.hyteck.school_control.usecases.expenses.LoadExpenseReceipt;
 import br.com.hyteck.school_control.usecases.expenses.UpdateExpenseUseCase;
+import br.com.hyteck.school_control.usecases.storage.FileTransfer;
+import br.com.hyteck.school_control.web.dtos.expenses.ExpenseImportResult;
 import br.com.hyteck.school_control.web.dtos.expenses.ExpenseRequest;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -22,12 +36,19 @@ public class ExpenseController {
     private final CreateExpenseUseCase createExpenseUseCase;
     private final UpdateExpenseUseCase updateExpenseUseCase;
     private final ListExpensesUseCase listExpensesUseCase;
+    private final ImportExpensesUseCase importExpensesUseCase;
+    private final LoadExpenseReceipt loadExpenseReceipt;
+    private final FileTransfer fileTransfer;
 
     public ExpenseController(CreateExpenseUseCase createExpenseUseCase, UpdateExpenseUseCase updateExpenseUseCase,
-                             ListExpensesUseCase listExpensesUseCase) {
+                             ListExpensesUseCase listExpensesUseCase, ImportExpensesUseCase importExpensesUseCase,
+                             LoadExpenseReceipt loadExpenseReceipt, FileTransfer fileTransfer) {
         this.createExpenseUseCase = createExpenseUseCase;
         this.updateExpenseUseCase = updateExpenseUseCase;
         this.listExpensesUseCase = listExpensesUseCase;
+        this.importExpensesUseCase = importExpensesUseCase;
+        this.loadExpenseReceipt = loadExpenseReceipt;
+        this.fileTransfer = fileTransfer;
     }
 
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -36,6 +57,35 @@ public class ExpenseController {
         return ResponseEntity.ok(createdExpense);
     }
 
+    /**
+     * Importa despesas de um CSV ({@code data;descricao;categoria;valor}), retornando os erros por linha.
+     */
+    @PostMapping(path = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ExpenseImportResult> importExpenses(@RequestParam("file") MultipartFile file) throws IOException {
+        try (InputStream csv = file.getInputStream()) {
+            return ResponseEntity.ok(importExpensesUseCase.execute(csv));
+        }
+    }
+
+    /**
+     * Envia o recibo (ou a miniatura) da despesa a partir do cache local, sem ir ao Cloudinary a cada visualização.
+     */
+    @GetMapping("/{id}/receipt")
+    public void downloadReceipt(@PathVariable String id, @RequestParam(defaultValue = "false") boolean thumbnail,
+                                HttpServletRequest request, HttpServletResponse response) throws IOException {
+        LoadExpenseReceipt.Receipt found = loadExpenseReceipt.execute(id, thumbnail);
+        Resource receipt = found.content();
+        response.setContentType(found.mediaType().toString());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.maxAge(Duration.ofDays(1)).cachePrivate().getHeaderValue());
+        if (receipt.isFile()) {
+            fileTransfer.send(receipt.getFile().toPath(), 0, receipt.contentLength(), request, response);
+            return;
+        }
+        try (InputStream content = receipt.getInputStream()) {
+            StreamUtils.copy(content, response.getOutputStream());
+        }
+    }
+
     @PutMapping(path = "/{id}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<Expense> updateExpense(@PathVariable String id, @ModelAttribute ExpenseRequest expense) {
         Expense createdExpense = updateExpenseUseCase.execute(id, expense);
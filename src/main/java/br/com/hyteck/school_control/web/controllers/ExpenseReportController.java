@@ -1,7 +1,13 @@
 package br.com.hyteck.school_control.web.controllers;
 
+import br.com.hyteck.school_control.usecases.billing.FindExpenseReportLines;
 import br.com.hyteck.school_control.usecases.billing.GenerateExpenseReportUseCase;
+import br.com.hyteck.school_control.web.dtos.expenses.ExpenseLine;
 import br.com.hyteck.school_control.web.dtos.expenses.ExpenseReport;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,9 +22,12 @@ import java.time.LocalDate;
 public class ExpenseReportController {
 
     private final GenerateExpenseReportUseCase generateExpenseReportUseCase;
+    private final FindExpenseReportLines findExpenseReportLines;
 
-    public ExpenseReportController(GenerateExpenseReportUseCase generateExpenseReportUseCase) {
+    public ExpenseReportController(GenerateExpenseReportUseCase generateExpenseReportUseCase,
+                                   FindExpenseReportLines findExpenseReportLines) {
         this.generateExpenseReportUseCase = generateExpenseReportUseCase;
+        this.findExpenseReportLines = findExpenseReportLines;
     }
 
     @GetMapping
@@ -28,4 +37,13 @@ public class ExpenseReportController {
         ExpenseReport report = generateExpenseReportUseCase.execute(startDate, endDate);
         return ResponseEntity.ok(report);
     }
+
+    @GetMapping("/lines")
+    public ResponseEntity<Page<ExpenseLine>> getExpenseReportLines(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @PageableDefault(size = 50, sort = "date", direction = Sort.Direction.DESC) Pageable pageable) {
+        Page<ExpenseLine> lines = findExpenseReportLines.execute(startDate, endDate, pageable);
+        return ResponseEntity.ok(lines);
+    }
 }
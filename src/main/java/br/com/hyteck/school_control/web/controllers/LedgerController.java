@@ -0,0 +1,59 @@
+package br.com.hyteck.school_control.web.controllers;
+
+import br.com.hyteck.school_control.usecases.ledger.FindAccounts;
+import br.com.hyteck.school_control.usecases.ledger.GetAccountBalance;
+import br.com.hyteck.school_control.usecases.ledger.SnapshotAccountBalances;
+import br.com.hyteck.school_control.web.dtos.financials.AccountBalanceResponse;
+import br.com.hyteck.school_control.web.dtos.financials.AccountSummaryResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/ledger")
+@Tag(name = "Ledger", description = "Diário contábil e saldos de contas")
+public class LedgerController {
+
+    private final GetAccountBalance getAccountBalance;
+    private final SnapshotAccountBalances snapshotAccountBalances;
+    private final FindAccounts findAccounts;
+
+    public LedgerController(GetAccountBalance getAccountBalance, SnapshotAccountBalances snapshotAccountBalances,
+                            FindAccounts findAccounts) {
+        this.getAccountBalance = getAccountBalance;
+        this.snapshotAccountBalances = snapshotAccountBalances;
+        this.findAccounts = findAccounts;
+    }
+
+    @GetMapping("/accounts")
+    @Operation(summary = "Listar contas", description = "Contas com o saldo corrente (saldo compactado + fatias pendentes).")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Page<AccountSummaryResponse>> listAccounts(@PageableDefault(size = 20, sort = "code") Pageable pageable) {
+        return ResponseEntity.ok(findAccounts.execute(pageable));
+    }
+
+    @GetMapping("/accounts/{accountId}/balance")
+    @Operation(summary = "Saldo de uma conta", description = "Saldo atual ou em um instante (asOf), a partir do último snapshot e do diário.")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AccountBalanceResponse> getBalance(
+            @PathVariable String accountId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        return ResponseEntity.ok(getAccountBalance.execute(accountId, asOf));
+    }
+
+    @PostMapping("/snapshots")
+    @Operation(summary = "Gerar snapshots de saldo", description = "Consolida o diário até a meia-noite do dia corrente.")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Integer> createSnapshots() {
+        return ResponseEntity.ok(snapshotAccountBalances.execute(LocalDate.now().atStartOfDay()));
+    }
+}
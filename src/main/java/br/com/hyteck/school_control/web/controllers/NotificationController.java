@@ -1,15 +1,23 @@
 // E:/IdeaProjects/school-control-java/src/main/java/br/com/hyteck/school_control/web/controllers/NotificationController.java
 package br.com.hyteck.school_control.web.controllers;
 
+import br.com.hyteck.school_control.config.jwt.JwtPrincipal;
 // Removidos imports não utilizados de billing
 
+import br.com.hyteck.school_control.usecases.notification.CreateNotificationsInBatch;
+import br.com.hyteck.school_control.usecases.notification.FindNotificationFeed;
 import br.com.hyteck.school_control.usecases.notification.FindNotifications;
 import br.com.hyteck.school_control.usecases.notification.GetUnreadNotificationCountUseCase;
 import br.com.hyteck.school_control.usecases.notification.MarkAllUserNotificationsAsReadUseCase;
 import br.com.hyteck.school_control.usecases.notification.MarkNotificationAsReadUseCase;
+import br.com.hyteck.school_control.usecases.notification.NotificationBroadcaster;
+import br.com.hyteck.school_control.web.dtos.CursorPage;
 import br.com.hyteck.school_control.web.dtos.NotificationResponse;
+import br.com.hyteck.school_control.web.dtos.notification.NotificationBroadcastRequest;
+import br.com.hyteck.school_control.web.dtos.notification.NotificationCommand;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,13 +25,16 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -36,9 +47,12 @@ public class NotificationController {
     private static final Logger logger = LoggerFactory.getLogger(NotificationController.class);
 
     private final FindNotifications findUserNotificationsUseCase;
+    private final FindNotificationFeed findNotificationFeed;
     private final GetUnreadNotificationCountUseCase getUnreadNotificationCountUseCase;
     private final MarkNotificationAsReadUseCase markNotificationAsReadUseCase;
     private final MarkAllUserNotificationsAsReadUseCase markAllUserNotificationsAsReadUseCase;
+    private final CreateNotificationsInBatch createNotificationsInBatch;
+    private final NotificationBroadcaster notificationBroadcaster;
 
 
     private String getAuthenticatedUserId(Authentication authentication) {
@@ -49,6 +63,9 @@ public class NotificationController {
         // Assumindo que o 'username' do UserDetails é o ID do seu User.
         // Se for diferente, ajuste esta lógica.
         // Ex: Se o principal for a sua entidade User:
+        if (authentication.getPrincipal() instanceof JwtPrincipal principal) {
+            return principal.id();
+        }
         if (authentication.getPrincipal() instanceof br.com.hyteck.school_control.models.auth.User authenticatedUser) {
             return authenticatedUser.getId();
         }
@@ -72,6 +89,24 @@ public class NotificationController {
         return ResponseEntity.ok(notifications);
     }
 
+    /**
+     * Get the notification feed of the current user, paginated by cursor ("load older")
+     *
+     * @param cursor {@code nextCursor} of the previous page; omitted for the newest notifications
+     * @param size   Page size
+     * @returns Page of notifications, newest first
+     */
+    @GetMapping("/feed")
+    @Operation(summary = "Feed de notificações do usuário autenticado",
+            description = "Retorna as notificações da mais recente para a mais antiga, paginadas por cursor e sem contagem total.")
+    public ResponseEntity<CursorPage<NotificationResponse>> getNotificationFeed(
+            Authentication authentication,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        String userId = getAuthenticatedUserId(authentication);
+        return ResponseEntity.ok(findNotificationFeed.execute(userId, cursor, size));
+    }
+
     /**
      * Get unread notifications count for the current user
      *
@@ -87,6 +122,20 @@ public class NotificationController {
         return ResponseEntity.ok(Map.of("count", count)); // Retornando um JSON: {"count": N}
     }
 
+    /**
+     * Stream new notifications and unread count changes for the current user
+     *
+     * @returns Server-Sent Events stream ("notification" and "unread-count" events)
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Acompanhar notificações em tempo real",
+            description = "Abre um stream Server-Sent Events com as novas notificações e a contagem de não lidas.")
+    public SseEmitter streamNotifications(Authentication authentication) {
+        String userId = getAuthenticatedUserId(authentication);
+        logger.info("Abrindo stream de notificações para o usuário {}", userId);
+        return notificationBroadcaster.subscribe(userId);
+    }
+
     /**
      * Mark a notification as read
      *
@@ -124,4 +173,37 @@ public class NotificationController {
                 "updatedCount", String.valueOf(count)
         ));
     }
-}
\ No newline at end of file
+
+    /**
+     * Create notifications in batch
+     *
+     * @param commands Notifications to create, one per user
+     * @returns Number of notifications created
+     */
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Criar notificações em lote",
+            description = "Cria uma notificação para cada item. Usuários inexistentes são ignorados.")
+    public ResponseEntity<Map<String, Integer>> createNotifications(
+            @RequestBody List<@Valid NotificationCommand> commands) {
+        logger.info("Criando {} notificações em lote", commands.size());
+        int created = createNotificationsInBatch.execute(commands);
+        return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("createdCount", created));
+    }
+
+    /**
+     * Notify every user of an audience
+     *
+     * @param request Audience and message template ({nome} is replaced by the recipient name)
+     * @returns Number of notifications created
+     */
+    @PostMapping("/broadcast")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Notificar um grupo de usuários",
+            description = "Cria a notificação para todos os usuários, para um perfil ou para os responsáveis de uma turma.")
+    public ResponseEntity<Map<String, Integer>> broadcast(@Valid @RequestBody NotificationBroadcastRequest request) {
+        logger.info("Notificação em massa para {} {}", request.audience(), request.audienceId());
+        int created = createNotificationsInBatch.broadcast(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("createdCount", created));
+    }
+}
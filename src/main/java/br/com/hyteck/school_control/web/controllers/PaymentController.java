@@ -2,8 +2,10 @@ package br.com.hyteck.school_control.web.controllers;
 
 import br.com.hyteck.school_control.models.payments.Payment;
 import br.com.hyteck.school_control.usecases.billing.FindPaymentById;
+import br.com.hyteck.school_control.usecases.billing.ProcessConsolidatedPaymentUseCase;
 import br.com.hyteck.school_control.usecases.billing.ProcessPaymentUseCase;
 import br.com.hyteck.school_control.web.dtos.classroom.ClassRoomResponse;
+import br.com.hyteck.school_control.web.dtos.payments.ConsolidatedPaymentRequest;
 import br.com.hyteck.school_control.web.dtos.payments.PaymentRequest;
 import br.com.hyteck.school_control.web.dtos.payments.PaymentResponse;
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,6 +15,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.util.List;
 
 @RestController
 @RequestMapping("/payments")
@@ -20,10 +23,14 @@ import jakarta.validation.Valid;
 public class PaymentController {
 
     private final ProcessPaymentUseCase processPaymentUseCase;
+    private final ProcessConsolidatedPaymentUseCase processConsolidatedPaymentUseCase;
     private final FindPaymentById findPaymentById;
 
-    public PaymentController(ProcessPaymentUseCase processPaymentUseCase, FindPaymentById findPaymentById) {
+    public PaymentController(ProcessPaymentUseCase processPaymentUseCase,
+                             ProcessConsolidatedPaymentUseCase processConsolidatedPaymentUseCase,
+                             FindPaymentById findPaymentById) {
         this.processPaymentUseCase = processPaymentUseCase;
+        this.processConsolidatedPaymentUseCase = processConsolidatedPaymentUseCase;
         this.findPaymentById = findPaymentById;
     }
 
@@ -39,6 +46,22 @@ public class PaymentController {
         return PaymentResponse.from(payment);
     }
 
+    @PostMapping("/consolidated")
+    @Operation(summary = "Processar pagamento consolidado",
+            description = "Quita todas as faturas em aberto de um responsável no mês de referência em uma única transação.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Faturas quitadas com sucesso"),
+                    @ApiResponse(responseCode = "400", description = "Dados inválidos ou valor divergente do extrato"),
+                    @ApiResponse(responseCode = "404", description = "Nenhuma fatura em aberto para o período")
+            })
+    public List<PaymentResponse> processConsolidatedPayment(@Valid @RequestBody ConsolidatedPaymentRequest request) {
+        return processConsolidatedPaymentUseCase.execute(
+                        request.responsibleId(), request.referenceMonth(), request.amount(), request.paymentMethod())
+                .stream()
+                .map(PaymentResponse::from)
+                .toList();
+    }
+
     // --- READ (Single) ---
     @GetMapping("/{id}")
     public ResponseEntity<PaymentResponse> getPaymentById(@PathVariable String id) {
@@ -2,6 +2,7 @@ package br.com.hyteck.school_control.web.controllers;
 
 import br.com.hyteck.school_control.usecases.billing.FindPaymentsByResponsibleId;
 import br.com.hyteck.school_control.usecases.student.FindStudentsByResponsibleId;
+import br.com.hyteck.school_control.web.dtos.CursorPage;
 import br.com.hyteck.school_control.web.dtos.payments.PaymentResponse;
 import br.com.hyteck.school_control.web.dtos.responsible.ResponsibleRequest;
 import br.com.hyteck.school_control.web.dtos.responsible.ResponsibleResponse;
@@ -13,6 +14,7 @@ import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -20,6 +22,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -129,25 +132,28 @@ public class ResponsibleController {
     }
 
     /**
-     * Busca e retorna a lista de pagamentos associados a um responsável específico.
+     * Busca o histórico de pagamentos de um responsável, paginado por cursor (keyset).
      *
      * @param responsibleId O ID do responsável.
-     * @return ResponseEntity contendo a lista de PaymentResponse ou 200 OK com lista vazia.
+     * @param from          Data inicial (inclusiva), formato yyyy-MM-dd; opcional.
+     * @param to            Data final (inclusiva), formato yyyy-MM-dd; opcional.
+     * @param cursor        Cursor {@code nextCursor} da página anterior; omitido na primeira página.
+     * @param size          Tamanho da página.
+     * @return ResponseEntity contendo a página de PaymentResponse (pode ser vazia).
      */
     @GetMapping("/{responsibleId}/payments")
-    @Operation(summary = "Buscar pagamentos por responsável", description = "Retorna a lista de pagamentos associados a um ID de responsável.")
-    @ApiResponse(responseCode = "200", description = "Pagamentos encontrados ou lista vazia")
+    @Operation(summary = "Buscar pagamentos por responsável", description = "Retorna o histórico de pagamentos de um responsável, do mais recente para o mais antigo, paginado por cursor.")
+    @ApiResponse(responseCode = "200", description = "Pagamentos encontrados ou página vazia")
+    @ApiResponse(responseCode = "400", description = "Cursor ou intervalo de datas inválido")
     @ApiResponse(responseCode = "403", description = "Acesso negado")
-    @ApiResponse(responseCode = "404", description = "Responsável não encontrado (se o use case verificar)")
     @PreAuthorize("hasRole('ADMIN') or @securityService.isResponsibleSelfOrAdmin(authentication, #responsibleId)")
-    public ResponseEntity<List<PaymentResponse>> getPaymentsByResponsible(
-            @PathVariable String responsibleId) { // Adicionado Authentication
-//        logger.info("Buscando pagamentos para o responsável ID: {}", responsibleId);
-
-        // Chama o novo use case
-        List<PaymentResponse> payments = findPaymentsByREsponsibleId.execute(responsibleId);
-
-        // Retorna 200 OK com a lista (pode ser vazia)
+    public ResponseEntity<CursorPage<PaymentResponse>> getPaymentsByResponsible(
+            @PathVariable String responsibleId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<PaymentResponse> payments = findPaymentsByREsponsibleId.execute(responsibleId, from, to, cursor, size);
         return ResponseEntity.ok(payments);
     }
 }
\ No newline at end of file
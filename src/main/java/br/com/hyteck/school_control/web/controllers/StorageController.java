@@ -0,0 +1,167 @@
+package br.com.hyteck.school_control.web.controllers;
+
+import br.com.hyteck.school_control.exceptions.ResourceNotFoundException;
+import br.com.hyteck.school_control.models.storage.StorageBackend;
+import br.com.hyteck.school_control.models.storage.StoredFile;
+import br.com.hyteck.school_control.usecases.storage.CachingStorageService;
+import br.com.hyteck.school_control.usecases.storage.FileStorageService;
+import br.com.hyteck.school_control.usecases.storage.FileTransfer;
+import br.com.hyteck.school_control.usecases.storage.ListStoredFiles;
+import br.com.hyteck.school_control.web.dtos.storage.StorageCacheStats;
+import br.com.hyteck.school_control.web.dtos.storage.StoredFileResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/storage")
+@Tag(name = "Storage", description = "Download de arquivos armazenados localmente")
+public class StorageController {
+
+    private static final Duration IMMUTABLE_MAX_AGE = Duration.ofDays(365);
+
+    private final FileStorageService fileStorageService;
+    private final FileTransfer fileTransfer;
+    private final CachingStorageService remoteStorageCache;
+    private final ListStoredFiles listStoredFiles;
+
+    public StorageController(FileStorageService fileStorageService, FileTransfer fileTransfer,
+                             CachingStorageService remoteStorageCache, ListStoredFiles listStoredFiles) {
+        this.fileStorageService = fileStorageService;
+        this.fileTransfer = fileTransfer;
+        this.remoteStorageCache = remoteStorageCache;
+        this.listStoredFiles = listStoredFiles;
+    }
+
+    @GetMapping("/files")
+    @Operation(summary = "Listar arquivos", description = "Lista paginada do índice de armazenamento (nome, tamanho, hash, tipo e data).")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Page<StoredFileResponse>> listFiles(
+            @RequestParam(defaultValue = "LOCAL") StorageBackend backend,
+            @PageableDefault(size = 50, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+        return ResponseEntity.ok(listStoredFiles.execute(backend, pageable));
+    }
+
+    @GetMapping("/cache/stats")
+    @Operation(summary = "Métricas do cache", description = "Acertos, falhas, taxa de acerto e ocupação do cache local do Cloudinary.")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StorageCacheStats> cacheStats() {
+        return ResponseEntity.ok(remoteStorageCache.stats());
+    }
+
+    /**
+     * Envia um arquivo armazenado, com suporte a Range (um intervalo), If-None-Match/If-Modified-Since e If-Range.
+     * Arquivos do índice são imutáveis (o conteúdo de um nome nunca muda), então podem ser cacheados por um ano.
+     */
+    @GetMapping("/files/{filename:.+}")
+    @Operation(summary = "Baixar arquivo", description = "Serve o arquivo sem passar pelo heap (sendfile), com Range e ETag.")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void download(@PathVariable String filename, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        Optional<StoredFile> indexed = fileStorageService.describe(filename);
+        Path file = fileStorageService.load(filename);
+        if (!Files.isRegularFile(file)) {
+            throw new ResourceNotFoundException("Arquivo não encontrado: " + filename);
+        }
+        long size = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        String etag = indexed
+                .map(stored -> "\"" + stored.getContentHash() + "\"")
+                .orElseGet(() -> "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"");
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, indexed.isPresent()
+                ? CacheControl.maxAge(IMMUTABLE_MAX_AGE).cachePrivate().immutable().getHeaderValue()
+                : CacheControl.noCache().cachePrivate().getHeaderValue());
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+        response.setContentType(indexed.map(StoredFile::getContentType)
+                .or(() -> MediaTypeFactory.getMediaType(filename).map(MediaType::toString))
+                .orElse(MediaType.APPLICATION_OCTET_STREAM_VALUE));
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                .filename(filename, StandardCharsets.UTF_8).build().toString());
+
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null || !ifRangeMatches(request, etag, lastModified)) {
+            fileTransfer.send(file, 0, size, request, response);
+            return;
+        }
+
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            rangeNotSatisfiable(response, size);
+            return;
+        }
+        if (ranges.size() != 1) {
+            // Multipart/byteranges não é suportado; o cliente recebe o arquivo inteiro
+            fileTransfer.send(file, 0, size, request, response);
+            return;
+        }
+        long start;
+        long end;
+        try {
+            start = ranges.getFirst().getRangeStart(size);
+            end = ranges.getFirst().getRangeEnd(size);
+        } catch (IllegalArgumentException e) {
+            rangeNotSatisfiable(response, size);
+            return;
+        }
+        if (start >= size) {
+            rangeNotSatisfiable(response, size);
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+        fileTransfer.send(file, start, end - start + 1, request, response);
+    }
+
+    /**
+     * Um Range só vale se o If-Range (quando presente) ainda corresponder ao arquivo.
+     */
+    private static boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            long date = request.getDateHeader(HttpHeaders.IF_RANGE);
+            return date != -1 && lastModified / 1000 <= date / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static void rangeNotSatisfiable(HttpServletResponse response, long size) {
+        response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+    }
+}
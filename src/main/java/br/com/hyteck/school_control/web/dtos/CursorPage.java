@@ -0,0 +1,30 @@
+package br.com.hyteck.school_control.web.dtos;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de uma listagem paginada por keyset. Não carrega total de registros,
+ * o que dispensa a consulta de contagem da paginação por OFFSET.
+ *
+ * @param content    Registros da página.
+ * @param nextCursor Cursor para buscar a próxima página, ou {@code null} se esta for a última.
+ * @param hasNext    Indica se há mais registros após esta página.
+ */
+public record CursorPage<T>(List<T> content, String nextCursor, boolean hasNext) {
+
+    /**
+     * Monta a página a partir de uma consulta que buscou {@code size + 1} registros:
+     * o registro excedente apenas sinaliza que existe uma próxima página.
+     *
+     * @param rows     Registros retornados pela consulta (no máximo {@code size + 1}).
+     * @param size     Tamanho da página solicitado.
+     * @param cursorOf Função que extrai o cursor de um registro.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, KeysetCursor> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(content.getLast()).encode() : null;
+        return new CursorPage<>(List.copyOf(content), nextCursor, hasNext);
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.hyteck.school_control.web.dtos;
+
+import br.com.hyteck.school_control.exceptions.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição de uma paginação por keyset: o par (timestamp, id) do último registro entregue.
+ * É trafegado para o cliente como uma string opaca em Base64 URL-safe.
+ *
+ * @param timestamp Valor da coluna de ordenação do último registro.
+ * @param id        ID do último registro, usado como desempate.
+ */
+public record KeysetCursor(LocalDateTime timestamp, String id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = timestamp + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica um cursor recebido do cliente.
+     *
+     * @param cursor O cursor opaco; pode ser nulo ou vazio para a primeira página.
+     * @return O cursor decodificado ou {@code null} se nenhum foi informado.
+     * @throws BusinessException se o cursor estiver malformado.
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator <= 0 || separator == raw.length() - 1) {
+                throw new BusinessException("Cursor de paginação inválido.");
+            }
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessException("Cursor de paginação inválido.");
+        }
+    }
+}
@@ -12,7 +12,8 @@ public record NotificationResponse(
         String message,
         Boolean isRead,
         @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss") // Formatação opcional para o frontend
-        LocalDateTime createdAt // Mapeado de notification.getCreatedAt()
+        LocalDateTime createdAt, // Mapeado de notification.getCreatedAt()
+        int count // Notificações semelhantes agrupadas nesta
 ) {
     public static NotificationResponse from(Notification notification) {
         if (notification == null) {
@@ -24,7 +25,8 @@ public record NotificationResponse(
                 notification.getType(), // Usando 'type' como 'title'
                 notification.getMessage(),
                 notification.isRead(),
-                notification.getCreatedAt()
+                notification.getCreatedAt(),
+                notification.getOccurrences()
         );
     }
 }
\ No newline at end of file
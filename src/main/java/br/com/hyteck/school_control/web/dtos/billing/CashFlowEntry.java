@@ -0,0 +1,28 @@
+package br.com.hyteck.school_control.web.dtos.billing;
+
+import br.com.hyteck.school_control.models.payments.PaymentMethod;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Record representando um período (dia ou semana) do fluxo de caixa.
+ *
+ * @param periodStart    Primeiro dia do período.
+ * @param periodEnd      Último dia do período (inclusivo).
+ * @param inflowByMethod Entradas (pagamentos concluídos) agrupadas por forma de pagamento.
+ * @param inflow         Total de entradas no período.
+ * @param outflow        Total de saídas (despesas) no período.
+ * @param net            Resultado do período (entradas - saídas).
+ * @param cumulativeNet  Posição líquida acumulada desde o início do relatório.
+ */
+public record CashFlowEntry(
+        LocalDate periodStart,
+        LocalDate periodEnd,
+        Map<PaymentMethod, BigDecimal> inflowByMethod,
+        BigDecimal inflow,
+        BigDecimal outflow,
+        BigDecimal net,
+        BigDecimal cumulativeNet
+) { }
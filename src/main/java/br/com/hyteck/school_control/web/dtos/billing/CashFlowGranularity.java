@@ -0,0 +1,54 @@
+package br.com.hyteck.school_control.web.dtos.billing;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Granularidade dos períodos do relatório de fluxo de caixa.
+ * O {@code sqlUnit} é o campo usado no {@code date_trunc} do PostgreSQL; semanas começam na segunda-feira (ISO).
+ */
+public enum CashFlowGranularity {
+    DAILY("day"),
+    WEEKLY("week");
+
+    private final String sqlUnit;
+
+    CashFlowGranularity(String sqlUnit) {
+        this.sqlUnit = sqlUnit;
+    }
+
+    public String sqlUnit() {
+        return sqlUnit;
+    }
+
+    /**
+     * Início do período que contém a data.
+     */
+    public LocalDate periodStart(LocalDate date) {
+        return switch (this) {
+            case DAILY -> date;
+            case WEEKLY -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        };
+    }
+
+    /**
+     * Início do primeiro período que começa na data ou depois dela.
+     */
+    public LocalDate nextPeriodStart(LocalDate date) {
+        return switch (this) {
+            case DAILY -> date;
+            case WEEKLY -> date.with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+        };
+    }
+
+    /**
+     * Início do período seguinte ao que começa em {@code periodStart}.
+     */
+    public LocalDate next(LocalDate periodStart) {
+        return switch (this) {
+            case DAILY -> periodStart.plusDays(1);
+            case WEEKLY -> periodStart.plusWeeks(1);
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.hyteck.school_control.web.dtos.billing;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Record representando o relatório de fluxo de caixa de um intervalo.
+ * O intervalo é expandido para períodos completos (ex.: semanas de segunda a domingo).
+ *
+ * @param startDate    Primeiro dia coberto pelo relatório.
+ * @param endDate      Último dia coberto pelo relatório (inclusivo).
+ * @param granularity  Granularidade dos períodos.
+ * @param entries      Um registro por período, em ordem cronológica, incluindo períodos sem movimento.
+ * @param totalInflow  Soma das entradas do intervalo.
+ * @param totalOutflow Soma das saídas do intervalo.
+ * @param net          Posição líquida do intervalo.
+ */
+public record CashFlowReport(
+        LocalDate startDate,
+        LocalDate endDate,
+        CashFlowGranularity granularity,
+        List<CashFlowEntry> entries,
+        BigDecimal totalInflow,
+        BigDecimal totalOutflow,
+        BigDecimal net
+) { }
@@ -0,0 +1,13 @@
+package br.com.hyteck.school_control.web.dtos.billing;
+
+/**
+ * Resultado do envio dos e-mails de novas faturas.
+ *
+ * @param queued    E-mails colocados na caixa de saída.
+ * @param skipped   Faturas sem e-mail válido do responsável.
+ * @param sent      E-mails já entregues ao servidor SMTP.
+ * @param failed    E-mails com falha definitiva.
+ * @param throttled E-mails adiados pelo limite de envio por domínio.
+ */
+public record InvoiceEmailReport(int queued, int skipped, long sent, long failed, long throttled) {
+}
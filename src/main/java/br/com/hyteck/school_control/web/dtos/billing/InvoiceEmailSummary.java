@@ -0,0 +1,19 @@
+package br.com.hyteck.school_control.web.dtos.billing;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Projeção de uma fatura com o necessário para o e-mail de nova fatura.
+ * Os alunos vêm à parte (ver {@link InvoiceStudentName}), já que uma fatura pode ter vários.
+ */
+public record InvoiceEmailSummary(
+        String invoiceId,
+        String responsibleName,
+        String responsibleEmail,
+        BigDecimal amount,
+        LocalDate dueDate,
+        YearMonth referenceMonth
+) {
+}
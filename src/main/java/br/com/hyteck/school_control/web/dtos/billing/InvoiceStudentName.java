@@ -0,0 +1,7 @@
+package br.com.hyteck.school_control.web.dtos.billing;
+
+/**
+ * Projeção de um aluno de uma fatura, para listar todos os alunos no e-mail de nova fatura.
+ */
+public record InvoiceStudentName(String invoiceId, String studentName) {
+}
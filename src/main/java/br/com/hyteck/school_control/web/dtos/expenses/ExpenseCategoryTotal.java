@@ -0,0 +1,12 @@
+package br.com.hyteck.school_control.web.dtos.expenses;
+
+import java.math.BigDecimal;
+
+/**
+ * Total de despesas de uma categoria.
+ *
+ * @param category Categoria; nula para despesas sem categoria.
+ * @param count    Quantidade de despesas.
+ * @param total    Soma dos valores.
+ */
+public record ExpenseCategoryTotal(String category, long count, BigDecimal total) { }
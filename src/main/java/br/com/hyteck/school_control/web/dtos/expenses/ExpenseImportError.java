@@ -0,0 +1,9 @@
+package br.com.hyteck.school_control.web.dtos.expenses;
+
+/**
+ * Linha rejeitada em uma importação de despesas.
+ *
+ * @param line    Número da linha no arquivo (o cabeçalho é a linha 1).
+ * @param message Motivo da rejeição.
+ */
+public record ExpenseImportError(long line, String message) { }
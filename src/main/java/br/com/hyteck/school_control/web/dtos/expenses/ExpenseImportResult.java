@@ -0,0 +1,13 @@
+package br.com.hyteck.school_control.web.dtos.expenses;
+
+import java.util.List;
+
+/**
+ * Resultado de uma importação de despesas em CSV.
+ *
+ * @param imported        Quantidade de despesas gravadas.
+ * @param rejected        Quantidade de linhas rejeitadas.
+ * @param errors          Erros por linha, limitados às primeiras ocorrências.
+ * @param errorsTruncated Indica que houve mais erros do que os listados.
+ */
+public record ExpenseImportResult(long imported, long rejected, List<ExpenseImportError> errors, boolean errorsTruncated) { }
@@ -0,0 +1,10 @@
+package br.com.hyteck.school_control.web.dtos.expenses;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Linha do relatório de despesas (projeção, sem carregar a entidade).
+ */
+public record ExpenseLine(String id, LocalDate date, String description, String category, BigDecimal value,
+                          String receiptThumbnailUrl) { }
@@ -0,0 +1,21 @@
+package br.com.hyteck.school_control.web.dtos.expenses;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * Total de despesas de um mês.
+ *
+ * @param month Mês de referência.
+ * @param count Quantidade de despesas.
+ * @param total Soma dos valores.
+ */
+public record ExpenseMonthTotal(YearMonth month, long count, BigDecimal total) {
+
+    /**
+     * Usado pela projeção JPQL, que agrupa por ano e mês extraídos da data.
+     */
+    public ExpenseMonthTotal(Integer year, Integer month, Long count, BigDecimal total) {
+        this(YearMonth.of(year, month), count, total);
+    }
+}
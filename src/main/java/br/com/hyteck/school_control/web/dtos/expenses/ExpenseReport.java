@@ -4,12 +4,17 @@ import lombok.experimental.SuperBuilder;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 
 import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
+/**
+ * Resumo das despesas de um período, com totais calculados no banco.
+ * As linhas individuais são paginadas à parte (ver {@link ExpenseLine}).
+ */
 @Getter
 @Setter
 @NoArgsConstructor
@@ -17,6 +22,10 @@ import lombok.AllArgsConstructor;
 @SuperBuilder
 public class ExpenseReport {
     private LocalDate reportDate;
+    private LocalDate startDate;
+    private LocalDate endDate;
     private BigDecimal totalExpenses;
-    private String details;
+    private long expenseCount;
+    private List<ExpenseMonthTotal> byMonth;
+    private List<ExpenseCategoryTotal> byCategory;
 }
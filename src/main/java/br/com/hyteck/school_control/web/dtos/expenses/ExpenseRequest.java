@@ -9,12 +9,14 @@ import java.time.LocalDate;
 public record ExpenseRequest (BigDecimal value,
                               LocalDate date,
                               String description,
+                              String category,
 
                               MultipartFile receipt){
 
     public static Expense to(ExpenseRequest expenseRequest){
         return Expense.builder()
                 .description(expenseRequest.description())
+                .category(expenseRequest.category())
                 .date(expenseRequest.date())
                 .value(expenseRequest.value())
                 .build();
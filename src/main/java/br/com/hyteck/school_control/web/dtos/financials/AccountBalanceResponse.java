@@ -0,0 +1,29 @@
+package br.com.hyteck.school_control.web.dtos.financials;
+
+import br.com.hyteck.school_control.models.financials.AccountType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Record representando o saldo de uma conta em um instante.
+ *
+ * @param accountId ID da conta.
+ * @param code      Código no plano de contas.
+ * @param name      Nome da conta.
+ * @param type      Tipo da conta.
+ * @param asOf      Instante de referência do saldo.
+ * @param debits    Total debitado até {@code asOf}.
+ * @param credits   Total creditado até {@code asOf}.
+ * @param balance   Saldo no lado natural da conta (débito para ativos e despesas, crédito para passivos e receitas).
+ */
+public record AccountBalanceResponse(
+        String accountId,
+        String code,
+        String name,
+        AccountType type,
+        LocalDateTime asOf,
+        BigDecimal debits,
+        BigDecimal credits,
+        BigDecimal balance
+) { }
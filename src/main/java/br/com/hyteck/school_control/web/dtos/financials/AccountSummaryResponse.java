@@ -0,0 +1,16 @@
+package br.com.hyteck.school_control.web.dtos.financials;
+
+import br.com.hyteck.school_control.models.financials.AccountType;
+
+import java.math.BigDecimal;
+
+/**
+ * Record representando uma conta com seu saldo corrente (saldo compactado + fatias pendentes).
+ *
+ * @param id      ID da conta.
+ * @param code    Código no plano de contas.
+ * @param name    Nome da conta.
+ * @param type    Tipo da conta.
+ * @param balance Saldo corrente no lado natural da conta.
+ */
+public record AccountSummaryResponse(String id, String code, String name, AccountType type, BigDecimal balance) { }
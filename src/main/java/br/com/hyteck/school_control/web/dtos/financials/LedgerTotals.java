@@ -0,0 +1,21 @@
+package br.com.hyteck.school_control.web.dtos.financials;
+
+import java.math.BigDecimal;
+
+/**
+ * Soma de débitos e créditos de uma conta em um trecho do diário.
+ *
+ * @param accountId ID da conta.
+ * @param debits    Total debitado.
+ * @param credits   Total creditado.
+ */
+public record LedgerTotals(String accountId, BigDecimal debits, BigDecimal credits) {
+
+    public static LedgerTotals empty(String accountId) {
+        return new LedgerTotals(accountId, BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+
+    public LedgerTotals plus(BigDecimal moreDebits, BigDecimal moreCredits) {
+        return new LedgerTotals(accountId, debits.add(moreDebits), credits.add(moreCredits));
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.hyteck.school_control.web.dtos.notification;
+
+/**
+ * Grupo de usuários que recebe uma notificação em massa.
+ */
+public enum NotificationAudience {
+    /** Todos os usuários. */
+    ALL_USERS,
+    /** Usuários com o papel informado em {@code audienceId} (ex.: ROLE_ADMIN). */
+    ROLE,
+    /** Responsáveis pelos alunos com matrícula ativa na turma informada em {@code audienceId}. */
+    CLASSROOM_RESPONSIBLES
+}
@@ -0,0 +1,19 @@
+package br.com.hyteck.school_control.web.dtos.notification;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Notificação em massa para um grupo de usuários.
+ *
+ * @param audience        Grupo de destinatários.
+ * @param audienceId      Papel ou ID da turma, conforme o grupo; ignorado em {@code ALL_USERS}.
+ * @param messageTemplate Mensagem; {@code {nome}} é substituído pelo nome de cada destinatário.
+ * @param link            Opcional: link para onde o usuário deve ser direcionado.
+ * @param type            Opcional: tipo/categoria da notificação.
+ */
+public record NotificationBroadcastRequest(@NotNull NotificationAudience audience,
+                                           String audienceId,
+                                           @NotBlank String messageTemplate,
+                                           String link,
+                                           String type) { }
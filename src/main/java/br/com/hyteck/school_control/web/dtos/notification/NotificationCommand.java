@@ -0,0 +1,13 @@
+package br.com.hyteck.school_control.web.dtos.notification;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Uma notificação a criar em lote.
+ *
+ * @param userId  ID do usuário destinatário.
+ * @param message Conteúdo da notificação.
+ * @param link    Opcional: link para onde o usuário deve ser direcionado.
+ * @param type    Opcional: tipo/categoria da notificação.
+ */
+public record NotificationCommand(@NotBlank String userId, @NotBlank String message, String link, String type) { }
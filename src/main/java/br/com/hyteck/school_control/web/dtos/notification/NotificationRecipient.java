@@ -0,0 +1,9 @@
+package br.com.hyteck.school_control.web.dtos.notification;
+
+/**
+ * Projeção de um destinatário de notificação em massa: só o necessário para montar a mensagem.
+ *
+ * @param userId ID do usuário.
+ * @param name   Nome usado no template.
+ */
+public record NotificationRecipient(String userId, String name) { }
@@ -0,0 +1,11 @@
+package br.com.hyteck.school_control.web.dtos.notification;
+
+import br.com.hyteck.school_control.models.email.OutboundEmailStatus;
+
+/**
+ * Quantidade de e-mails de um envio em massa em um status.
+ *
+ * @param deferred Quantos deles foram adiados pelo limite de envio por domínio.
+ */
+public record OutboundEmailStatusCount(OutboundEmailStatus status, long emails, long deferred) {
+}
@@ -0,0 +1,9 @@
+package br.com.hyteck.school_control.web.dtos.notification;
+
+/**
+ * Contagem de notificações não lidas de um usuário, usada na reconciliação do contador em cache.
+ *
+ * @param userId ID do usuário.
+ * @param count  Quantidade de notificações não lidas.
+ */
+public record UnreadNotificationCount(String userId, long count) { }
@@ -0,0 +1,26 @@
+package br.com.hyteck.school_control.web.dtos.payments;
+
+import br.com.hyteck.school_control.models.payments.PaymentMethod;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * Pagamento de um extrato consolidado: quita todas as faturas em aberto do responsável no mês.
+ *
+ * @param responsibleId  ID do responsável.
+ * @param referenceMonth Mês de referência do extrato (yyyy-MM).
+ * @param amount         Valor total pago.
+ * @param paymentMethod  Forma de pagamento.
+ */
+public record ConsolidatedPaymentRequest(
+        @NotBlank String responsibleId,
+        @NotNull @JsonFormat(pattern = "yyyy-MM") YearMonth referenceMonth,
+        @NotNull @Positive BigDecimal amount,
+        @NotNull PaymentMethod paymentMethod
+) {
+}
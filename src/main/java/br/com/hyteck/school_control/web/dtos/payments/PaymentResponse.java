@@ -2,6 +2,7 @@ package br.com.hyteck.school_control.web.dtos.payments;
 
 import br.com.hyteck.school_control.models.payments.Payment;
 import br.com.hyteck.school_control.models.payments.PaymentMethod;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -10,6 +11,7 @@ import java.time.LocalDateTime;
 
 @Getter
 @Builder
+@AllArgsConstructor // Usado também como projeção de construtor nas consultas JPQL
 public class PaymentResponse {
     private String id;
     private BigDecimal amount;
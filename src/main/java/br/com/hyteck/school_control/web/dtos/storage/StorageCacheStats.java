@@ -0,0 +1,15 @@
+package br.com.hyteck.school_control.web.dtos.storage;
+
+/**
+ * Métricas do cache local do armazenamento remoto desde a inicialização.
+ *
+ * @param hits         Leituras servidas do disco local.
+ * @param misses       Leituras que precisaram baixar o arquivo.
+ * @param hitRate      Fração de leituras servidas do cache (0 a 1).
+ * @param evictions    Arquivos removidos por falta de espaço.
+ * @param entries      Arquivos atualmente em cache.
+ * @param sizeBytes    Bytes ocupados pelo cache.
+ * @param capacityBytes Capacidade configurada.
+ */
+public record StorageCacheStats(long hits, long misses, double hitRate, long evictions,
+                                int entries, long sizeBytes, long capacityBytes) { }
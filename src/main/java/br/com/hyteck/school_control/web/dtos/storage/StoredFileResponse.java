@@ -0,0 +1,20 @@
+package br.com.hyteck.school_control.web.dtos.storage;
+
+import br.com.hyteck.school_control.models.storage.StorageBackend;
+
+import java.time.LocalDateTime;
+
+/**
+ * Record representando um arquivo do índice de armazenamento.
+ *
+ * @param id               ID do registro no índice.
+ * @param backend          Onde o arquivo está armazenado.
+ * @param name             Nome lógico (ou URL, no Cloudinary) usado para ler o arquivo.
+ * @param originalFilename Nome do arquivo enviado.
+ * @param size             Tamanho em bytes.
+ * @param contentHash      SHA-256 do conteúdo.
+ * @param contentType      Tipo MIME deduzido do nome.
+ * @param createdAt        Data de gravação.
+ */
+public record StoredFileResponse(String id, StorageBackend backend, String name, String originalFilename, long size,
+                                 String contentHash, String contentType, LocalDateTime createdAt) { }
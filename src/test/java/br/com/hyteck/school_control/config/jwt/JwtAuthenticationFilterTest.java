@@ -0,0 +1,104 @@
+package br.com.hyteck.school_control.config.jwt;
+
+import br.com.hyteck.school_control.config.jwt.provider.JWTProvider;
+import br.com.hyteck.school_control.models.auth.Role;
+import br.com.hyteck.school_control.models.auth.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "test-secret-with-at-least-thirty-two-bytes";
+
+    @Mock
+    private TokenVersionCache tokenVersionCache;
+
+    private JWTProvider jwtProvider;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtProvider = new JWTProvider(SECRET, "3600000");
+        filter = new JwtAuthenticationFilter(new JwtVerifier(jwtProvider, 100), tokenVersionCache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static User user(long tokenVersion) {
+        User user = User.builder()
+                .id("user-1")
+                .username("admin")
+                .email("admin@example.com")
+                .password("{bcrypt}x")
+                .roles(Set.of(Role.builder().name("ROLE_ADMIN").build()))
+                .enabled(true)
+                .build();
+        user.setTokenVersion(tokenVersion);
+        return user;
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    @Test
+    @DisplayName("Deve autenticar apenas com as claims do token quando a versão é a atual")
+    void shouldAuthenticateFromClaims() throws Exception {
+        when(tokenVersionCache.isCurrent("user-1", 3)).thenReturn(true);
+
+        filter.doFilter(request(jwtProvider.generateToken(user(3))), new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getPrincipal()).isInstanceOfSatisfying(JwtPrincipal.class, principal -> {
+            assertThat(principal.id()).isEqualTo("user-1");
+            assertThat(principal.getUsername()).isEqualTo("admin");
+            assertThat(principal.isEnabled()).isTrue();
+            assertThat(principal.getPassword()).isNull();
+        });
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    @DisplayName("Não deve autenticar token revogado")
+    void shouldRejectRevokedToken() throws Exception {
+        when(tokenVersionCache.isCurrent("user-1", 3)).thenReturn(false);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request(jwtProvider.generateToken(user(3))), new MockHttpServletResponse(), chain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Não deve autenticar token sem claims de usuário")
+    void shouldRejectTokenWithoutUserClaims() throws Exception {
+        filter.doFilter(request(jwtProvider.generateToken("admin")), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verifyNoInteractions(tokenVersionCache);
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.hyteck.school_control.config.jwt;
+
+import br.com.hyteck.school_control.config.jwt.provider.JWTProvider;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara o custo por requisição da verificação antiga do filtro (dois parses, cada um criando
+ * chave e parser) com um parse único com parser reutilizado (o {@link JwtVerifier} fora do cache)
+ * e com o {@link JwtVerifier} encontrando o token no cache.
+ * <p>
+ * Mede tempo de relógio, por isso fica fora do {@code test}; rode com {@code ./gradlew benchmarkTest}.
+ */
+@Tag("benchmark")
+class JwtVerifierBenchmarkTest {
+
+    private static final Logger log = LogManager.getLogger(JwtVerifierBenchmarkTest.class);
+
+    private static final int WARMUP = 5_000;
+    private static final int REQUESTS = 20_000;
+
+    @Test
+    @DisplayName("Verificação com parser único e cache deve custar menos CPU por requisição")
+    void verify_shouldCostLessThanDoubleParse() {
+        JWTProvider jwtProvider = new JWTProvider(JwtVerifierTest.SECRET, "3600000");
+        String token = jwtProvider.generateToken(JwtVerifierTest.user());
+        byte[] secret = JwtVerifierTest.SECRET.getBytes();
+        JwtVerifier cached = new JwtVerifier(jwtProvider, 100);
+
+        long legacyNanos = nanosPerRequest(token, t -> {
+            // Como o filtro fazia: validateToken + getUsernameFromToken, cada um com nova chave e novo parser
+            Jws<Claims> claims = Jwts.parser().verifyWith(Keys.hmacShaKeyFor(secret)).build().parseSignedClaims(t);
+            assertThat(claims.getPayload().getIssuer()).isEqualTo(JWTProvider.ISSUER);
+            Jwts.parser().verifyWith(Keys.hmacShaKeyFor(secret)).build().parseSignedClaims(t).getPayload().getSubject();
+        });
+        // Custo de uma verificação fora do cache: um parse com a chave e o parser já criados
+        long singleParseNanos = nanosPerRequest(token, t -> jwtProvider.parser().parseSignedClaims(t).getPayload());
+        long cachedNanos = nanosPerRequest(token, t -> assertThat(cached.verify(t)).isPresent());
+
+        log.info("JWT por requisição — dois parses: {} ns; parse único: {} ns; cache: {} ns",
+                legacyNanos, singleParseNanos, cachedNanos);
+        assertThat(cachedNanos).isLessThan(legacyNanos);
+        assertThat(singleParseNanos).isLessThan(legacyNanos);
+    }
+
+    private static long nanosPerRequest(String token, Consumer<String> verification) {
+        for (int i = 0; i < WARMUP; i++) {
+            verification.accept(token);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            verification.accept(token);
+        }
+        return (System.nanoTime() - start) / REQUESTS;
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.hyteck.school_control.config.jwt;
+
+import br.com.hyteck.school_control.config.jwt.provider.JWTProvider;
+import br.com.hyteck.school_control.models.auth.Role;
+import br.com.hyteck.school_control.models.auth.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtVerifierTest {
+
+    static final String SECRET = "test-secret-with-at-least-thirty-two-bytes";
+
+    private JWTProvider jwtProvider;
+    private JwtVerifier jwtVerifier;
+
+    @BeforeEach
+    void setUp() {
+        jwtProvider = new JWTProvider(SECRET, "3600000");
+        jwtVerifier = new JwtVerifier(jwtProvider, 100);
+    }
+
+    static User user() {
+        User user = User.builder()
+                .id("user-1")
+                .username("responsavel")
+                .email("responsavel@example.com")
+                .password("{bcrypt}x")
+                .roles(Set.of(Role.builder().name("ROLE_RESPONSIBLE").build()))
+                .enabled(true)
+                .build();
+        user.setTokenVersion(2);
+        return user;
+    }
+
+    @Test
+    @DisplayName("Deve devolver o usuário das claims, também quando o token já está em cache")
+    void verify_shouldReturnPrincipalFromClaims() {
+        String token = jwtProvider.generateToken(user());
+
+        JwtPrincipal first = jwtVerifier.verify(token).orElseThrow();
+        JwtPrincipal second = jwtVerifier.verify(token).orElseThrow();
+
+        assertThat(first.id()).isEqualTo("user-1");
+        assertThat(first.getUsername()).isEqualTo("responsavel");
+        assertThat(first.tokenVersion()).isEqualTo(2);
+        assertThat(first.isEnabled()).isTrue();
+        assertThat(first.isAccountNonLocked()).isTrue();
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar token adulterado, assinado com outra chave ou expirado")
+    void verify_shouldRejectInvalidTokens() {
+        String token = jwtProvider.generateToken(user());
+        jwtVerifier.verify(token);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        String otherKey = new JWTProvider("another-secret-with-at-least-thirty-two-bytes", "3600000").generateToken(user());
+        String expired = new JWTProvider(SECRET, "-1000").generateToken(user());
+
+        assertThat(jwtVerifier.verify(tampered)).isEmpty();
+        assertThat(jwtVerifier.verify(otherKey)).isEmpty();
+        assertThat(jwtVerifier.verify(expired)).isEmpty();
+        assertThat(jwtVerifier.verify("invalidtoken")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar token sem claims de usuário")
+    void verify_shouldRejectTokenWithoutUserClaims() {
+        assertThat(jwtVerifier.verify(jwtProvider.generateToken("responsavel"))).isEmpty();
+    }
+}
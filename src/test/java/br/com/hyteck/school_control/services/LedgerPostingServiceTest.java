@@ -0,0 +1,216 @@
+package br.com.hyteck.school_control.services;
+
+import br.com.hyteck.school_control.exceptions.BusinessException;
+import br.com.hyteck.school_control.models.expenses.Expense;
+import br.com.hyteck.school_control.models.financials.*;
+import br.com.hyteck.school_control.models.payments.Invoice;
+import br.com.hyteck.school_control.models.payments.Payment;
+import br.com.hyteck.school_control.models.payments.Responsible;
+import br.com.hyteck.school_control.repositories.AccountBalanceSlotRepository;
+import br.com.hyteck.school_control.repositories.AccountRepository;
+import br.com.hyteck.school_control.repositories.JournalEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerPostingServiceTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private JournalEntryRepository journalEntryRepository;
+
+    @Mock
+    private AccountBalanceSlotRepository balanceSlotRepository;
+
+    private LedgerPostingService ledgerPostingService;
+
+    @BeforeEach
+    void setUp() {
+        ledgerPostingService = new LedgerPostingService(accountRepository, journalEntryRepository, balanceSlotRepository, 16);
+    }
+
+    private Account account(ChartOfAccounts chartAccount) {
+        return Account.builder().id(chartAccount.name()).code(chartAccount.code())
+                .name(chartAccount.displayName()).type(chartAccount.type()).build();
+    }
+
+    @Test
+    @DisplayName("Deve lançar a emissão da fatura abrindo a conta a receber do responsável")
+    void postInvoicesIssued_shouldDebitReceivablesAndCreditRevenue() {
+        Responsible responsible = new Responsible();
+        responsible.setId("resp-1");
+        responsible.setName("Maria");
+        Invoice invoice = Invoice.builder().id("inv-1").responsible(responsible)
+                .amount(new BigDecimal("500.00")).issueDate(LocalDate.of(2025, 5, 10)).description("Fatura Maio").build();
+
+        Account revenue = account(ChartOfAccounts.TUITION_REVENUE);
+        Account receivable = Account.builder().id("rec-1").code(ChartOfAccounts.RECEIVABLES.codeFor("resp-1"))
+                .name("Mensalidades a receber - Maria").type(AccountType.ASSET).responsible(responsible).build();
+        when(accountRepository.findByCode(ChartOfAccounts.TUITION_REVENUE.code())).thenReturn(Optional.of(revenue));
+        when(accountRepository.findByCodeIn(anyCollection())).thenReturn(List.of(), List.of(receivable));
+
+        ledgerPostingService.postInvoicesIssued(List.of(invoice));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<JournalEntry>> captor = ArgumentCaptor.forClass(List.class);
+        verify(journalEntryRepository).saveAll(captor.capture());
+        JournalEntry entry = captor.getValue().getFirst();
+        assertThat(entry.getSourceType()).isEqualTo(JournalSource.INVOICE);
+        assertThat(entry.getSourceId()).isEqualTo("inv-1");
+        assertThat(entry.getLines()).hasSize(2);
+
+        JournalLine debit = entry.getLines().getFirst();
+        assertThat(debit.getSide()).isEqualTo(EntrySide.DEBIT);
+        assertThat(debit.getAccount().getCode()).isEqualTo(ChartOfAccounts.RECEIVABLES.codeFor("resp-1"));
+        assertThat(debit.getAccount().getResponsible()).isSameAs(responsible);
+        assertThat(entry.getLines().getLast().getAccount()).isSameAs(revenue);
+        assertThat(entry.getLines()).allMatch(line -> line.getEntry() == entry && line.getPostedAt().equals(entry.getPostedAt()));
+        verify(accountRepository).insertIfAbsent(ChartOfAccounts.RECEIVABLES.codeFor("resp-1"),
+                "Mensalidades a receber - Maria", AccountType.ASSET.name(), "resp-1");
+    }
+
+    @Test
+    @DisplayName("Deve creditar a multa por atraso em receita de multas e o restante em contas a receber")
+    void postPaymentsReceived_shouldSplitLatePenalty() {
+        Responsible responsible = new Responsible();
+        responsible.setId("resp-1");
+        Invoice invoice = Invoice.builder().id("inv-1").responsible(responsible)
+                .amount(new BigDecimal("510.00")).dueDate(LocalDate.of(2025, 5, 10)).build();
+        Payment payment = Payment.builder().invoice(invoice)
+                .amountPaid(new BigDecimal("510.00")).paymentDate(LocalDate.of(2025, 5, 20).atStartOfDay()).build();
+
+        Account receivable = Account.builder().id("rec-1").code(ChartOfAccounts.RECEIVABLES.codeFor("resp-1"))
+                .name("Mensalidades a receber").type(AccountType.ASSET).build();
+        Account lateFees = account(ChartOfAccounts.LATE_FEE_REVENUE);
+        when(accountRepository.findByCode(ChartOfAccounts.CASH.code())).thenReturn(Optional.of(account(ChartOfAccounts.CASH)));
+        when(accountRepository.findByCode(ChartOfAccounts.LATE_FEE_REVENUE.code())).thenReturn(Optional.empty(), Optional.of(lateFees));
+        when(accountRepository.findByCodeIn(anyCollection())).thenReturn(List.of(receivable));
+
+        ledgerPostingService.postPaymentsReceived(List.of(payment));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<JournalEntry>> captor = ArgumentCaptor.forClass(List.class);
+        verify(journalEntryRepository).saveAll(captor.capture());
+        List<JournalLine> lines = captor.getValue().getFirst().getLines();
+        assertThat(lines).hasSize(3);
+        assertThat(lines.getFirst().getAmount()).isEqualByComparingTo("510.00");
+        assertThat(lines.get(1).getAccount()).isSameAs(receivable);
+        assertThat(lines.get(1).getAmount()).isEqualByComparingTo("500.00");
+        assertThat(lines.get(2).getAccount()).isSameAs(lateFees);
+        assertThat(lines.get(2).getAmount()).isEqualByComparingTo(Invoice.LATE_PENALTY);
+        verify(accountRepository).insertIfAbsent(ChartOfAccounts.LATE_FEE_REVENUE.code(),
+                ChartOfAccounts.LATE_FEE_REVENUE.displayName(), AccountType.REVENUE.name(), null);
+    }
+
+    @Test
+    @DisplayName("Deve estornar com lados invertidos quando o valor da despesa diminuir")
+    void postExpense_shouldReverseSides_whenAmountIsNegative() {
+        when(accountRepository.findByCode(ChartOfAccounts.OPERATING_EXPENSES.code()))
+                .thenReturn(Optional.of(account(ChartOfAccounts.OPERATING_EXPENSES)));
+        when(accountRepository.findByCode(ChartOfAccounts.CASH.code())).thenReturn(Optional.of(account(ChartOfAccounts.CASH)));
+        Expense expense = Expense.builder().value(new BigDecimal("80.00")).date(LocalDate.of(2025, 5, 2)).description("Luz").build();
+
+        ledgerPostingService.postExpense(expense, new BigDecimal("-20.00"));
+
+        ArgumentCaptor<JournalEntry> captor = ArgumentCaptor.forClass(JournalEntry.class);
+        verify(journalEntryRepository).save(captor.capture());
+        JournalLine debit = captor.getValue().getLines().getFirst();
+        assertThat(debit.getSide()).isEqualTo(EntrySide.DEBIT);
+        assertThat(debit.getAccount().getCode()).isEqualTo(ChartOfAccounts.CASH.code());
+        assertThat(debit.getAmount()).isEqualByComparingTo("20.00");
+        // Estorno: despesas diminuem, caixa (ativo) aumenta
+        verify(balanceSlotRepository).addToSlot(eq(ChartOfAccounts.OPERATING_EXPENSES.name()), anyInt(),
+                argThat(delta -> delta.compareTo(new BigDecimal("-20.00")) == 0));
+        verify(balanceSlotRepository).addToSlot(eq(ChartOfAccounts.CASH.name()), anyInt(),
+                argThat(delta -> delta.compareTo(new BigDecimal("20.00")) == 0));
+    }
+
+    @Test
+    @DisplayName("Deve escolher a fatia de cada lançamento do lote pela sua própria origem")
+    void postExpenses_shouldSpreadBatchAcrossSlots() {
+        when(accountRepository.findByCode(ChartOfAccounts.OPERATING_EXPENSES.code()))
+                .thenReturn(Optional.of(account(ChartOfAccounts.OPERATING_EXPENSES)));
+        when(accountRepository.findByCode(ChartOfAccounts.CASH.code())).thenReturn(Optional.of(account(ChartOfAccounts.CASH)));
+        List<Expense> expenses = IntStream.range(0, 50)
+                .mapToObj(i -> {
+                    Expense expense = Expense.builder().value(BigDecimal.ONE)
+                            .date(LocalDate.of(2025, 5, 2)).description("Despesa " + i).build();
+                    expense.setId("exp-" + i);
+                    return expense;
+                })
+                .toList();
+
+        ledgerPostingService.postExpenses(expenses);
+
+        ArgumentCaptor<Integer> slots = ArgumentCaptor.forClass(Integer.class);
+        ArgumentCaptor<BigDecimal> deltas = ArgumentCaptor.forClass(BigDecimal.class);
+        verify(balanceSlotRepository, atLeast(2)).addToSlot(eq(ChartOfAccounts.CASH.name()), slots.capture(), deltas.capture());
+        assertThat(slots.getAllValues()).doesNotHaveDuplicates().allMatch(slot -> slot >= 0 && slot < 16);
+        assertThat(deltas.getAllValues().stream().reduce(BigDecimal.ZERO, BigDecimal::add)).isEqualByComparingTo("-50");
+    }
+
+    @Test
+    @DisplayName("Deve aplicar as variações de lotes intercalados na mesma ordem de fatias")
+    void postExpenses_shouldLockSlotsInTheSameOrderForEveryBatch() {
+        when(accountRepository.findByCode(ChartOfAccounts.OPERATING_EXPENSES.code()))
+                .thenReturn(Optional.of(account(ChartOfAccounts.OPERATING_EXPENSES)));
+        when(accountRepository.findByCode(ChartOfAccounts.CASH.code())).thenReturn(Optional.of(account(ChartOfAccounts.CASH)));
+        List<String> applied = new ArrayList<>();
+        doAnswer(inv -> {
+            applied.add(inv.getArgument(0) + "#" + inv.getArgument(1));
+            return 1;
+        })
+                .when(balanceSlotRepository).addToSlot(anyString(), anyInt(), any());
+        List<Expense> expenses = IntStream.range(0, 20)
+                .mapToObj(i -> {
+                    Expense expense = Expense.builder().value(BigDecimal.ONE)
+                            .date(LocalDate.of(2025, 5, 2)).description("Despesa " + i).build();
+                    expense.setId("exp-" + i);
+                    return expense;
+                })
+                .toList();
+
+        ledgerPostingService.postExpenses(expenses);
+        List<String> first = List.copyOf(applied);
+        applied.clear();
+        ledgerPostingService.postExpenses(expenses.reversed());
+
+        assertThat(first).hasSizeGreaterThan(2);
+        assertThat(applied).containsExactlyElementsOf(first);
+        assertThat(first.stream().map(key -> key.split("#"))
+                .map(key -> key[0] + String.format("#%05d", Integer.parseInt(key[1]))).toList()).isSorted();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar lançamento desbalanceado")
+    void buildEntry_shouldRejectUnbalancedEntry() {
+        Account cash = account(ChartOfAccounts.CASH);
+        Account expenses = account(ChartOfAccounts.OPERATING_EXPENSES);
+
+        assertThatThrownBy(() -> ledgerPostingService.buildEntry(JournalSource.EXPENSE, "exp-1", "Teste",
+                LocalDateTime.now(), LocalDateTime.now(),
+                List.of(LedgerPostingService.Posting.debit(expenses, BigDecimal.TEN),
+                        LedgerPostingService.Posting.credit(cash, BigDecimal.ONE))))
+                .isInstanceOf(BusinessException.class);
+    }
+}
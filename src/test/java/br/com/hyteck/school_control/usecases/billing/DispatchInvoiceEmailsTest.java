@@ -0,0 +1,164 @@
+package br.com.hyteck.school_control.usecases.billing;
+
+import br.com.hyteck.school_control.exceptions.BusinessException;
+import br.com.hyteck.school_control.models.email.InvoiceEmailDispatch;
+import br.com.hyteck.school_control.models.email.InvoiceEmailDispatchStatus;
+import br.com.hyteck.school_control.models.email.OutboundEmailStatus;
+import br.com.hyteck.school_control.repositories.InvoiceEmailDispatchRepository;
+import br.com.hyteck.school_control.repositories.InvoiceRepository;
+import br.com.hyteck.school_control.usecases.notification.EmailOutbox;
+import br.com.hyteck.school_control.usecases.notification.EmailTemplateEngine;
+import br.com.hyteck.school_control.web.dtos.billing.InvoiceEmailReport;
+import br.com.hyteck.school_control.web.dtos.billing.InvoiceEmailSummary;
+import br.com.hyteck.school_control.web.dtos.billing.InvoiceStudentName;
+import br.com.hyteck.school_control.web.dtos.notification.OutboundEmailStatusCount;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DispatchInvoiceEmailsTest {
+
+    @Mock
+    private InvoiceRepository invoiceRepository;
+
+    @Mock
+    private InvoiceEmailDispatchRepository dispatchRepository;
+
+    @Mock
+    private InvoiceEmailWriter writer;
+
+    @Mock
+    private EmailOutbox outbox;
+
+    private DispatchInvoiceEmails dispatchInvoiceEmails;
+
+    @AfterEach
+    void tearDown() {
+        dispatchInvoiceEmails.shutdown();
+    }
+
+    private DispatchInvoiceEmails newDispatcher(int batchSize, int concurrency) {
+        return new DispatchInvoiceEmails(invoiceRepository, dispatchRepository, writer,
+                new EmailTemplateEngine(new DefaultResourceLoader()), outbox, "https://app", batchSize, concurrency);
+    }
+
+    private InvoiceEmailDispatch dispatch() {
+        InvoiceEmailDispatch dispatch = InvoiceEmailDispatch.builder().referenceMonth(YearMonth.of(2025, 3)).build();
+        dispatch.setId("d1");
+        when(dispatchRepository.findById("d1")).thenReturn(Optional.of(dispatch));
+        return dispatch;
+    }
+
+    private static InvoiceEmailSummary summary(String id, String email) {
+        return new InvoiceEmailSummary(id, "Resp " + id, email, new BigDecimal("500.00"),
+                LocalDate.of(2025, 3, 10), YearMonth.of(2025, 3));
+    }
+
+    @Test
+    @DisplayName("Deve enfileirar um e-mail por fatura pendente, listando todos os alunos, e contar as sem e-mail")
+    void execute_shouldQueueOneEmailPerInvoiceWithAllStudents() {
+        dispatchInvoiceEmails = newDispatcher(2, 4);
+        InvoiceEmailDispatch dispatch = dispatch();
+        when(invoiceRepository.findEmailPendingIds("d1", "", Limit.of(2))).thenReturn(List.of("i1", "i2"));
+        when(invoiceRepository.findEmailPendingIds("d1", "i2", Limit.of(2))).thenReturn(List.of("i3"));
+        when(invoiceRepository.findEmailSummaries(anyCollection()))
+                .thenReturn(List.of(summary("i1", "a@x.com"), summary("i2", " ")))
+                .thenReturn(List.of(summary("i3", "invalido")));
+        when(invoiceRepository.findStudentNames(anyCollection()))
+                .thenReturn(List.of(new InvoiceStudentName("i1", "Ana"), new InvoiceStudentName("i1", "Bia")))
+                .thenReturn(List.of());
+        when(writer.enqueue(eq("d1"), eq("i1"), eq("a@x.com"), any())).thenReturn(true);
+        when(writer.enqueue(eq("d1"), eq("i3"), eq("invalido"), any()))
+                .thenThrow(new BusinessException("Endereço de e-mail inválido: invalido"));
+
+        InvoiceEmailReport report = dispatchInvoiceEmails.execute("d1");
+
+        assertThat(report.queued()).isEqualTo(1);
+        assertThat(report.skipped()).isEqualTo(2);
+        verify(writer).enqueue(eq("d1"), eq("i1"), eq("a@x.com"),
+                argThat(email -> email.html().contains("Ana e Bia") && email.html().contains("https://app/invoices/i1")));
+        assertThat(dispatch.getStatus()).isEqualTo(InvoiceEmailDispatchStatus.QUEUED);
+        verify(dispatchRepository).save(dispatch);
+    }
+
+    @Test
+    @DisplayName("Deve limitar os envios simultâneos")
+    void execute_shouldBoundConcurrency() {
+        dispatchInvoiceEmails = newDispatcher(100, 2);
+        dispatch();
+        List<InvoiceEmailSummary> invoices = IntStream.range(0, 20)
+                .mapToObj(i -> summary("i" + i, "r" + i + "@x.com")).toList();
+        when(invoiceRepository.findEmailPendingIds(eq("d1"), anyString(), any()))
+                .thenReturn(invoices.stream().map(InvoiceEmailSummary::invoiceId).toList());
+        when(invoiceRepository.findEmailSummaries(anyCollection())).thenReturn(invoices);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(writer.enqueue(eq("d1"), anyString(), anyString(), any())).thenAnswer(inv -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+            return true;
+        });
+
+        InvoiceEmailReport report = dispatchInvoiceEmails.execute("d1");
+
+        assertThat(report.queued()).isEqualTo(20);
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(2);
+        verify(invoiceRepository, times(1)).findEmailPendingIds(eq("d1"), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Deve fechar o envio com as contagens da caixa de saída quando todos os e-mails saírem")
+    void sweep_shouldCompleteDispatchWithOutboxCounts() {
+        dispatchInvoiceEmails = newDispatcher(100, 2);
+        InvoiceEmailDispatch done = InvoiceEmailDispatch.builder().referenceMonth(YearMonth.of(2025, 3))
+                .status(InvoiceEmailDispatchStatus.QUEUED).queued(3).build();
+        done.setId("d1");
+        InvoiceEmailDispatch sending = InvoiceEmailDispatch.builder().referenceMonth(YearMonth.of(2025, 3))
+                .status(InvoiceEmailDispatchStatus.QUEUED).queued(3).build();
+        sending.setId("d2");
+        when(dispatchRepository.findByStatus(InvoiceEmailDispatchStatus.QUEUED)).thenReturn(List.of(done, sending));
+        when(outbox.countByDispatch("d1")).thenReturn(List.of(
+                new OutboundEmailStatusCount(OutboundEmailStatus.SENT, 2, 1),
+                new OutboundEmailStatusCount(OutboundEmailStatus.FAILED, 1, 0)));
+        when(outbox.countByDispatch("d2")).thenReturn(List.of(
+                new OutboundEmailStatusCount(OutboundEmailStatus.SENT, 1, 0),
+                new OutboundEmailStatusCount(OutboundEmailStatus.PENDING, 2, 2)));
+
+        dispatchInvoiceEmails.sweep();
+
+        assertThat(done.getStatus()).isEqualTo(InvoiceEmailDispatchStatus.COMPLETED);
+        assertThat(done.getSent()).isEqualTo(2);
+        assertThat(done.getFailed()).isEqualTo(1);
+        assertThat(done.getThrottled()).isEqualTo(1);
+        verify(dispatchRepository).save(done);
+        assertThat(sending.getStatus()).isEqualTo(InvoiceEmailDispatchStatus.QUEUED);
+        verify(dispatchRepository, never()).save(sending);
+    }
+
+    @Test
+    @DisplayName("Deve juntar os nomes dos alunos sem repetir")
+    void joinNames_shouldListDistinctNames() {
+        assertThat(DispatchInvoiceEmails.joinNames(List.of())).isEqualTo("N/D");
+        assertThat(DispatchInvoiceEmails.joinNames(List.of("Ana", "Ana"))).isEqualTo("Ana");
+        assertThat(DispatchInvoiceEmails.joinNames(List.of("Ana", "Bia", "Caio"))).isEqualTo("Ana, Bia e Caio");
+    }
+}
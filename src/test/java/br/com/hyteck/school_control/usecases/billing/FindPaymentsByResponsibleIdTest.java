@@ -0,0 +1,82 @@
+package br.com.hyteck.school_control.usecases.billing;
+
+import br.com.hyteck.school_control.exceptions.BusinessException;
+import br.com.hyteck.school_control.models.payments.PaymentMethod;
+import br.com.hyteck.school_control.repositories.PaymentRepository;
+import br.com.hyteck.school_control.web.dtos.CursorPage;
+import br.com.hyteck.school_control.web.dtos.KeysetCursor;
+import br.com.hyteck.school_control.web.dtos.payments.PaymentResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FindPaymentsByResponsibleIdTest {
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @InjectMocks
+    private FindPaymentsByResponsibleId findPaymentsByResponsibleId;
+
+    private final String responsibleId = "resp-123";
+
+    private PaymentResponse payment(String id, LocalDateTime date) {
+        return new PaymentResponse(id, BigDecimal.TEN, date, PaymentMethod.PIX, "inv-" + id);
+    }
+
+    @Test
+    @DisplayName("Deve buscar size + 1 registros e devolver cursor quando houver próxima página")
+    void execute_shouldReturnNextCursor_whenMoreRowsExist() {
+        LocalDateTime base = LocalDateTime.of(2025, 5, 10, 0, 0);
+        when(paymentRepository.findHistoryByResponsible(eq(responsibleId), any(), any(), eq(Limit.of(3))))
+                .thenReturn(List.of(payment("p3", base.plusDays(2)), payment("p2", base.plusDays(1)), payment("p1", base)));
+
+        CursorPage<PaymentResponse> page = findPaymentsByResponsibleId.execute(responsibleId, null, null, null, 2);
+
+        assertThat(page.content()).extracting(PaymentResponse::getId).containsExactly("p3", "p2");
+        assertThat(page.hasNext()).isTrue();
+        assertThat(KeysetCursor.decode(page.nextCursor())).isEqualTo(new KeysetCursor(base.plusDays(1), "p2"));
+    }
+
+    @Test
+    @DisplayName("Deve continuar a partir do cursor informado")
+    void execute_shouldSeekFromCursor() {
+        LocalDateTime cursorDate = LocalDateTime.of(2025, 5, 11, 0, 0);
+        String cursor = new KeysetCursor(cursorDate, "p2").encode();
+        when(paymentRepository.findHistoryByResponsibleAfter(eq(responsibleId), any(), any(), eq(cursorDate), eq("p2"), eq(Limit.of(3))))
+                .thenReturn(List.of(payment("p1", cursorDate.minusDays(1))));
+
+        CursorPage<PaymentResponse> page = findPaymentsByResponsibleId.execute(
+                responsibleId, LocalDate.of(2025, 5, 1), LocalDate.of(2025, 5, 31), cursor, 2);
+
+        assertThat(page.content()).hasSize(1);
+        assertThat(page.hasNext()).isFalse();
+        assertThat(page.nextCursor()).isNull();
+        verify(paymentRepository, never()).findHistoryByResponsible(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar cursor inválido")
+    void execute_shouldRejectInvalidCursor() {
+        assertThatThrownBy(() -> findPaymentsByResponsibleId.execute(responsibleId, null, null, "###", 20))
+                .isInstanceOf(BusinessException.class);
+
+        verifyNoInteractions(paymentRepository);
+    }
+}
@@ -0,0 +1,83 @@
+package br.com.hyteck.school_control.usecases.billing;
+
+import br.com.hyteck.school_control.exceptions.BusinessException;
+import br.com.hyteck.school_control.models.payments.PaymentMethod;
+import br.com.hyteck.school_control.web.dtos.billing.CashFlowEntry;
+import br.com.hyteck.school_control.web.dtos.billing.CashFlowGranularity;
+import br.com.hyteck.school_control.web.dtos.billing.CashFlowReport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GenerateCashFlowReportUseCaseTest {
+
+    @Mock
+    private CashFlowPeriodLoader periodLoader;
+
+    @InjectMocks
+    private GenerateCashFlowReportUseCase generateCashFlowReportUseCase;
+
+    @Test
+    @DisplayName("Deve usar o cache para meses encerrados e preencher dias sem movimento")
+    void execute_shouldUseClosedMonthsAndFillGaps() {
+        YearMonth month = YearMonth.of(2025, 3);
+        when(periodLoader.loadClosedMonth(month, CashFlowGranularity.DAILY)).thenReturn(List.of(
+                new CashFlowPeriodLoader.PeriodTotals(LocalDate.of(2025, 3, 10),
+                        Map.of(PaymentMethod.PIX, new BigDecimal("300.00"), PaymentMethod.BOLETO, new BigDecimal("50.00")),
+                        new BigDecimal("100.00")),
+                new CashFlowPeriodLoader.PeriodTotals(LocalDate.of(2025, 3, 12), Map.of(), new BigDecimal("20.00"))));
+
+        CashFlowReport report = generateCashFlowReportUseCase.execute(
+                LocalDate.of(2025, 3, 10), LocalDate.of(2025, 3, 12), CashFlowGranularity.DAILY);
+
+        assertThat(report.entries()).extracting(CashFlowEntry::periodStart).containsExactly(
+                LocalDate.of(2025, 3, 10), LocalDate.of(2025, 3, 11), LocalDate.of(2025, 3, 12));
+        assertThat(report.entries()).extracting(CashFlowEntry::net).containsExactly(
+                new BigDecimal("250.00"), BigDecimal.ZERO, new BigDecimal("-20.00"));
+        assertThat(report.entries().getLast().cumulativeNet()).isEqualByComparingTo("230.00");
+        assertThat(report.totalInflow()).isEqualByComparingTo("350.00");
+        assertThat(report.totalOutflow()).isEqualByComparingTo("120.00");
+        verify(periodLoader, never()).load(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve consultar sem cache o mês corrente, limitado ao intervalo pedido")
+    void execute_shouldQueryOpenMonthLive() {
+        LocalDate today = LocalDate.now();
+        LocalDate monday = CashFlowGranularity.WEEKLY.periodStart(today);
+        when(periodLoader.load(any(), any(), any())).thenReturn(List.of());
+
+        CashFlowReport report = generateCashFlowReportUseCase.execute(today, today, CashFlowGranularity.WEEKLY);
+
+        assertThat(report.startDate()).isEqualTo(monday);
+        assertThat(report.endDate()).isEqualTo(monday.plusDays(6));
+        assertThat(report.entries()).hasSize(1);
+        verify(periodLoader).load(monday, monday.plusWeeks(1), CashFlowGranularity.WEEKLY);
+        verify(periodLoader, never()).loadClosedMonth(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar intervalo invertido")
+    void execute_shouldRejectInvertedRange() {
+        assertThatThrownBy(() -> generateCashFlowReportUseCase.execute(
+                LocalDate.of(2025, 3, 12), LocalDate.of(2025, 3, 10), CashFlowGranularity.DAILY))
+                .isInstanceOf(BusinessException.class);
+
+        verifyNoInteractions(periodLoader);
+    }
+}
@@ -0,0 +1,52 @@
+package br.com.hyteck.school_control.usecases.billing;
+
+import br.com.hyteck.school_control.repositories.ExpenseRepository;
+import br.com.hyteck.school_control.web.dtos.expenses.ExpenseCategoryTotal;
+import br.com.hyteck.school_control.web.dtos.expenses.ExpenseMonthTotal;
+import br.com.hyteck.school_control.web.dtos.expenses.ExpenseReport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GenerateExpenseReportUseCaseTest {
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @InjectMocks
+    private GenerateExpenseReportUseCase generateExpenseReportUseCase;
+
+    @Test
+    @DisplayName("Deve montar o relatório a partir dos agregados do banco")
+    void execute_shouldBuildReportFromAggregates() {
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        LocalDate end = LocalDate.of(2025, 2, 28);
+        when(expenseRepository.sumByMonth(start, end)).thenReturn(List.of(
+                new ExpenseMonthTotal(2025, 1, 3L, new BigDecimal("300.00")),
+                new ExpenseMonthTotal(2025, 2, 2L, new BigDecimal("150.50"))));
+        when(expenseRepository.sumByCategory(start, end)).thenReturn(List.of(
+                new ExpenseCategoryTotal("Manutenção", 4, new BigDecimal("400.00")),
+                new ExpenseCategoryTotal(null, 1, new BigDecimal("50.50"))));
+
+        ExpenseReport report = generateExpenseReportUseCase.execute(start, end);
+
+        assertThat(report.getTotalExpenses()).isEqualByComparingTo("450.50");
+        assertThat(report.getExpenseCount()).isEqualTo(5);
+        assertThat(report.getByMonth()).extracting(ExpenseMonthTotal::month)
+                .containsExactly(YearMonth.of(2025, 1), YearMonth.of(2025, 2));
+        assertThat(report.getByCategory()).hasSize(2);
+        verify(expenseRepository, never()).findAll();
+    }
+}
@@ -0,0 +1,138 @@
+package br.com.hyteck.school_control.usecases.billing;
+
+import br.com.hyteck.school_control.exceptions.BusinessException;
+import br.com.hyteck.school_control.exceptions.ResourceNotFoundException;
+import br.com.hyteck.school_control.models.payments.*;
+import br.com.hyteck.school_control.repositories.InvoiceRepository;
+import br.com.hyteck.school_control.repositories.PaymentRepository;
+import br.com.hyteck.school_control.services.LedgerPostingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProcessConsolidatedPaymentUseCaseTest {
+
+    @Mock
+    private InvoiceRepository invoiceRepository;
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private LedgerPostingService ledgerPostingService;
+
+    @InjectMocks
+    private ProcessConsolidatedPaymentUseCase processConsolidatedPaymentUseCase;
+
+    private final String responsibleId = "resp-123";
+    private final YearMonth referenceMonth = YearMonth.of(2025, 5);
+    private Invoice invoice1;
+    private Invoice invoice2;
+
+    @BeforeEach
+    void setUp() {
+        invoice1 = Invoice.builder()
+                .id("inv-001")
+                .amount(new BigDecimal("500.00"))
+                .dueDate(LocalDate.now().plusDays(5))
+                .referenceMonth(referenceMonth)
+                .status(InvoiceStatus.PENDING)
+                .build();
+        invoice2 = Invoice.builder()
+                .id("inv-002")
+                .amount(new BigDecimal("150.50"))
+                .dueDate(LocalDate.now().minusDays(5))
+                .referenceMonth(referenceMonth)
+                .status(InvoiceStatus.OVERDUE)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve criar um pagamento por fatura, com multa nas vencidas, e quitar em lote")
+    void execute_shouldSettleAllInvoicesInBatch() {
+        when(invoiceRepository.findPayableInvoicesByResponsibleAndMonth(eq(responsibleId), eq(referenceMonth), anyCollection()))
+                .thenReturn(List.of(invoice1, invoice2));
+        when(invoiceRepository.settleByIds(anyCollection(), eq(InvoiceStatus.PAID), any(), anyCollection(), any(LocalDateTime.class)))
+                .thenAnswer(inv -> ((Collection<?>) inv.getArgument(0)).size());
+        when(paymentRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        List<Payment> payments = processConsolidatedPaymentUseCase.execute(
+                responsibleId, referenceMonth, new BigDecimal("660.50"), PaymentMethod.PIX);
+
+        assertThat(payments).hasSize(2);
+        assertThat(payments).extracting(Payment::getInvoice).containsExactly(invoice1, invoice2);
+        assertThat(payments).extracting(Payment::getAmountPaid)
+                .containsExactly(new BigDecimal("500.00"), new BigDecimal("160.50"));
+        assertThat(payments).allMatch(p -> p.getStatus() == PaymentStatus.COMPLETED && p.getPaymentMethod() == PaymentMethod.PIX);
+
+        verify(invoiceRepository).settleByIds(eq(List.of("inv-001")), eq(InvoiceStatus.PAID), eq(BigDecimal.ZERO),
+                anyCollection(), any(LocalDateTime.class));
+        verify(invoiceRepository).settleByIds(eq(List.of("inv-002")), eq(InvoiceStatus.PAID), eq(Invoice.LATE_PENALTY),
+                anyCollection(), any(LocalDateTime.class));
+        verify(paymentRepository, times(1)).saveAll(anyList());
+        verify(paymentRepository, never()).save(any());
+        verify(invoiceRepository, never()).save(any());
+        verify(ledgerPostingService).postPaymentsReceived(payments);
+    }
+
+    @Test
+    @DisplayName("Deve recusar quando outra operação já quitou alguma das faturas")
+    void execute_shouldRejectConcurrentSettlement() {
+        when(invoiceRepository.findPayableInvoicesByResponsibleAndMonth(eq(responsibleId), eq(referenceMonth), anyCollection()))
+                .thenReturn(List.of(invoice1, invoice2));
+        when(invoiceRepository.settleByIds(anyCollection(), any(), any(), anyCollection(), any())).thenReturn(0);
+
+        assertThatThrownBy(() -> processConsolidatedPaymentUseCase.execute(
+                responsibleId, referenceMonth, new BigDecimal("660.50"), PaymentMethod.PIX))
+                .isInstanceOf(BusinessException.class);
+
+        verifyNoInteractions(paymentRepository);
+        verifyNoInteractions(ledgerPostingService);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar pagamento com valor diferente do total do extrato")
+    void execute_shouldRejectAmountMismatch() {
+        when(invoiceRepository.findPayableInvoicesByResponsibleAndMonth(eq(responsibleId), eq(referenceMonth), anyCollection()))
+                .thenReturn(List.of(invoice1, invoice2));
+
+        assertThatThrownBy(() -> processConsolidatedPaymentUseCase.execute(
+                responsibleId, referenceMonth, new BigDecimal("500.00"), PaymentMethod.PIX))
+                .isInstanceOf(BusinessException.class);
+
+        verifyNoInteractions(paymentRepository);
+        verify(invoiceRepository, never()).settleByIds(anyCollection(), any(), any(), anyCollection(), any());
+        verifyNoInteractions(ledgerPostingService);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando não houver faturas em aberto")
+    void execute_shouldThrow_whenNoPayableInvoices() {
+        when(invoiceRepository.findPayableInvoicesByResponsibleAndMonth(eq(responsibleId), eq(referenceMonth), anyCollection()))
+                .thenReturn(Collections.emptyList());
+
+        assertThatThrownBy(() -> processConsolidatedPaymentUseCase.execute(
+                responsibleId, referenceMonth, BigDecimal.TEN, PaymentMethod.PIX))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        verifyNoInteractions(paymentRepository);
+    }
+}
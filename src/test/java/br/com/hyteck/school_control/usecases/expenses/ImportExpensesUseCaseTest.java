@@ -0,0 +1,126 @@
+package br.com.hyteck.school_control.usecases.expenses;
+
+import br.com.hyteck.school_control.exceptions.BusinessException;
+import br.com.hyteck.school_control.models.expenses.Expense;
+import br.com.hyteck.school_control.web.dtos.expenses.ExpenseImportError;
+import br.com.hyteck.school_control.web.dtos.expenses.ExpenseImportResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportExpensesUseCaseTest {
+
+    @Mock
+    private ExpenseImportBatchWriter batchWriter;
+
+    private ImportExpensesUseCase importExpensesUseCase;
+
+    @BeforeEach
+    void setUp() {
+        importExpensesUseCase = new ImportExpensesUseCase(batchWriter, 2, 2);
+    }
+
+    private static InputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Deve gravar as linhas válidas em lotes do tamanho configurado")
+    void execute_shouldWriteInBatches() {
+        when(batchWriter.write(anyList())).thenAnswer(inv -> inv.<List<Expense>>getArgument(0).size());
+
+        ExpenseImportResult result = importExpensesUseCase.execute(csv("""
+                data;descrição;categoria;valor
+                05/03/2025;Material de limpeza;Limpeza;1.234,56
+                2025-03-06;"Conta de luz; março";Energia;310,00
+                07/03/2025;Papel A4;;R$ 45,90
+                """));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Expense>> captor = ArgumentCaptor.forClass(List.class);
+        verify(batchWriter, times(2)).write(captor.capture());
+        assertThat(captor.getAllValues()).extracting(List::size).containsExactly(2, 1);
+
+        Expense first = captor.getAllValues().getFirst().getFirst();
+        assertThat(first.getDate()).isEqualTo(LocalDate.of(2025, 3, 5));
+        assertThat(first.getValue()).isEqualByComparingTo("1234.56");
+        assertThat(captor.getAllValues().getFirst().get(1).getDescription()).isEqualTo("Conta de luz; março");
+        assertThat(captor.getAllValues().getLast().getFirst().getCategory()).isNull();
+
+        assertThat(result.imported()).isEqualTo(3);
+        assertThat(result.rejected()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar linhas inválidas e limitar o relatório de erros")
+    void execute_shouldReportInvalidRows() {
+        when(batchWriter.write(anyList())).thenAnswer(inv -> inv.<List<Expense>>getArgument(0).size());
+
+        ExpenseImportResult result = importExpensesUseCase.execute(csv("""
+                date,description,value
+                2025-03-05,Sem valor,
+                31/02/2025,Data inválida,10.00
+                2025-03-07,,10.00
+                2025-03-08,Aluguel,2500.00
+                """));
+
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(result.rejected()).isEqualTo(3);
+        assertThat(result.errors()).extracting(ExpenseImportError::line).containsExactly(2L, 3L);
+        assertThat(result.errorsTruncated()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve reportar as linhas de um lote que falhou ao gravar e seguir com os próximos")
+    void execute_shouldContinueAfterFailedBatch() {
+        when(batchWriter.write(anyList()))
+                .thenThrow(new IllegalStateException("timeout"))
+                .thenReturn(1);
+
+        ExpenseImportResult result = importExpensesUseCase.execute(csv("""
+                data,descricao,valor
+                2025-03-05,A,1
+                2025-03-06,B,2
+                2025-03-07,C,3
+                """));
+
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(result.rejected()).isEqualTo(2);
+        assertThat(result.errors()).extracting(ExpenseImportError::line).containsExactly(2L, 3L);
+    }
+
+    @Test
+    @DisplayName("Deve recusar arquivo sem as colunas obrigatórias")
+    void execute_shouldRejectMissingColumns() {
+        assertThatThrownBy(() -> importExpensesUseCase.execute(csv("data,descricao\n2025-03-05,A\n")))
+                .isInstanceOf(BusinessException.class);
+        verifyNoInteractions(batchWriter);
+    }
+
+    @Test
+    @DisplayName("Deve interpretar os formatos de valor aceitos")
+    void parseValue_shouldAcceptCommonFormats() {
+        assertThat(ImportExpensesUseCase.parseValue("1.234,56")).isEqualByComparingTo(new BigDecimal("1234.56"));
+        assertThat(ImportExpensesUseCase.parseValue("1,234.56")).isEqualByComparingTo(new BigDecimal("1234.56"));
+        assertThat(ImportExpensesUseCase.parseValue("R$ 99,9")).isEqualByComparingTo(new BigDecimal("99.90"));
+        assertThatThrownBy(() -> ImportExpensesUseCase.parseValue("-5")).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> ImportExpensesUseCase.parseValue("1,001")).isInstanceOf(BusinessException.class);
+    }
+}
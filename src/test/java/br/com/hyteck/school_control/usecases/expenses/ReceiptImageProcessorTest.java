@@ -0,0 +1,127 @@
+package br.com.hyteck.school_control.usecases.expenses;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReceiptImageProcessorTest {
+
+    @TempDir
+    Path stagingDir;
+
+    private ReceiptImageProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        processor = new ReceiptImageProcessor(1600, 320, 0.8f);
+    }
+
+    private Path stagedImage(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setPaint(new GradientPaint(0, 0, Color.WHITE, width, height, Color.DARK_GRAY));
+        graphics.fillRect(0, 0, width, height);
+        graphics.dispose();
+        Path staged = stagingDir.resolve("123e4567-e89b-12d3-a456-426614174000-foto.png");
+        ImageIO.write(image, "png", staged.toFile());
+        return staged;
+    }
+
+    @Test
+    @DisplayName("Deve reduzir a foto e gerar a miniatura em JPEG")
+    void process_shouldResizeAndCreateThumbnail() throws IOException {
+        Path staged = stagedImage(4000, 3000);
+
+        ReceiptImageProcessor.ProcessedReceipt processed = processor.process(staged);
+
+        BufferedImage main = ImageIO.read(processed.main().toFile());
+        BufferedImage thumbnail = ImageIO.read(processed.thumbnail().toFile());
+        assertThat(Math.max(main.getWidth(), main.getHeight())).isLessThanOrEqualTo(1600);
+        assertThat(Math.max(thumbnail.getWidth(), thumbnail.getHeight())).isLessThanOrEqualTo(320);
+        assertThat(processed.mainFilename()).isEqualTo("foto.jpg");
+        assertThat(processed.thumbnailFilename()).isEqualTo("thumb-foto.jpg");
+        assertThat(Files.exists(staged)).isTrue();
+    }
+
+    /**
+     * JPEG com um segmento EXIF (APP1) contendo só a tag Orientation, inserido logo após o JFIF (APP0).
+     */
+    private Path stagedJpegWithOrientation(int width, int height, int orientation) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpeg", jpeg);
+        byte[] bytes = jpeg.toByteArray();
+
+        ByteBuffer exif = ByteBuffer.allocate(36).order(ByteOrder.BIG_ENDIAN);
+        exif.put((byte) 0xFF).put((byte) 0xE1).putShort((short) 34)
+                .put("Exif\0\0".getBytes(StandardCharsets.US_ASCII))
+                .put((byte) 'M').put((byte) 'M').putShort((short) 42).putInt(8)
+                .putShort((short) 1)
+                .putShort((short) 0x0112).putShort((short) 3).putInt(1).putShort((short) orientation).putShort((short) 0)
+                .putInt(0);
+        int afterApp0 = 4 + (((bytes[4] & 0xFF) << 8) | (bytes[5] & 0xFF));
+
+        Path staged = stagingDir.resolve("123e4567-e89b-12d3-a456-426614174000-foto.jpg");
+        try (OutputStream out = Files.newOutputStream(staged)) {
+            out.write(bytes, 0, afterApp0);
+            out.write(exif.array());
+            out.write(bytes, afterApp0, bytes.length - afterApp0);
+        }
+        return staged;
+    }
+
+    @Test
+    @DisplayName("Deve aplicar a orientação EXIF antes de regravar a foto")
+    void process_shouldApplyExifOrientation() throws IOException {
+        Path staged = stagedJpegWithOrientation(400, 200, 6);
+
+        ReceiptImageProcessor.ProcessedReceipt processed = processor.process(staged);
+
+        BufferedImage thumbnail = ImageIO.read(processed.thumbnail().toFile());
+        assertThat(thumbnail.getWidth()).isEqualTo(160);
+        assertThat(thumbnail.getHeight()).isEqualTo(320);
+    }
+
+    @Test
+    @DisplayName("Deve girar 90 graus no sentido horário para a orientação 6")
+    void orient_shouldRotateClockwise() {
+        BufferedImage source = new BufferedImage(2, 1, BufferedImage.TYPE_INT_RGB);
+        source.setRGB(0, 0, Color.RED.getRGB());
+        source.setRGB(1, 0, Color.BLUE.getRGB());
+
+        BufferedImage rotated = ReceiptImageProcessor.orient(source, 6);
+
+        assertThat(rotated.getWidth()).isEqualTo(1);
+        assertThat(rotated.getHeight()).isEqualTo(2);
+        assertThat(rotated.getRGB(0, 0)).isEqualTo(Color.RED.getRGB());
+        assertThat(rotated.getRGB(0, 1)).isEqualTo(Color.BLUE.getRGB());
+    }
+
+    @Test
+    @DisplayName("Deve enviar arquivos que não são imagens sem alteração")
+    void process_shouldPassThroughNonImages() throws IOException {
+        Path staged = stagingDir.resolve("123e4567-e89b-12d3-a456-426614174000-nota.pdf");
+        Files.write(staged, new byte[]{'%', 'P', 'D', 'F'});
+
+        ReceiptImageProcessor.ProcessedReceipt processed = processor.process(staged);
+
+        assertThat(processed.main()).isEqualTo(staged);
+        assertThat(processed.mainFilename()).isEqualTo("nota.pdf");
+        assertThat(processed.thumbnail()).isNull();
+    }
+}
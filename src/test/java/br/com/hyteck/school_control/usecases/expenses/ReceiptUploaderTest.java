@@ -0,0 +1,123 @@
+package br.com.hyteck.school_control.usecases.expenses;
+
+import br.com.hyteck.school_control.repositories.ExpenseRepository;
+import br.com.hyteck.school_control.usecases.storage.InMemoryStorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.retry.support.RetryTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReceiptUploaderTest {
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @TempDir
+    Path stagingDir;
+
+    private InMemoryStorageService storageService;
+    private ReceiptStagingArea stagingArea;
+    private ReceiptUploader receiptUploader;
+
+    @BeforeEach
+    void setUp() {
+        storageService = new InMemoryStorageService();
+        stagingArea = new ReceiptStagingArea(stagingDir.toString());
+        RetryTemplate retryTemplate = RetryTemplate.builder().maxAttempts(3).noBackoff().build();
+        receiptUploader = new ReceiptUploader(expenseRepository, storageService, stagingArea,
+                new ReceiptImageProcessor(1600, 320, 0.8f), Runnable::run, retryTemplate);
+    }
+
+    private Path stageReceipt() {
+        return stagingArea.stage(new MockMultipartFile("receipt", "nota.pdf", "application/pdf", new byte[]{1, 2, 3}));
+    }
+
+    @Test
+    @DisplayName("Deve reenviar após falhas transitórias e atualizar o receiptUrl")
+    void submit_shouldRetryAndPatchReceiptUrl() {
+        Path staged = stageReceipt();
+        storageService.failNext(2);
+        when(expenseRepository.completeReceiptUpload(eq("exp-1"), eq(staged.toString()), any(), any(), any(LocalDateTime.class)))
+                .thenReturn(1);
+
+        assertThat(receiptUploader.submit("exp-1", staged.toString(), 0)).isTrue();
+
+        assertThat(storageService.uploadAttempts()).isEqualTo(3);
+        assertThat(storageService.contains("nota.pdf")).isTrue();
+        verify(expenseRepository).completeReceiptUpload(eq("exp-1"), eq(staged.toString()),
+                eq(InMemoryStorageService.URL_PREFIX + "nota.pdf"), isNull(), any(LocalDateTime.class));
+        assertThat(Files.exists(staged)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve manter o recibo em staging quando todas as tentativas falharem")
+    void submit_shouldKeepStagedFile_whenRetriesAreExhausted() {
+        Path staged = stageReceipt();
+        storageService.failNext(3);
+
+        receiptUploader.submit("exp-1", staged.toString(), 0);
+
+        verify(expenseRepository, never()).completeReceiptUpload(any(), any(), any(), any(), any());
+        verify(expenseRepository).recordReceiptFailure(eq("exp-1"), eq(staged.toString()), eq(1),
+                argThat(next -> next.isAfter(LocalDateTime.now().plus(ReceiptUploader.STALE_AFTER).minusMinutes(1))));
+        assertThat(Files.exists(staged)).isTrue();
+        // A despesa não fica presa como "em andamento": a varredura consegue reenviar
+        when(expenseRepository.completeReceiptUpload(any(), any(), any(), any(), any())).thenReturn(1);
+        assertThat(receiptUploader.submit("exp-1", staged.toString(), 0)).isTrue();
+        assertThat(Files.exists(staged)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve abandonar o recibo depois do número máximo de falhas")
+    void submit_shouldGiveUp_afterMaxAttempts() {
+        Path staged = stageReceipt();
+        storageService.failNext(3);
+
+        receiptUploader.submit("exp-1", staged.toString(), ReceiptUploader.MAX_RECEIPT_ATTEMPTS - 1);
+
+        verify(expenseRepository).recordReceiptFailure("exp-1", staged.toString(), ReceiptUploader.MAX_RECEIPT_ATTEMPTS, null);
+        assertThat(Files.exists(staged)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve manter o recibo atual quando o arquivo em staging sumiu")
+    void submit_shouldKeepCurrentReceipt_whenStagedFileIsMissing() {
+        Path staged = stageReceipt();
+        stagingArea.discard(staged);
+
+        receiptUploader.submit("exp-1", staged.toString(), 0);
+
+        verify(expenseRepository).clearStagedReceipt(eq("exp-1"), eq(staged.toString()), any(LocalDateTime.class));
+        verify(expenseRepository, never()).completeReceiptUpload(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve remover o envio que foi substituído por um recibo mais novo")
+    void submit_shouldDeleteSupersededUpload() {
+        Path staged = stageReceipt();
+        when(expenseRepository.completeReceiptUpload(any(), any(), any(), any(), any())).thenReturn(0);
+
+        receiptUploader.submit("exp-1", staged.toString(), 0);
+
+        assertThat(storageService.uploadAttempts()).isEqualTo(1);
+        assertThat(storageService.contains("nota.pdf")).isFalse();
+        assertThat(Files.exists(staged)).isFalse();
+    }
+}
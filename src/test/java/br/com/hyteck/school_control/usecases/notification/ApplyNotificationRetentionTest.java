@@ -0,0 +1,58 @@
+package br.com.hyteck.school_control.usecases.notification;
+
+import br.com.hyteck.school_control.repositories.ArchivedNotificationRepository;
+import br.com.hyteck.school_control.repositories.NotificationRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ApplyNotificationRetentionTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private ArchivedNotificationRepository archivedNotificationRepository;
+
+    private final LocalDateTime now = LocalDateTime.of(2025, 6, 1, 3, 15);
+
+    private ApplyNotificationRetention retention(Duration archiveMaxAge, int maxBatches) {
+        return new ApplyNotificationRetention(notificationRepository, archivedNotificationRepository,
+                Duration.ofDays(90), archiveMaxAge, 100, Duration.ZERO, maxBatches);
+    }
+
+    @Test
+    @DisplayName("Deve arquivar em lotes até um lote vir incompleto, sem expurgar quando desativado")
+    void execute_shouldArchiveUntilPartialBatch() {
+        LocalDateTime cutoff = now.minusDays(90);
+        when(notificationRepository.archiveReadCreatedBefore(cutoff, 100)).thenReturn(100, 100, 37);
+
+        int archived = retention(Duration.ZERO, 10).execute(now);
+
+        assertThat(archived).isEqualTo(237);
+        verify(notificationRepository, times(3)).archiveReadCreatedBefore(cutoff, 100);
+        verifyNoInteractions(archivedNotificationRepository);
+    }
+
+    @Test
+    @DisplayName("Deve parar no limite de lotes por execução e expurgar o arquivo antigo")
+    void execute_shouldStopAtMaxBatchesAndPurgeArchive() {
+        when(notificationRepository.archiveReadCreatedBefore(any(), eq(100))).thenReturn(100);
+        when(archivedNotificationRepository.purgeCreatedBefore(now.minusDays(365), 100)).thenReturn(5);
+
+        int archived = retention(Duration.ofDays(365), 2).execute(now);
+
+        assertThat(archived).isEqualTo(200);
+        verify(notificationRepository, times(2)).archiveReadCreatedBefore(any(), eq(100));
+        verify(archivedNotificationRepository).purgeCreatedBefore(now.minusDays(365), 100);
+    }
+}
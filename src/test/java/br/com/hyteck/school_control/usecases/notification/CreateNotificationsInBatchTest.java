@@ -0,0 +1,143 @@
+package br.com.hyteck.school_control.usecases.notification;
+
+import br.com.hyteck.school_control.events.NotificationsCreatedEvent;
+import br.com.hyteck.school_control.exceptions.BusinessException;
+import br.com.hyteck.school_control.models.Notification;
+import br.com.hyteck.school_control.models.auth.User;
+import br.com.hyteck.school_control.models.classrooms.Enrollment;
+import br.com.hyteck.school_control.repositories.EnrollmentRepository;
+import br.com.hyteck.school_control.repositories.NotificationRepository;
+import br.com.hyteck.school_control.repositories.UserRepository;
+import br.com.hyteck.school_control.web.dtos.notification.NotificationAudience;
+import br.com.hyteck.school_control.web.dtos.notification.NotificationBroadcastRequest;
+import br.com.hyteck.school_control.web.dtos.notification.NotificationCommand;
+import br.com.hyteck.school_control.web.dtos.notification.NotificationRecipient;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CreateNotificationsInBatchTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private CreateNotificationsInBatch createNotificationsInBatch;
+
+    private final List<List<Notification>> savedBatches = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        NotificationCoalescer coalescer = new NotificationCoalescer(notificationRepository, Duration.ofMinutes(10), Set.of());
+        createNotificationsInBatch = new CreateNotificationsInBatch(notificationRepository, userRepository, enrollmentRepository,
+                coalescer, eventPublisher, entityManager, 2);
+        lenient().when(userRepository.getReferenceById(anyString()))
+                .thenAnswer(inv -> User.builder().id(inv.getArgument(0)).build());
+        lenient().when(notificationRepository.saveAll(anyList())).thenAnswer(inv -> {
+            List<Notification> batch = inv.getArgument(0);
+            savedBatches.add(List.copyOf(batch));
+            return batch;
+        });
+    }
+
+    @Test
+    @DisplayName("Deve gravar em blocos do tamanho do lote e ignorar usuários inexistentes")
+    void execute_shouldSaveInChunksAndSkipUnknownUsers() {
+        when(userRepository.findExistingIds(anyCollection()))
+                .thenReturn(Set.of("u1", "u2"))
+                .thenReturn(Set.of("u4"));
+
+        int created = createNotificationsInBatch.execute(List.of(
+                new NotificationCommand("u1", "m1", null, null),
+                new NotificationCommand("u2", "m2", null, null),
+                new NotificationCommand("u3", "m3", null, null),
+                new NotificationCommand("u4", "m4", "/link", "TYPE")));
+
+        assertThat(created).isEqualTo(3);
+        assertThat(savedBatches).hasSize(2);
+        assertThat(savedBatches.get(0)).extracting(Notification::getMessage).containsExactly("m1", "m2");
+        assertThat(savedBatches.get(1)).extracting(Notification::getMessage).containsExactly("m4");
+        assertThat(savedBatches.get(1).getFirst().getUser().getId()).isEqualTo("u4");
+        verify(userRepository, times(2)).findExistingIds(anyCollection());
+        verify(userRepository, never()).findById(any());
+        verify(notificationRepository, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+        verify(eventPublisher, times(2)).publishEvent(any(NotificationsCreatedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Deve agrupar comandos do mesmo usuário e tipo do lote em uma notificação com contagem")
+    void execute_shouldCoalesceSameUserAndTypeWithinBatch() {
+        when(userRepository.findExistingIds(anyCollection())).thenReturn(Set.of("u1", "u2"));
+
+        int created = createNotificationsInBatch.execute(List.of(
+                new NotificationCommand("u1", "Fatura A", "/invoices/a", "NEW_MONTHLY_INVOICE"),
+                new NotificationCommand("u2", "Fatura C", "/invoices/c", "NEW_MONTHLY_INVOICE"),
+                new NotificationCommand("u1", "Fatura B", "/invoices/b", "NEW_MONTHLY_INVOICE"),
+                new NotificationCommand("u1", "Sem tipo", null, null),
+                new NotificationCommand("u1", "Sem tipo", null, null)));
+
+        assertThat(created).isEqualTo(4);
+        List<Notification> saved = savedBatches.stream().flatMap(List::stream).toList();
+        assertThat(saved).extracting(Notification::getMessage).containsExactly("Fatura B", "Fatura C", "Sem tipo", "Sem tipo");
+        assertThat(saved).extracting(Notification::getOccurrences).containsExactly(2, 1, 1, 1);
+        assertThat(saved.getFirst().getLink()).isEqualTo("/invoices/b");
+        verify(notificationRepository, never()).findCoalescible(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve percorrer as páginas de destinatários substituindo {nome} na mensagem")
+    void broadcast_shouldPageRecipientsAndFillTemplate() {
+        when(enrollmentRepository.findResponsibleRecipientsByClassroom(eq("class-1"), eq(Enrollment.Status.ACTIVE), any()))
+                .thenReturn(new SliceImpl<>(List.of(new NotificationRecipient("r1", "Ana"), new NotificationRecipient("r2", "Bia")),
+                        PageRequest.of(0, 2), true))
+                .thenReturn(new SliceImpl<>(List.of(new NotificationRecipient("r3", null)), PageRequest.of(1, 2), false));
+
+        int created = createNotificationsInBatch.broadcast(new NotificationBroadcastRequest(
+                NotificationAudience.CLASSROOM_RESPONSIBLES, "class-1", "Olá, {nome}!", "/avisos", "NOTICE"));
+
+        assertThat(created).isEqualTo(3);
+        assertThat(savedBatches).flatExtracting(batch -> batch).extracting(Notification::getMessage)
+                .containsExactly("Olá, Ana!", "Olá, Bia!", "Olá, !");
+        verify(enrollmentRepository).findResponsibleRecipientsByClassroom("class-1", Enrollment.Status.ACTIVE, PageRequest.of(1, 2));
+    }
+
+    @Test
+    @DisplayName("Deve exigir audienceId para grupos por perfil ou turma")
+    void broadcast_shouldRequireAudienceId() {
+        assertThatThrownBy(() -> createNotificationsInBatch.broadcast(new NotificationBroadcastRequest(
+                NotificationAudience.ROLE, " ", "Aviso", null, null)))
+                .isInstanceOf(BusinessException.class);
+
+        verifyNoInteractions(notificationRepository);
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.hyteck.school_control.usecases.notification;
+
+import jakarta.mail.internet.MimeMessage;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara o envio de uma conexão SMTP por e-mail com o envio do lote por uma única conexão,
+ * contra um servidor local. A contagem de conexões roda no build; a medição de tempo, com o servidor
+ * simulando o custo de abrir a sessão, é {@code @Tag("benchmark")} e roda com {@code ./gradlew benchmarkTest}.
+ */
+class EmailBatchSendBenchmarkTest {
+
+    private static final Logger log = LogManager.getLogger(EmailBatchSendBenchmarkTest.class);
+
+    private static final int MESSAGES = 40;
+    private static final long CONNECT_LATENCY_MILLIS = 20;
+
+    private SmtpStandIn smtp;
+    private JavaMailSenderImpl mailSender;
+
+    private void startSmtp(long connectLatencyMillis) throws Exception {
+        smtp = new SmtpStandIn(connectLatencyMillis);
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtp.port());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (smtp != null) {
+            smtp.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Lote por uma conexão deve abrir uma sessão SMTP em vez de uma por mensagem")
+    void batchSend_shouldReuseOneConnection() throws Exception {
+        startSmtp(0);
+
+        for (MimeMessage message : messages()) {
+            mailSender.send(message);
+        }
+        int perMessageConnections = smtp.connections();
+        mailSender.send(messages().toArray(MimeMessage[]::new));
+        int batchConnections = smtp.connections() - perMessageConnections;
+
+        assertThat(smtp.messages()).isEqualTo(2 * MESSAGES);
+        assertThat(perMessageConnections).isEqualTo(MESSAGES);
+        assertThat(batchConnections).isEqualTo(1);
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Mede o tempo do envio por mensagem e do envio em lote com latência de conexão")
+    void batchSend_timing() throws Exception {
+        startSmtp(CONNECT_LATENCY_MILLIS);
+
+        long perMessageStart = System.nanoTime();
+        for (MimeMessage message : messages()) {
+            mailSender.send(message);
+        }
+        long perMessageNanos = System.nanoTime() - perMessageStart;
+        int perMessageConnections = smtp.connections();
+
+        long batchStart = System.nanoTime();
+        mailSender.send(messages().toArray(MimeMessage[]::new));
+        long batchNanos = System.nanoTime() - batchStart;
+        int batchConnections = smtp.connections() - perMessageConnections;
+
+        log.info("SMTP: {} mensagens — uma conexão por e-mail: {} ms ({} conexões); lote: {} ms ({} conexão)",
+                MESSAGES, perMessageNanos / 1_000_000, perMessageConnections, batchNanos / 1_000_000, batchConnections);
+        assertThat(batchConnections).isEqualTo(1);
+    }
+
+    private List<MimeMessage> messages() throws Exception {
+        List<MimeMessage> messages = new ArrayList<>(MESSAGES);
+        for (int i = 0; i < MESSAGES; i++) {
+            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+            helper.setFrom("escola@example.com");
+            helper.setTo("responsavel" + i + "@example.com");
+            helper.setSubject("Fatura " + i);
+            helper.setText("<p>Sua fatura está disponível.</p>", true);
+            messages.add(message);
+        }
+        return messages;
+    }
+}
@@ -0,0 +1,107 @@
+package br.com.hyteck.school_control.usecases.notification;
+
+import br.com.hyteck.school_control.models.email.OutboundEmail;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxDispatcherTest {
+
+    @Mock
+    private EmailOutbox outbox;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private JavaMailSender mailSender;
+
+    private EmailOutboxDispatcher dispatcher(int perDomainPerMinute) {
+        return new EmailOutboxDispatcher(outbox, emailService, mailSender, 10, perDomainPerMinute);
+    }
+
+    private OutboundEmail email(String id, String recipient) {
+        OutboundEmail email = OutboundEmail.builder()
+                .recipient(recipient)
+                .recipientDomain(recipient.substring(recipient.indexOf('@') + 1))
+                .subject("Assunto")
+                .htmlBody("<p>Corpo</p>")
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+        email.setId(id);
+        return email;
+    }
+
+    @Test
+    @DisplayName("Deve enviar o lote em uma única chamada e confirmar só as mensagens que não falharam")
+    void dispatchBatch_shouldSendBatchOnceAndRecordPerMessageFailures() throws Exception {
+        OutboundEmail ok = email("e1", "a@example.com");
+        OutboundEmail failing = email("e2", "b@example.com");
+        when(outbox.claim(any(), eq(10))).thenReturn(List.of(ok, failing));
+        MimeMessage okMessage = mock(MimeMessage.class);
+        MimeMessage failingMessage = mock(MimeMessage.class);
+        when(emailService.createMessage(eq("a@example.com"), any(), any())).thenReturn(okMessage);
+        when(emailService.createMessage(eq("b@example.com"), any(), any())).thenReturn(failingMessage);
+        doThrow(new MailSendException(Map.<Object, Exception>of(failingMessage, new MessagingException("550 mailbox unavailable"))))
+                .when(mailSender).send(any(MimeMessage[].class));
+
+        int claimed = dispatcher(0).dispatchBatch();
+
+        assertThat(claimed).isEqualTo(2);
+        verify(mailSender, times(1)).send(any(MimeMessage[].class));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<String>> sent = ArgumentCaptor.forClass(Collection.class);
+        verify(outbox).markSent(sent.capture(), any());
+        assertThat(sent.getValue()).containsExactly("e1");
+        verify(outbox).recordFailure(eq(failing), eq("550 mailbox unavailable"), eq(false), any());
+    }
+
+    @Test
+    @DisplayName("Deve adiar sem consumir tentativa os e-mails acima do limite do domínio")
+    void dispatchBatch_shouldDeferEmailsOverDomainRateLimit() throws Exception {
+        OutboundEmail first = email("e1", "a@gmail.com");
+        OutboundEmail second = email("e2", "b@gmail.com");
+        OutboundEmail otherDomain = email("e3", "c@example.com");
+        when(outbox.claim(any(), eq(10))).thenReturn(List.of(first, second, otherDomain));
+        when(emailService.createMessage(any(), any(), any())).thenAnswer(inv -> mock(MimeMessage.class));
+
+        dispatcher(1).dispatchBatch();
+
+        verify(outbox).defer(eq(List.of("e2")), any(LocalDateTime.class), any(LocalDateTime.class));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<String>> sent = ArgumentCaptor.forClass(Collection.class);
+        verify(outbox).markSent(sent.capture(), any());
+        assertThat(sent.getValue()).containsExactlyInAnyOrder("e1", "e3");
+        verify(outbox, never()).recordFailure(any(), any(), anyBoolean(), any());
+    }
+
+    @Test
+    @DisplayName("Deve encerrar como falha permanente a mensagem que não pode ser montada")
+    void dispatchBatch_shouldFailPermanently_whenMessageCannotBeBuilt() throws Exception {
+        OutboundEmail invalid = email("e1", "a@example.com");
+        when(outbox.claim(any(), eq(10))).thenReturn(List.of(invalid));
+        when(emailService.createMessage(any(), any(), any())).thenThrow(new MessagingException("Illegal address"));
+
+        dispatcher(0).dispatchBatch();
+
+        verify(outbox).recordFailure(eq(invalid), eq("Illegal address"), eq(true), any());
+        verifyNoInteractions(mailSender);
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.hyteck.school_control.usecases.notification;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmailTemplateEngineTest {
+
+    private EmailTemplateEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new EmailTemplateEngine(new DefaultResourceLoader());
+    }
+
+    @Test
+    @DisplayName("Deve preencher assunto e corpo, escapando apenas o HTML do corpo")
+    void render_shouldFillSubjectAndEscapeBody() {
+        RenderedEmail email = engine.render(EmailTemplate.NEW_INVOICE,
+                "Ana <script>", "João & Maria", "Março/2025", "R$ 500,00", "10/03/2025", "https://app/invoices/1?a=1&b=\"2\"");
+
+        assertThat(email.subject()).isEqualTo("Nova fatura de Março/2025 - Espaço do Saber");
+        assertThat(email.html())
+                .contains("Olá, Ana &lt;script&gt;.")
+                .contains("para João &amp; Maria")
+                .contains("<strong>R$ 500,00</strong>")
+                .contains("href=\"https://app/invoices/1?a=1&amp;b=&quot;2&quot;\"")
+                .doesNotContain("{{");
+    }
+
+    @Test
+    @DisplayName("Deve aceitar valores por nome e tratar ausentes como texto vazio")
+    void render_shouldAcceptNamedValues() {
+        RenderedEmail email = engine.render(EmailTemplate.VERIFICATION, Map.of("link", "https://app/auth/verify?token=t"));
+
+        assertThat(email.subject()).isEqualTo("Ativação de Conta - Espaço do Saber");
+        assertThat(email.html()).contains("Olá, .").contains("<a href=\"https://app/auth/verify?token=t\">");
+    }
+
+    @Test
+    @DisplayName("Deve escrever no buffer do chamador, permitindo reutilizá-lo entre mensagens")
+    void writeBody_shouldReuseCallerBuffer() {
+        StringBuilder buffer = new StringBuilder();
+        engine.writeBody(EmailTemplate.VERIFICATION, buffer, "Ana", "l1");
+        String first = buffer.toString();
+        buffer.setLength(0);
+        engine.writeBody(EmailTemplate.VERIFICATION, buffer, "Bia", "l2");
+
+        assertThat(first).isEqualTo(engine.render(EmailTemplate.VERIFICATION, "Ana", "l1").html());
+        assertThat(buffer.toString()).contains("Olá, Bia.").doesNotContain("Ana");
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar quantidade de valores diferente dos parâmetros")
+    void render_shouldRejectWrongArity() {
+        assertThatThrownBy(() -> engine.render(EmailTemplate.VERIFICATION, "Ana"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Deve falhar na compilação com marcador desconhecido ou sem fechamento")
+    void compile_shouldRejectInvalidPlaceholders() {
+        assertThatThrownBy(() -> EmailTemplateEngine.compile(EmailTemplate.VERIFICATION, "<p>{{senha}}</p>", true))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("senha");
+        assertThatThrownBy(() -> EmailTemplateEngine.compile(EmailTemplate.VERIFICATION, "<p>{{nome</p>", true))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,78 @@
+package br.com.hyteck.school_control.usecases.notification;
+
+import br.com.hyteck.school_control.exceptions.BusinessException;
+import br.com.hyteck.school_control.repositories.NotificationRepository;
+import br.com.hyteck.school_control.web.dtos.CursorPage;
+import br.com.hyteck.school_control.web.dtos.KeysetCursor;
+import br.com.hyteck.school_control.web.dtos.NotificationResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FindNotificationFeedTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @InjectMocks
+    private FindNotificationFeed findNotificationFeed;
+
+    private final String userId = "user-123";
+
+    private NotificationResponse notification(String id, LocalDateTime createdAt) {
+        return new NotificationResponse(id, userId, "TYPE", "Mensagem " + id, false, createdAt, 1);
+    }
+
+    @Test
+    @DisplayName("Deve buscar size + 1 notificações e devolver cursor quando houver mais antigas")
+    void execute_shouldReturnNextCursor_whenOlderRowsExist() {
+        LocalDateTime base = LocalDateTime.of(2025, 5, 10, 8, 0);
+        when(notificationRepository.findFeed(userId, Limit.of(3)))
+                .thenReturn(List.of(notification("n3", base.plusHours(2)), notification("n2", base.plusHours(1)), notification("n1", base)));
+
+        CursorPage<NotificationResponse> page = findNotificationFeed.execute(userId, null, 2);
+
+        assertThat(page.content()).extracting(NotificationResponse::id).containsExactly("n3", "n2");
+        assertThat(page.hasNext()).isTrue();
+        assertThat(KeysetCursor.decode(page.nextCursor())).isEqualTo(new KeysetCursor(base.plusHours(1), "n2"));
+    }
+
+    @Test
+    @DisplayName("Deve continuar a partir do cursor informado, sem consultar a primeira página")
+    void execute_shouldSeekFromCursor() {
+        LocalDateTime cursorDate = LocalDateTime.of(2025, 5, 10, 9, 0);
+        String cursor = new KeysetCursor(cursorDate, "n2").encode();
+        when(notificationRepository.findFeedAfter(eq(userId), eq(cursorDate), eq("n2"), eq(Limit.of(21))))
+                .thenReturn(List.of(notification("n1", cursorDate.minusHours(1))));
+
+        CursorPage<NotificationResponse> page = findNotificationFeed.execute(userId, cursor, 20);
+
+        assertThat(page.content()).hasSize(1);
+        assertThat(page.hasNext()).isFalse();
+        assertThat(page.nextCursor()).isNull();
+        verify(notificationRepository, never()).findFeed(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar cursor inválido")
+    void execute_shouldRejectInvalidCursor() {
+        assertThatThrownBy(() -> findNotificationFeed.execute(userId, "###", 20))
+                .isInstanceOf(BusinessException.class);
+
+        verifyNoInteractions(notificationRepository);
+    }
+}
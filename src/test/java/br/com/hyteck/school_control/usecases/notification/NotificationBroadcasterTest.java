@@ -0,0 +1,64 @@
+package br.com.hyteck.school_control.usecases.notification;
+
+import br.com.hyteck.school_control.web.dtos.NotificationResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationBroadcasterTest {
+
+    @Mock
+    private UnreadNotificationCounter unreadCounter;
+
+    private NotificationBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new NotificationBroadcaster(unreadCounter, Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    @DisplayName("Não deve consultar a contagem de usuários sem conexão aberta")
+    void publish_shouldIgnoreDisconnectedUsers() {
+        broadcaster.publish(List.of(notificationFor("u1")));
+        broadcaster.publishUnreadCount("u1");
+
+        assertThat(broadcaster.connectionCount()).isZero();
+        verifyNoInteractions(unreadCounter);
+    }
+
+    @Test
+    @DisplayName("Deve enviar a contagem ao conectar e a nova contagem após cada publicação")
+    void publish_shouldPushUnreadCountToConnectedUser() {
+        when(unreadCounter.get("u1")).thenReturn(1L, 2L);
+
+        broadcaster.subscribe("u1");
+        broadcaster.subscribe("u1");
+        broadcaster.publish(List.of(notificationFor("u1"), notificationFor("u2")));
+
+        assertThat(broadcaster.connectionCount()).isEqualTo(2);
+        verify(unreadCounter, timeout(1000).times(3)).get("u1");
+        verify(unreadCounter, never()).get("u2");
+    }
+
+    private static NotificationResponse notificationFor(String userId) {
+        return new NotificationResponse("n-" + userId, userId, "TYPE", "Mensagem", false, LocalDateTime.now(), 1);
+    }
+}
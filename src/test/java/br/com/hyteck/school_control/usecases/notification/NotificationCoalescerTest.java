@@ -0,0 +1,64 @@
+package br.com.hyteck.school_control.usecases.notification;
+
+import br.com.hyteck.school_control.models.Notification;
+import br.com.hyteck.school_control.repositories.NotificationRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationCoalescerTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Test
+    @DisplayName("Deve somar a nova ocorrência à última notificação semelhante dentro da janela")
+    void merge_shouldAbsorbIntoRecentUnreadNotification() {
+        NotificationCoalescer coalescer = new NotificationCoalescer(notificationRepository, Duration.ofMinutes(10), Set.of());
+        Notification existing = Notification.builder().message("Fatura A").link("/invoices/a").type("INVOICE").build();
+        when(notificationRepository.findCoalescible(eq("u1"), eq("INVOICE"), any(LocalDateTime.class), eq(Limit.of(1))))
+                .thenReturn(List.of(existing));
+
+        Optional<Notification> merged = coalescer.merge("u1", "Fatura B", "/invoices/b", "INVOICE");
+
+        assertThat(merged).containsSame(existing);
+        assertThat(existing.getOccurrences()).isEqualTo(2);
+        assertThat(existing.getMessage()).isEqualTo("Fatura B");
+        assertThat(existing.getLink()).isEqualTo("/invoices/b");
+    }
+
+    @Test
+    @DisplayName("Deve criar nova notificação quando não houver semelhante recente")
+    void merge_shouldReturnEmpty_whenNothingToMergeInto() {
+        NotificationCoalescer coalescer = new NotificationCoalescer(notificationRepository, Duration.ofMinutes(10), Set.of());
+        when(notificationRepository.findCoalescible(any(), any(), any(), any())).thenReturn(List.of());
+
+        assertThat(coalescer.merge("u1", "Fatura", null, "INVOICE")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Não deve agrupar notificações sem tipo, de tipos fora da lista ou com a janela desativada")
+    void merge_shouldSkipNonCoalescibleTypes() {
+        NotificationCoalescer onlyInvoices = new NotificationCoalescer(notificationRepository, Duration.ofMinutes(10), Set.of("INVOICE"));
+        NotificationCoalescer disabled = new NotificationCoalescer(notificationRepository, Duration.ZERO, Set.of());
+
+        assertThat(onlyInvoices.merge("u1", "Aviso", null, null)).isEmpty();
+        assertThat(onlyInvoices.merge("u1", "Aviso", null, "NOTICE")).isEmpty();
+        assertThat(disabled.merge("u1", "Fatura", null, "INVOICE")).isEmpty();
+        verifyNoInteractions(notificationRepository);
+    }
+}
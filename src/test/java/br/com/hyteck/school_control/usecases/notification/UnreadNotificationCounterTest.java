@@ -0,0 +1,71 @@
+package br.com.hyteck.school_control.usecases.notification;
+
+import br.com.hyteck.school_control.repositories.NotificationRepository;
+import br.com.hyteck.school_control.web.dtos.notification.UnreadNotificationCount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UnreadNotificationCounterTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    private UnreadNotificationCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        counter = new UnreadNotificationCounter(notificationRepository, 100, Duration.ofHours(1));
+    }
+
+    @Test
+    @DisplayName("Deve consultar o banco só no primeiro acesso e aplicar os ajustes em memória")
+    void get_shouldLoadOnceAndApplyDeltas() {
+        when(notificationRepository.countByUserIdAndReadFalse("u1")).thenReturn(3L);
+
+        assertThat(counter.get("u1")).isEqualTo(3);
+        counter.add("u1", 2);
+        counter.add("u1", -1);
+
+        assertThat(counter.get("u1")).isEqualTo(4);
+        counter.add("u1", -10);
+        assertThat(counter.get("u1")).isZero();
+        verify(notificationRepository, times(1)).countByUserIdAndReadFalse("u1");
+    }
+
+    @Test
+    @DisplayName("Deve ignorar ajustes de usuários fora do cache")
+    void add_shouldIgnoreUncachedUsers() {
+        counter.add("u1", 5);
+        when(notificationRepository.countByUserIdAndReadFalse("u1")).thenReturn(1L);
+
+        assertThat(counter.get("u1")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve corrigir na reconciliação os contadores divergentes do banco")
+    void reconcile_shouldOverwriteDriftedCounts() {
+        when(notificationRepository.countByUserIdAndReadFalse(anyString())).thenReturn(2L);
+        counter.get("u1");
+        counter.get("u2");
+        when(notificationRepository.countUnreadByUserIds(anyCollection()))
+                .thenReturn(List.of(new UnreadNotificationCount("u1", 5)));
+
+        counter.reconcile();
+
+        assertThat(counter.get("u1")).isEqualTo(5);
+        assertThat(counter.get("u2")).isZero();
+        verify(notificationRepository, times(2)).countByUserIdAndReadFalse(anyString());
+    }
+}
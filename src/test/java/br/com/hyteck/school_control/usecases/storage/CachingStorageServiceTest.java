@@ -0,0 +1,145 @@
+package br.com.hyteck.school_control.usecases.storage;
+
+import br.com.hyteck.school_control.exceptions.StorageException;
+import br.com.hyteck.school_control.web.dtos.storage.StorageCacheStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CachingStorageServiceTest {
+
+    @TempDir
+    Path cacheDir;
+
+    private InMemoryStorageService remote;
+    private CachingStorageService cache;
+
+    @BeforeEach
+    void setUp() {
+        remote = new InMemoryStorageService();
+        cache = new CachingStorageService(remote, cacheDir, 10, 0);
+    }
+
+    private String upload(String filename, String content) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        return cache.store(new ByteArrayInputStream(bytes), filename, bytes.length);
+    }
+
+    private String read(String url) throws IOException {
+        return cache.loadAsResource(url).getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Deve baixar o arquivo uma única vez e servir as leituras seguintes do disco")
+    void loadAsResource_shouldServeRepeatedReadsFromDisk() throws IOException {
+        String url = upload("a.pdf", "aaaa");
+
+        assertThat(read(url)).isEqualTo("aaaa");
+        assertThat(read(url)).isEqualTo("aaaa");
+
+        assertThat(remote.reads()).isEqualTo(1);
+        assertThat(cache.load(url)).startsWith(cacheDir);
+        StorageCacheStats stats = cache.stats();
+        assertThat(stats.hits()).isEqualTo(2);
+        assertThat(stats.misses()).isEqualTo(1);
+        assertThat(stats.hitRate()).isEqualTo(2d / 3);
+        assertThat(stats.sizeBytes()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Deve remover o arquivo usado há mais tempo quando a capacidade é excedida")
+    void loadAsResource_shouldEvictLeastRecentlyUsed() throws IOException {
+        String a = upload("a.pdf", "aaaa");
+        String b = upload("b.pdf", "bbbb");
+        String c = upload("c.pdf", "cccc");
+
+        read(a);
+        read(b);
+        read(a);
+        read(c);
+
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+        assertThat(cache.stats().entries()).isEqualTo(2);
+        int readsBefore = remote.reads();
+        read(a);
+        assertThat(remote.reads()).isEqualTo(readsBefore);
+        read(b);
+        assertThat(remote.reads()).isEqualTo(readsBefore + 1);
+    }
+
+    @Test
+    @DisplayName("Deve servir direto do remoto arquivos maiores que o cache")
+    void loadAsResource_shouldBypassCacheForLargeObjects() throws IOException {
+        String url = upload("grande.pdf", "0123456789ABC");
+
+        assertThat(read(url)).isEqualTo("0123456789ABC");
+
+        assertThat(cache.stats().entries()).isZero();
+        try (var files = Files.list(cacheDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve falhar com erro claro ao pedir o caminho local de arquivo maior que o cache")
+    void load_shouldFailForObjectsLargerThanCache() {
+        String url = upload("grande.pdf", "0123456789ABC");
+
+        assertThatThrownBy(() -> cache.load(url))
+                .isInstanceOf(StorageException.class)
+                .hasMessageContaining("loadAsResource");
+    }
+
+    @Test
+    @DisplayName("Não deve remover um arquivo enquanto ele está sendo lido")
+    void loadAsResource_shouldNotEvictPinnedFile() throws IOException {
+        String a = upload("a.pdf", "aaaa");
+        String b = upload("b.pdf", "bbbb");
+        String c = upload("c.pdf", "cccc");
+        Path cachedA = cacheDir.resolve(CachingStorageService.keyOf(a));
+
+        try (InputStream reading = cache.loadAsResource(a).getInputStream()) {
+            read(b);
+            read(c);
+
+            assertThat(cachedA).exists();
+            assertThat(new String(reading.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("aaaa");
+            assertThat(cache.stats().evictions()).isEqualTo(1);
+        }
+
+        assertThat(cache.stats().sizeBytes()).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar os arquivos em cache após reiniciar")
+    void init_shouldRebuildIndexFromDisk() throws IOException {
+        String url = upload("a.pdf", "aaaa");
+        read(url);
+
+        CachingStorageService restarted = new CachingStorageService(remote, cacheDir, 10, 0);
+
+        assertThat(restarted.loadAsResource(url).getContentAsString(StandardCharsets.UTF_8)).isEqualTo("aaaa");
+        assertThat(remote.reads()).isEqualTo(1);
+        assertThat(restarted.stats().hits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve gravar direto no armazenamento remoto")
+    void store_shouldDelegateToRemote() {
+        String url = upload("a.pdf", "aaaa");
+
+        assertThat(url).isEqualTo(InMemoryStorageService.URL_PREFIX + "a.pdf");
+        assertThat(remote.contains("a.pdf")).isTrue();
+    }
+}
@@ -0,0 +1,150 @@
+package br.com.hyteck.school_control.usecases.storage;
+
+import br.com.hyteck.school_control.exceptions.StorageException;
+import br.com.hyteck.school_control.models.storage.StorageBackend;
+import br.com.hyteck.school_control.models.storage.StoredFile;
+import br.com.hyteck.school_control.repositories.StoredFileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class FileStorageServiceTest {
+
+    @Mock
+    private StoredFileRepository storedFileRepository;
+
+    @TempDir
+    Path root;
+
+    private final Map<String, StoredFile> index = new HashMap<>();
+    private FileStorageService storageService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(storedFileRepository.findByBackendAndName(eq(StorageBackend.LOCAL), anyString()))
+                .thenAnswer(inv -> Optional.ofNullable(index.get(inv.<String>getArgument(1))));
+        lenient().when(storedFileRepository.existsByBackendAndContentHash(eq(StorageBackend.LOCAL), anyString()))
+                .thenAnswer(inv -> index.values().stream()
+                        .anyMatch(file -> file.getContentHash().equals(inv.getArgument(1))));
+        lenient().doAnswer(inv -> index.remove(inv.<StoredFile>getArgument(0).getName()))
+                .when(storedFileRepository).delete(any(StoredFile.class));
+        lenient().when(storedFileRepository.save(any(StoredFile.class))).thenAnswer(inv -> {
+            StoredFile file = inv.getArgument(0);
+            index.put(file.getName(), file);
+            return file;
+        });
+        storageService = new FileStorageService(storedFileRepository, root.toString());
+        storageService.init();
+    }
+
+    private String store(String content, String filename) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        return storageService.store(new ByteArrayInputStream(bytes), filename, bytes.length);
+    }
+
+    private long blobCount() throws IOException {
+        try (Stream<Path> files = Files.walk(root.resolve("blobs"))) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve gravar o conteúdo em um blob endereçado pelo SHA-256")
+    void store_shouldWriteShardedBlob() throws IOException {
+        String name = store("abc", "recibo.pdf");
+
+        String sha256 = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+        assertThat(name).isEqualTo("recibo.pdf");
+        assertThat(storageService.load("recibo.pdf"))
+                .isEqualTo(root.resolve("blobs").resolve("ba").resolve("78").resolve(sha256));
+        assertThat(Files.readString(storageService.load("recibo.pdf"))).isEqualTo("abc");
+        assertThat(index.get("recibo.pdf").getSize()).isEqualTo(3);
+        assertThat(index.get("recibo.pdf").getContentType()).isEqualTo("application/pdf");
+        assertThat(index.get("recibo.pdf").getBackend()).isEqualTo(StorageBackend.LOCAL);
+    }
+
+    @Test
+    @DisplayName("Deve guardar conteúdo idêntico uma única vez")
+    void store_shouldDeduplicateIdenticalContent() throws IOException {
+        store("mesmo conteúdo", "a.pdf");
+        store("mesmo conteúdo", "b.pdf");
+
+        assertThat(blobCount()).isEqualTo(1);
+        assertThat(storageService.load("a.pdf")).isEqualTo(storageService.load("b.pdf"));
+        try (Stream<Path> temp = Files.list(root.resolve("tmp"))) {
+            assertThat(temp).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Não deve sobrescrever arquivo de mesmo nome com conteúdo diferente")
+    void store_shouldKeepBothFilesWithSameName() throws IOException {
+        String first = store("primeiro", "nota.pdf");
+        String second = store("segundo", "nota.pdf");
+
+        assertThat(first).isEqualTo("nota.pdf");
+        assertThat(second).startsWith("nota-").endsWith(".pdf").isNotEqualTo(first);
+        assertThat(Files.readString(storageService.load(first))).isEqualTo("primeiro");
+        assertThat(Files.readString(storageService.load(second))).isEqualTo("segundo");
+        assertThat(blobCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve excluir o blob só quando nenhum outro nome o referencia")
+    void delete_shouldKeepSharedBlob() throws IOException {
+        store("mesmo conteúdo", "a.pdf");
+        store("mesmo conteúdo", "b.pdf");
+        Path blob = storageService.load("a.pdf");
+
+        storageService.delete("a.pdf");
+        assertThat(blob).exists();
+        assertThat(index).containsOnlyKeys("b.pdf");
+
+        storageService.delete("b.pdf");
+        assertThat(blob).doesNotExist();
+        assertThat(blobCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve apagar só os blobs, preservando as outras áreas do diretório raiz")
+    void deleteAll_shouldKeepSiblingDirectories() throws IOException {
+        store("conteúdo", "a.pdf");
+        Path staged = Files.createDirectories(root.resolve("staging")).resolve("recibo.jpg");
+        Files.writeString(staged, "recibo");
+
+        storageService.deleteAll();
+
+        assertThat(root.resolve("blobs")).doesNotExist();
+        assertThat(staged).exists();
+        verify(storedFileRepository).deleteByBackend(StorageBackend.LOCAL);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar nomes que escapam do diretório de armazenamento")
+    void store_shouldRejectPathTraversal() {
+        assertThatThrownBy(() -> store("x", "../fora.pdf")).isInstanceOf(StorageException.class);
+    }
+}
@@ -0,0 +1,114 @@
+package br.com.hyteck.school_control.usecases.storage;
+
+import br.com.hyteck.school_control.exceptions.StorageException;
+import br.com.hyteck.school_control.models.storage.StorageBackend;
+import br.com.hyteck.school_control.web.dtos.storage.StoredFileResponse;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fake {@link StorageService} for tests: keeps files in memory, counts reads and can be told to fail the next N uploads.
+ */
+public class InMemoryStorageService implements StorageService {
+
+    public static final String URL_PREFIX = "memory://";
+
+    private final Map<String, byte[]> files = new ConcurrentHashMap<>();
+    private final AtomicInteger failuresToInject = new AtomicInteger();
+    private final AtomicInteger uploadAttempts = new AtomicInteger();
+    private final AtomicInteger reads = new AtomicInteger();
+
+    public void failNext(int uploads) {
+        failuresToInject.set(uploads);
+    }
+
+    public int uploadAttempts() {
+        return uploadAttempts.get();
+    }
+
+    public int reads() {
+        return reads.get();
+    }
+
+    public boolean contains(String filename) {
+        return files.containsKey(filename);
+    }
+
+    public byte[] content(String filename) {
+        return files.get(filename);
+    }
+
+    @Override
+    public void init() {
+        // Nothing to initialize
+    }
+
+    @Override
+    public String store(InputStream inputStream, String filename, long size) {
+        try {
+            return put(filename, inputStream.readAllBytes());
+        } catch (IOException e) {
+            throw new StorageException("Failed to store file.", e);
+        }
+    }
+
+    private String put(String filename, byte[] content) {
+        uploadAttempts.incrementAndGet();
+        if (failuresToInject.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+            throw new StorageException("Simulated upload failure: " + filename);
+        }
+        files.put(filename, content);
+        return URL_PREFIX + filename;
+    }
+
+    @Override
+    public Page<StoredFileResponse> list(Pageable pageable) {
+        List<StoredFileResponse> all = files.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> new StoredFileResponse(entry.getKey(), StorageBackend.LOCAL, URL_PREFIX + entry.getKey(),
+                        entry.getKey(), entry.getValue().length, null, null, null))
+                .toList();
+        int from = (int) Math.min(pageable.getOffset(), all.size());
+        int to = Math.min(from + pageable.getPageSize(), all.size());
+        return new PageImpl<>(all.subList(from, to), pageable, all.size());
+    }
+
+    @Override
+    public void delete(String filename) {
+        files.remove(filename.startsWith(URL_PREFIX) ? filename.substring(URL_PREFIX.length()) : filename);
+    }
+
+    /**
+     * Like the remote backends, there is no local path for stored content.
+     */
+    @Override
+    public Path load(String filename) {
+        return null;
+    }
+
+    @Override
+    public Resource loadAsResource(String filename) {
+        reads.incrementAndGet();
+        byte[] content = files.get(filename.startsWith(URL_PREFIX) ? filename.substring(URL_PREFIX.length()) : filename);
+        if (content == null) {
+            throw new StorageException("Could not read file: " + filename);
+        }
+        return new ByteArrayResource(content);
+    }
+
+    @Override
+    public void deleteAll() {
+        files.clear();
+    }
+}
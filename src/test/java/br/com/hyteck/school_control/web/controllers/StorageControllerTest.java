@@ -0,0 +1,140 @@
+package br.com.hyteck.school_control.web.controllers;
+
+import br.com.hyteck.school_control.exceptions.ResourceNotFoundException;
+import br.com.hyteck.school_control.models.storage.StoredFile;
+import br.com.hyteck.school_control.usecases.storage.CachingStorageService;
+import br.com.hyteck.school_control.usecases.storage.FileStorageService;
+import br.com.hyteck.school_control.usecases.storage.FileTransfer;
+import br.com.hyteck.school_control.usecases.storage.ListStoredFiles;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StorageControllerTest {
+
+    private static final String HASH = "a".repeat(64);
+
+    @TempDir
+    Path root;
+
+    private FileStorageService fileStorageService;
+    private StorageController storageController;
+    private Path blob;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        blob = Files.writeString(root.resolve(HASH), "0123456789", StandardCharsets.UTF_8);
+        fileStorageService = mock(FileStorageService.class);
+        when(fileStorageService.describe("recibo.pdf"))
+                .thenReturn(Optional.of(StoredFile.builder().name("recibo.pdf").contentHash(HASH).size(10).contentType("application/pdf").build()));
+        when(fileStorageService.load("recibo.pdf")).thenReturn(blob);
+        storageController = new StorageController(fileStorageService, new FileTransfer(),
+                mock(CachingStorageService.class), mock(ListStoredFiles.class));
+    }
+
+    private MockHttpServletRequest get() {
+        return new MockHttpServletRequest("GET", "/storage/files/recibo.pdf");
+    }
+
+    @Test
+    void download_shouldSendWholeFileWithCacheHeaders() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        storageController.download("recibo.pdf", get(), response);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("0123456789", response.getContentAsString());
+        assertEquals("\"" + HASH + "\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals("application/pdf", response.getContentType());
+        assertTrue(response.getHeader(HttpHeaders.CACHE_CONTROL).contains("immutable"));
+        assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+    }
+
+    @Test
+    void download_shouldSendRequestedRange() throws IOException {
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        storageController.download("recibo.pdf", request, response);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("2345", response.getContentAsString());
+        assertEquals("bytes 2-5/10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(4, response.getContentLengthLong());
+    }
+
+    @Test
+    void download_shouldIgnoreRangeWhenIfRangeDoesNotMatch() throws IOException {
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"outro\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        storageController.download("recibo.pdf", request, response);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("0123456789", response.getContentAsString());
+    }
+
+    @Test
+    void download_shouldRejectUnsatisfiableRange() throws IOException {
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=50-60");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        storageController.download("recibo.pdf", request, response);
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void download_shouldAnswerNotModifiedForMatchingEtag() throws IOException {
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"" + HASH + "\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        storageController.download("recibo.pdf", request, response);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void download_shouldDelegateToSendfileWhenSupported() throws IOException {
+        MockHttpServletRequest request = get();
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=5-");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        storageController.download("recibo.pdf", request, response);
+
+        assertEquals(206, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(blob.toAbsolutePath().toString(), request.getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertEquals(5L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals(10L, request.getAttribute("org.apache.tomcat.sendfile.end"));
+    }
+
+    @Test
+    void download_shouldThrowWhenFileIsMissing() {
+        when(fileStorageService.describe("sumiu.pdf")).thenReturn(Optional.empty());
+        when(fileStorageService.load("sumiu.pdf")).thenReturn(root.resolve("sumiu.pdf"));
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> storageController.download("sumiu.pdf", get(), new MockHttpServletResponse()));
+    }
+}